@@ -0,0 +1,16 @@
+-- Schéma du service d'authentification tel qu'il était créé par ddl-auto=update. Les ordres sont
+-- idempotents pour qu'une base existante soit reprise telle quelle (baseline-on-migrate, version 0).
+
+create table if not exists user_account (
+    id uuid not null primary key,
+    email varchar(255) not null unique,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    created_at timestamp(6) with time zone not null
+);
+
+create table if not exists user_roles (
+    user_id uuid not null references user_account (id),
+    role varchar(255) not null,
+    primary key (user_id, role)
+);
@@ -0,0 +1,28 @@
+package com.example.benchmarks;
+
+/**
+ * Textes d'étiquette représentatifs utilisés comme entrée des benchmarks.
+ */
+public final class Labels {
+
+	private static final String SHORT = "Lait entier bio 45%,  sucre, cacao maigre 7%;\n"
+			+ "émulsifiant : lécithine de soja,   arôme naturel de vanille";
+
+	private Labels() {
+	}
+
+	/**
+	 * @param size {@code short} pour une étiquette courte, {@code long} pour une fiche PDF
+	 *             d'une cinquantaine de lignes
+	 */
+	public static String raw(String size) {
+		if ("short".equals(size)) {
+			return SHORT;
+		}
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 50; i++) {
+			builder.append(SHORT).append(", farine de blé ").append(i).append("%,\t huile de tournesol\n");
+		}
+		return builder.toString();
+	}
+}
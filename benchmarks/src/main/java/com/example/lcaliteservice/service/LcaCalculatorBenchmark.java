@@ -0,0 +1,113 @@
+package com.example.lcaliteservice.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.lcaliteservice.dto.LcaCalculationRequest;
+import com.example.lcaliteservice.entity.ImpactFactor;
+
+/**
+ * Calcul ACV d'un produit, puis d'un lot de 2000 produits, avec les facteurs d'impact par défaut
+ * chargés en mémoire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LcaCalculatorBenchmark {
+
+	private static final String[] CATEGORIES = { "DAIRY", "SWEETENER", "PACKAGING", "GLASS", "OTHER", "UNKNOWN" };
+
+	@Param({ "5", "50" })
+	private int ingredientCount;
+
+	private static final int BATCH_SIZE = 2000;
+
+	private ImpactFactorCatalog.Snapshot factors;
+	private LcaCalculationRequest request;
+	private List<LcaCalculationRequest> batch;
+	private double[] co2;
+	private double[] water;
+	private double[] energy;
+
+	@Setup
+	public void setUp() {
+		// Valeurs de DataInitializer
+		factors = new ImpactFactorCatalog.Snapshot(List.of(
+				factor("DAIRY", 9.2, 1000, 15),
+				factor("SWEETENER", 3.5, 600, 5),
+				factor("PACKAGING", 2.2, 100, 8),
+				factor("GLASS", 1.8, 150, 6),
+				factor("OTHER", 1.0, 200, 4)), Instant.now());
+
+		request = request(ingredientCount);
+		batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			batch.add(request(ingredientCount));
+		}
+		co2 = new double[BATCH_SIZE];
+		water = new double[BATCH_SIZE];
+		energy = new double[BATCH_SIZE];
+	}
+
+	@Benchmark
+	public LcaCalculatorService.ImpactTotals computeTotals() {
+		return LcaCalculatorService.computeTotals(request, factors);
+	}
+
+	@Benchmark
+	public double[] computeBatch() {
+		LcaCalculatorService.computeTotals(batch, factors, false, co2, water, energy);
+		return co2;
+	}
+
+	@Benchmark
+	public double[] computeBatchParallel() {
+		LcaCalculatorService.computeTotals(batch, factors, true, co2, water, energy);
+		return co2;
+	}
+
+	private static LcaCalculationRequest request(int ingredientCount) {
+		List<LcaCalculationRequest.IngredientImpact> ingredients = new ArrayList<>(ingredientCount);
+		for (int i = 0; i < ingredientCount; i++) {
+			LcaCalculationRequest.IngredientImpact ingredient = new LcaCalculationRequest.IngredientImpact();
+			ingredient.setName("ingredient-" + i);
+			ingredient.setCategory(CATEGORIES[i % CATEGORIES.length]);
+			ingredient.setImpactHint(0.1 + (i % 10) / 10.0);
+			ingredients.add(ingredient);
+		}
+		LcaCalculationRequest request = new LcaCalculationRequest();
+		request.setProductId(UUID.randomUUID());
+		request.setIngredients(ingredients);
+		request.setTransportKm(850);
+		request.setTransportMode("road");
+		return request;
+	}
+
+	private static ImpactFactor factor(String category, double co2, double water, double energy) {
+		ImpactFactor factor = new ImpactFactor();
+		factor.setCategory(category);
+		factor.setReference("FACTOR_" + category);
+		factor.setCo2PerKg(co2);
+		factor.setWaterPerKg(water);
+		factor.setEnergyPerKg(energy);
+		return factor;
+	}
+}
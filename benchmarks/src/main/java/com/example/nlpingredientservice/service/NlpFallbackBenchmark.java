@@ -0,0 +1,58 @@
+package com.example.nlpingredientservice.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.example.benchmarks.Labels;
+import com.example.nlpingredientservice.entity.NormalizedIngredient;
+
+/**
+ * Extraction d'ingrédients de repli (service ML indisponible), sans la persistance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NlpFallbackBenchmark {
+
+	@Param({ "short", "long" })
+	private String label;
+
+	private NlpExtractionService service;
+	private UUID productId;
+	private String text;
+
+	@Setup
+	public void setUp() {
+		service = new NlpExtractionService(null, null, null, null, null,
+				new IngredientClassifier(new DefaultResourceLoader(), "classpath:dictionary/ingredients.txt"), null);
+		productId = UUID.randomUUID();
+		text = Labels.raw(label);
+	}
+
+	@Benchmark
+	public List<NormalizedIngredient> extractFallback() {
+		return service.extractFallback(productId, text);
+	}
+
+	@Benchmark
+	public String classifyIngredient() {
+		return service.classifyIngredient("sucre de canne bio");
+	}
+}
@@ -0,0 +1,49 @@
+package com.example.parserproduitservice.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.benchmarks.Labels;
+
+/**
+ * Normalisation du texte brut appliquée à chaque fiche reçue par le parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductParserBenchmark {
+
+	@Param({ "short", "long" })
+	private String label;
+
+	private String rawText;
+
+	@Setup
+	public void setUp() {
+		rawText = Labels.raw(label);
+	}
+
+	@Benchmark
+	public String cleanText() {
+		return ProductParserService.cleanText(rawText);
+	}
+
+	@Benchmark
+	public String fingerprint() {
+		return ProductParserService.fingerprint(rawText, "PET bottle", "FR");
+	}
+}
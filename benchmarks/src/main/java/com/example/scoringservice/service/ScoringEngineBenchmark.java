@@ -0,0 +1,52 @@
+package com.example.scoringservice.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.commons.score.EcoScoreScale;
+
+/**
+ * Calcul du score et de ses explications, appliqué à chaque {@code lca.completed} consommé.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringEngineBenchmark {
+
+	private ScoringEngineService service;
+	private double co2;
+	private double water;
+	private double energy;
+
+	@Setup
+	public void setUp() {
+		service = new ScoringEngineService(null, null);
+		co2 = 3.42;
+		water = 412.5;
+		energy = 18.75;
+	}
+
+	@Benchmark
+	public double normalizeScore() {
+		return EcoScoreScale.normalizeScore(co2, water, energy);
+	}
+
+	@Benchmark
+	public List<String> buildExplanations() {
+		return service.buildExplanations(co2, water, energy);
+	}
+}
@@ -0,0 +1,108 @@
+package com.example.commons.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache à deux niveaux d'un résultat coûteux à recalculer (texte OCR d'un document, extraction
+ * ML d'une liste d'ingrédients), adressé par le hash de son entrée : un LRU borné en mémoire sert
+ * les rafales, la table du service conserve les valeurs d'un redémarrage à l'autre.
+ * <p>
+ * Les entrées sont rangées sous l'espace de noms courant ({@code content-cache.namespace}) : le
+ * changer après une mise à jour du moteur invalide tout le cache. Les entrées d'un ancien espace
+ * de noms et celles plus vieilles que {@code content-cache.ttl} ne sont plus servies et sont
+ * purgées périodiquement.
+ */
+public class ContentCache {
+
+	private static final Logger log = LoggerFactory.getLogger(ContentCache.class);
+
+	private final ContentCacheStore store;
+	private final String namespace;
+	private final Duration ttl;
+	private final Map<String, Entry> memory;
+	private final Counter memoryHits;
+	private final Counter storeHits;
+	private final Counter misses;
+
+	ContentCache(ContentCacheStore store, MeterRegistry meterRegistry, String name, String namespace,
+			int maxEntries, Duration ttl) {
+		this.store = store;
+		this.namespace = namespace;
+		this.ttl = ttl;
+		this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+		this.memoryHits = meterRegistry.counter("content.cache.requests", "cache", name, "result", "memory_hit");
+		this.storeHits = meterRegistry.counter("content.cache.requests", "cache", name, "result", "store_hit");
+		this.misses = meterRegistry.counter("content.cache.requests", "cache", name, "result", "miss");
+	}
+
+	/**
+	 * @return la valeur associée à {@code key}, ou {@code null} si elle n'est pas (ou plus) en cache
+	 */
+	public String get(String key) {
+		Instant notBefore = Instant.now().minus(ttl);
+		Entry cached = getFromMemory(key);
+		if (cached != null && !cached.createdAt.isBefore(notBefore)) {
+			memoryHits.increment();
+			return cached.value;
+		}
+
+		Entry stored = store.find(namespace, key, notBefore);
+		if (stored != null) {
+			storeHits.increment();
+			putInMemory(key, stored);
+			return stored.value;
+		}
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * Mémorise {@code value} ; une valeur déjà présente pour {@code key} est conservée.
+	 */
+	public void put(String key, String value) {
+		Instant now = Instant.now();
+		store.insertIfAbsent(namespace, key, value, now);
+		putInMemory(key, new Entry(value, now));
+	}
+
+	@Scheduled(fixedDelayString = "${content-cache.cleanup-interval-ms:3600000}")
+	public void purgeStale() {
+		int deleted = store.deleteStale(namespace, Instant.now().minus(ttl));
+		if (deleted > 0) {
+			log.info("Purged {} cache entries outside namespace {} or older than {}", deleted, namespace, ttl);
+		}
+	}
+
+	private synchronized Entry getFromMemory(String key) {
+		return memory.get(key);
+	}
+
+	private synchronized void putInMemory(String key, Entry entry) {
+		memory.put(key, entry);
+	}
+
+	static final class Entry {
+		private final String value;
+		private final Instant createdAt;
+
+		Entry(String value, Instant createdAt) {
+			this.value = value;
+			this.createdAt = createdAt;
+		}
+	}
+}
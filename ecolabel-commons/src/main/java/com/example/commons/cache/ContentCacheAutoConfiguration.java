@@ -0,0 +1,42 @@
+package com.example.commons.cache;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.commons.schema.ComponentSchema;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache de contenu d'un service, activé par {@code content-cache.table} (ex. {@code parser_ocr_cache}).
+ * La table est créée ou mise à jour au démarrage ; le service doit activer la planification
+ * ({@code @EnableScheduling}) pour la purge des entrées périmées.
+ */
+@AutoConfiguration(after = JdbcTemplateAutoConfiguration.class)
+@ConditionalOnProperty("content-cache.table")
+public class ContentCacheAutoConfiguration {
+
+	@Bean
+	ContentCacheStore contentCacheStore(DataSource dataSource, JdbcTemplate jdbcTemplate,
+			@Value("${content-cache.table}") String table) {
+		ComponentSchema.migrate(dataSource, "cache", table);
+		return new ContentCacheStore(jdbcTemplate, table);
+	}
+
+	@Bean
+	public ContentCache contentCache(ContentCacheStore contentCacheStore, MeterRegistry meterRegistry,
+			@Value("${content-cache.table}") String table,
+			@Value("${content-cache.namespace:v1}") String namespace,
+			@Value("${content-cache.max-entries:1000}") int maxEntries,
+			@Value("${content-cache.ttl:90d}") Duration ttl) {
+		return new ContentCache(contentCacheStore, meterRegistry, table, namespace, maxEntries, ttl);
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.commons.cache;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.commons.schema.ComponentSchema;
+
+/**
+ * Accès SQL à la table de cache d'un service ({@code parser_ocr_cache}, {@code nlp_ml_cache}...),
+ * dont le nom est passé au constructeur. Une entrée n'est jamais modifiée.
+ */
+class ContentCacheStore {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String findSql;
+	private final String insertSql;
+	private final String purgeSql;
+
+	ContentCacheStore(JdbcTemplate jdbcTemplate, String table) {
+		this.jdbcTemplate = jdbcTemplate;
+		ComponentSchema.checkTableName(table);
+		this.findSql = "SELECT value, created_at FROM " + table + " WHERE namespace = ? AND cache_key = ? AND created_at >= ?";
+		this.insertSql = "INSERT INTO " + table + " (namespace, cache_key, value, created_at) VALUES (?, ?, ?, ?) "
+				+ "ON CONFLICT (namespace, cache_key) DO NOTHING";
+		this.purgeSql = "DELETE FROM " + table + " WHERE namespace <> ? OR created_at < ?";
+	}
+
+	/**
+	 * @return l'entrée, ou {@code null} si elle est absente ou créée avant {@code notBefore}
+	 */
+	ContentCache.Entry find(String namespace, String key, Instant notBefore) {
+		List<ContentCache.Entry> entries = jdbcTemplate.query(findSql,
+				(rs, row) -> new ContentCache.Entry(rs.getString(1), rs.getObject(2, OffsetDateTime.class).toInstant()),
+				namespace, key, toTimestamp(notBefore));
+		return entries.isEmpty() ? null : entries.get(0);
+	}
+
+	/**
+	 * Deux calculs concurrents d'une même entrée donnent le même résultat : le second est ignoré.
+	 */
+	void insertIfAbsent(String namespace, String key, String value, Instant createdAt) {
+		jdbcTemplate.update(insertSql, namespace, key, value, toTimestamp(createdAt));
+	}
+
+	/**
+	 * Supprime les entrées d'un autre espace de noms que {@code namespace} et celles créées avant
+	 * {@code before}.
+	 */
+	int deleteStale(String namespace, Instant before) {
+		return jdbcTemplate.update(purgeSql, namespace, toTimestamp(before));
+	}
+
+	private static OffsetDateTime toTimestamp(Instant instant) {
+		return instant.atOffset(ZoneOffset.UTC);
+	}
+}
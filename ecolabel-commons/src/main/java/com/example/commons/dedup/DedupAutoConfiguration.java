@@ -0,0 +1,43 @@
+package com.example.commons.dedup;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.commons.schema.ComponentSchema;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Déduplication des consommateurs d'un service, activée par {@code consumer.dedup.table}
+ * (ex. {@code lca_processed_event}). La table est créée ou mise à jour au démarrage ; le service
+ * doit activer la planification ({@code @EnableScheduling}) pour la purge des ids expirés.
+ */
+@AutoConfiguration(after = { JdbcTemplateAutoConfiguration.class, TransactionAutoConfiguration.class })
+@ConditionalOnProperty("consumer.dedup.table")
+public class DedupAutoConfiguration {
+
+	@Bean
+	ProcessedEventStore processedEventStore(DataSource dataSource, JdbcTemplate jdbcTemplate,
+			@Value("${consumer.dedup.table}") String table) {
+		ComponentSchema.migrate(dataSource, "dedup", table);
+		return new ProcessedEventStore(jdbcTemplate, table);
+	}
+
+	@Bean
+	public EventDeduplicator eventDeduplicator(ProcessedEventStore processedEventStore,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${consumer.dedup.max-recent-ids:10000}") int maxRecentIds,
+			@Value("${consumer.dedup.retention:7d}") Duration retention) {
+		return new EventDeduplicator(processedEventStore, transactionManager, meterRegistry, maxRecentIds, retention);
+	}
+}
@@ -0,0 +1,216 @@
+package com.example.commons.dedup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Consommation idempotente : un événement déjà traité par un consommateur (une redélivrance après
+ * rebalance ou reprise d'offset) est écarté avant tout traitement coûteux. Les ids récents sont
+ * gardés dans un LRU borné, la table des événements traités du service fait foi.
+ * <p>
+ * Le traitement passé à {@link #processOnce(String, UUID, Runnable)} et
+ * {@link #processBatchOnce} s'exécute dans la transaction qui enregistre l'événement et garde donc
+ * une connexion du pool pendant toute sa durée : il ne doit faire que des lectures et écritures en
+ * base, outbox comprise. Un appel distant (service ML, autre service REST) passe par
+ * {@link #processOnce(String, UUID, Supplier, Consumer)}, qui l'exécute avant la transaction.
+ */
+public class EventDeduplicator {
+
+	private static final Logger log = LoggerFactory.getLogger(EventDeduplicator.class);
+
+	private final ProcessedEventStore store;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration retention;
+	private final Map<Key, Boolean> recent;
+	private final Counter duplicates;
+
+	EventDeduplicator(ProcessedEventStore store, PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry, int maxRecentIds, Duration retention) {
+		this.store = store;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.retention = retention;
+		this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+				return size() > maxRecentIds;
+			}
+		};
+		this.duplicates = meterRegistry.counter("consumer.dedup.duplicates");
+	}
+
+	/**
+	 * Exécute {@code handler} dans une transaction qui enregistre aussi l'événement comme traité :
+	 * si le traitement échoue, l'événement reste à traiter. Un événement sans id (émis avant
+	 * l'ajout de {@code eventId}) est toujours traité.
+	 *
+	 * @return {@code false} si l'événement avait déjà été traité par ce consommateur
+	 */
+	public boolean processOnce(String consumer, UUID eventId, Runnable handler) {
+		return processOnce(consumer, eventId, () -> null, prepared -> handler.run());
+	}
+
+	/**
+	 * Variante pour un traitement qui dépend d'appels distants : {@code prepare} s'exécute hors
+	 * transaction, une fois écartés les doublons déjà connus, et son résultat (éventuellement
+	 * {@code null}) est passé à {@code handler} dans la transaction qui enregistre l'événement. Deux
+	 * livraisons concurrentes du même événement peuvent toutes deux exécuter {@code prepare} ; une
+	 * seule exécute {@code handler}.
+	 *
+	 * @return {@code false} si l'événement avait déjà été traité par ce consommateur
+	 */
+	public <T> boolean processOnce(String consumer, UUID eventId, Supplier<T> prepare, Consumer<T> handler) {
+		if (eventId == null) {
+			T prepared = prepare.get();
+			transactionTemplate.executeWithoutResult(status -> handler.accept(prepared));
+			return true;
+		}
+		Key key = new Key(consumer, eventId);
+		if (isRecent(key) || store.exists(consumer, eventId)) {
+			skip(key);
+			return false;
+		}
+
+		T prepared = prepare.get();
+		Boolean processed = transactionTemplate.execute(status -> {
+			if (store.insertIfAbsent(consumer, eventId, Instant.now()) == 0) {
+				return false;
+			}
+			handler.accept(prepared);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					remember(key);
+				}
+			});
+			return true;
+		});
+		if (!Boolean.TRUE.equals(processed)) {
+			skip(key);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Variante ensembliste de {@link #processOnce} pour un lot : les ids du lot sont réservés par
+	 * un seul insert multi-lignes, puis {@code handler} reçoit, dans la même transaction, les
+	 * seuls événements qui n'avaient pas encore été traités (et ceux sans id), dans l'ordre du lot.
+	 *
+	 * @return le nombre d'événements écartés comme déjà traités
+	 */
+	public <T> int processBatchOnce(String consumer, List<T> events, Function<T, UUID> eventId,
+			Consumer<List<T>> handler) {
+		List<T> candidates = new ArrayList<>(events.size());
+		List<UUID> candidateIds = new ArrayList<>(events.size());
+		int skipped = 0;
+		for (T event : events) {
+			UUID id = eventId.apply(event);
+			if (id != null && isRecent(new Key(consumer, id))) {
+				skip(new Key(consumer, id));
+				skipped++;
+				continue;
+			}
+			candidates.add(event);
+			if (id != null) {
+				candidateIds.add(id);
+			}
+		}
+
+		Integer duplicates = transactionTemplate.execute(status -> {
+			Set<UUID> claimed = candidateIds.isEmpty() ? Set.of()
+					: new HashSet<>(store.claimAll(consumer, candidateIds.toArray(UUID[]::new), Instant.now()));
+			List<T> fresh = new ArrayList<>(candidates.size());
+			int rejected = 0;
+			for (T event : candidates) {
+				UUID id = eventId.apply(event);
+				if (id == null || claimed.remove(id)) {
+					// remove : un id présent deux fois dans le lot n'est traité qu'une fois
+					fresh.add(event);
+				} else {
+					skip(new Key(consumer, id));
+					rejected++;
+				}
+			}
+			if (!fresh.isEmpty()) {
+				handler.accept(fresh);
+			}
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					candidateIds.forEach(id -> remember(new Key(consumer, id)));
+				}
+			});
+			return rejected;
+		});
+		return skipped + (duplicates != null ? duplicates : 0);
+	}
+
+	/**
+	 * Les redélivrances n'arrivent que dans la rétention des topics : au-delà, les ids traités
+	 * ne servent plus à rien.
+	 */
+	@Scheduled(fixedDelayString = "${consumer.dedup.cleanup-interval-ms:3600000}")
+	public void purgeExpired() {
+		int deleted = store.deleteProcessedBefore(Instant.now().minus(retention));
+		if (deleted > 0) {
+			log.info("Purged {} processed event ids older than {}", deleted, retention);
+		}
+	}
+
+	private void skip(Key key) {
+		remember(key);
+		duplicates.increment();
+		log.info("Skipping event {} already processed by {}", key.eventId, key.consumer);
+	}
+
+	private synchronized boolean isRecent(Key key) {
+		return recent.containsKey(key);
+	}
+
+	private synchronized void remember(Key key) {
+		recent.put(key, Boolean.TRUE);
+	}
+
+	private static final class Key {
+		private final String consumer;
+		private final UUID eventId;
+
+		Key(String consumer, UUID eventId) {
+			this.consumer = consumer;
+			this.eventId = eventId;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key key && Objects.equals(consumer, key.consumer)
+					&& Objects.equals(eventId, key.eventId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(consumer, eventId);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.example.commons.dedup;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.commons.schema.ComponentSchema;
+
+/**
+ * Accès SQL à la table des événements traités d'un service ({@code nlp_processed_event},
+ * {@code lca_processed_event}...), dont le nom est passé au constructeur. Une ligne n'existe que
+ * si le traitement de l'événement a été commité.
+ */
+class ProcessedEventStore {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String existsSql;
+	private final String insertSql;
+	private final String claimAllSql;
+	private final String purgeSql;
+
+	ProcessedEventStore(JdbcTemplate jdbcTemplate, String table) {
+		this.jdbcTemplate = jdbcTemplate;
+		ComponentSchema.checkTableName(table);
+		this.existsSql = "SELECT EXISTS (SELECT 1 FROM " + table + " WHERE consumer = ? AND event_id = ?)";
+		this.insertSql = "INSERT INTO " + table + " (consumer, event_id, processed_at) VALUES (?, ?, ?) "
+				+ "ON CONFLICT (consumer, event_id) DO NOTHING";
+		this.claimAllSql = "INSERT INTO " + table + " (consumer, event_id, processed_at) "
+				+ "SELECT ?, e.id, ? FROM unnest(?::uuid[]) AS e(id) "
+				+ "ON CONFLICT (consumer, event_id) DO NOTHING RETURNING event_id";
+		this.purgeSql = "DELETE FROM " + table + " WHERE processed_at < ?";
+	}
+
+	boolean exists(String consumer, UUID eventId) {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject(existsSql, Boolean.class, consumer, eventId));
+	}
+
+	/**
+	 * Réserve l'événement dans la transaction courante. Face à une redélivrance traitée en
+	 * parallèle, l'insert attend la fin de l'autre transaction puis ne fait rien.
+	 *
+	 * @return 1 si l'événement n'avait pas encore été traité par ce consommateur, 0 sinon
+	 */
+	int insertIfAbsent(String consumer, UUID eventId, Instant processedAt) {
+		return jdbcTemplate.update(insertSql, consumer, eventId, toTimestamp(processedAt));
+	}
+
+	/**
+	 * Réserve un lot d'événements en une requête.
+	 *
+	 * @return les ids effectivement réservés, c'est-à-dire pas encore traités par ce consommateur
+	 */
+	List<UUID> claimAll(String consumer, UUID[] eventIds, Instant processedAt) {
+		return jdbcTemplate.query(claimAllSql, ps -> {
+			ps.setString(1, consumer);
+			ps.setObject(2, toTimestamp(processedAt));
+			ps.setArray(3, ps.getConnection().createArrayOf("uuid", eventIds));
+		}, (rs, row) -> rs.getObject(1, UUID.class));
+	}
+
+	int deleteProcessedBefore(Instant before) {
+		return jdbcTemplate.update(purgeSql, toTimestamp(before));
+	}
+
+	private static OffsetDateTime toTimestamp(Instant instant) {
+		return instant.atOffset(ZoneOffset.UTC);
+	}
+}
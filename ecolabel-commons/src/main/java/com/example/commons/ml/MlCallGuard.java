@@ -0,0 +1,81 @@
+package com.example.commons.ml;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.web.client.HttpClientErrorException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Protège les appels vers ml-service : un bulkhead commun plafonne les appels simultanés (ils
+ * partagent le pool de connexions) et chaque famille d'endpoints ({@link #OCR}, {@link #NLP}) a son
+ * propre circuit breaker, avec un seuil d'appel lent à la mesure de son délai de réponse. Un OCR
+ * en panne ne coupe donc pas l'extraction NLP, et inversement. Quand le bulkhead est plein ou le
+ * circuit ouvert, l'appel échoue immédiatement et l'appelant bascule sur son fallback.
+ * Métriques : {@code resilience4j.circuitbreaker.*} et {@code resilience4j.bulkhead.*}.
+ */
+public class MlCallGuard {
+
+	public static final String OCR = "ocr";
+	public static final String NLP = "nlp";
+
+	private static final String NAME = "ml-service";
+
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final Function<String, Duration> slowCallThresholds;
+	private final Bulkhead bulkhead;
+
+	/**
+	 * @param slowCallThresholds seuil d'appel lent de chaque famille d'endpoints, lu à la création
+	 *                           de son circuit breaker
+	 */
+	MlCallGuard(MeterRegistry meterRegistry, int maxConcurrentCalls, Duration maxWait, float failureRateThreshold,
+			Duration openDuration, Function<String, Duration> slowCallThresholds) {
+		this.circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+				.slidingWindowSize(20)
+				.minimumNumberOfCalls(10)
+				.failureRateThreshold(failureRateThreshold)
+				.slowCallRateThreshold(80)
+				.waitDurationInOpenState(openDuration)
+				.permittedNumberOfCallsInHalfOpenState(3)
+				// une saturation locale ou une requête invalide ne dit rien de la santé de ml-service
+				.ignoreExceptions(BulkheadFullException.class, HttpClientErrorException.class)
+				.build());
+		this.slowCallThresholds = slowCallThresholds;
+		BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+				.maxConcurrentCalls(maxConcurrentCalls)
+				.maxWaitDuration(maxWait)
+				.build());
+		this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+
+		// Les métriques suivent aussi les circuit breakers créés après coup
+		TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+		TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+	}
+
+	/**
+	 * @param endpoint famille d'endpoints appelée, {@link #OCR} ou {@link #NLP}
+	 */
+	public <T> T call(String endpoint, Supplier<T> call) {
+		return CircuitBreaker.decorateSupplier(circuitBreaker(endpoint), Bulkhead.decorateSupplier(bulkhead, call))
+				.get();
+	}
+
+	CircuitBreaker circuitBreaker(String endpoint) {
+		return circuitBreakerRegistry.circuitBreaker(NAME + "." + endpoint,
+				() -> CircuitBreakerConfig.from(circuitBreakerRegistry.getDefaultConfig())
+						.slowCallDurationThreshold(slowCallThresholds.apply(endpoint))
+						.build());
+	}
+}
@@ -0,0 +1,35 @@
+package com.example.commons.ml;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Garde des appels vers ml-service, activée par {@code ml.service.url}. Le seuil d'appel lent de
+ * chaque famille d'endpoints se règle par {@code ml.client.circuit-breaker.slow-call-threshold.<famille>}.
+ */
+@AutoConfiguration
+@ConditionalOnClass(CircuitBreaker.class)
+@ConditionalOnProperty("ml.service.url")
+public class MlClientAutoConfiguration {
+
+	@Bean
+	public MlCallGuard mlCallGuard(MeterRegistry meterRegistry, Environment environment,
+			@Value("${ml.client.bulkhead.max-concurrent-calls:16}") int maxConcurrentCalls,
+			@Value("${ml.client.bulkhead.max-wait:100ms}") Duration maxWait,
+			@Value("${ml.client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+			@Value("${ml.client.circuit-breaker.open-duration:30s}") Duration openDuration) {
+		return new MlCallGuard(meterRegistry, maxConcurrentCalls, maxWait, failureRateThreshold, openDuration,
+				endpoint -> DurationStyle.detectAndParse(environment.getProperty(
+						"ml.client.circuit-breaker.slow-call-threshold." + endpoint, "5s")));
+	}
+}
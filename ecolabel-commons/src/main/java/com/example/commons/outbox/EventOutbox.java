@@ -0,0 +1,72 @@
+package com.example.commons.outbox;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.kafka.support.JacksonUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Point d'entrée des producteurs : l'événement est sérialisé et écrit dans la table d'outbox du
+ * service dans la transaction courante, l'envoi au broker est fait plus tard par
+ * {@link OutboxRelay}. Une transaction annulée n'émet donc jamais d'événement.
+ */
+public class EventOutbox {
+
+	// Même configuration Jackson que le JsonSerializer de spring-kafka : le format sur le fil
+	// reste celui que les consommateurs lisaient avant l'outbox.
+	private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+	private final OutboxStore store;
+	private final AtomicReference<Instant> lastCreatedAt = new AtomicReference<>(Instant.EPOCH);
+
+	EventOutbox(OutboxStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * @param eventId identifiant porté par l'événement, repris comme id de la ligne : les
+	 *            consommateurs s'en servent pour écarter une redélivrance
+	 */
+	public UUID enqueue(UUID eventId, String topic, String key, Object event) {
+		store.insert(eventId, topic, key, event.getClass().getName(), serialize(event), nextCreatedAt());
+		return eventId;
+	}
+
+	/**
+	 * Variante ensembliste de {@link #enqueue} pour un lot d'événements d'un même topic : une
+	 * seule requête d'insertion. {@code eventIds}, {@code keys} et {@code events} sont alignés.
+	 */
+	public void enqueueAll(String topic, UUID[] eventIds, String[] keys, List<?> events) {
+		String[] payloadTypes = new String[events.size()];
+		String[] payloads = new String[events.size()];
+		for (int i = 0; i < payloads.length; i++) {
+			payloadTypes[i] = events.get(i).getClass().getName();
+			payloads[i] = serialize(events.get(i));
+		}
+		store.insertAll(topic, eventIds, keys, payloadTypes, payloads, nextCreatedAt());
+	}
+
+	/**
+	 * Le relais envoie par {@code (created_at, id)} : deux événements écrits à la suite par cette
+	 * instance, dans la même microseconde, ne doivent pas être départagés par leur id aléatoire.
+	 */
+	private Instant nextCreatedAt() {
+		Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+		return lastCreatedAt.accumulateAndGet(now,
+				(last, candidate) -> candidate.isAfter(last) ? candidate : last.plus(1, ChronoUnit.MICROS));
+	}
+
+	private String serialize(Object event) {
+		try {
+			return objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Cannot serialize event " + event.getClass().getName(), e);
+		}
+	}
+}
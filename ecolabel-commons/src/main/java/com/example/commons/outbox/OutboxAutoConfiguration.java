@@ -0,0 +1,52 @@
+package com.example.commons.outbox;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.commons.schema.ComponentSchema;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Outbox d'un service, activée par {@code outbox.table} (ex. {@code lca_outbox_event}). La table
+ * est créée ou mise à jour au démarrage ; le service doit activer la planification
+ * ({@code @EnableScheduling}) pour que {@link OutboxRelay} tourne.
+ */
+@AutoConfiguration(after = { JdbcTemplateAutoConfiguration.class, KafkaAutoConfiguration.class,
+		TransactionAutoConfiguration.class })
+@ConditionalOnProperty("outbox.table")
+public class OutboxAutoConfiguration {
+
+	@Bean
+	OutboxStore outboxStore(DataSource dataSource, JdbcTemplate jdbcTemplate, @Value("${outbox.table}") String table) {
+		ComponentSchema.migrate(dataSource, "outbox", table);
+		return new OutboxStore(jdbcTemplate, table);
+	}
+
+	@Bean
+	public EventOutbox eventOutbox(OutboxStore outboxStore) {
+		return new EventOutbox(outboxStore);
+	}
+
+	@Bean
+	public OutboxRelay outboxRelay(OutboxStore outboxStore, KafkaTemplate<String, String> kafkaTemplate,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${outbox.relay.batch-size:500}") int batchSize,
+			@Value("${outbox.relay.send-timeout:10s}") Duration sendTimeout,
+			@Value("${outbox.relay.lease:60s}") Duration lease) {
+		return new OutboxRelay(outboxStore, kafkaTemplate, transactionManager, meterRegistry, batchSize, sendTimeout,
+				lease);
+	}
+}
@@ -0,0 +1,51 @@
+package com.example.commons.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Ligne de l'outbox réservée par le relais : un événement déjà sérialisé, prêt à être envoyé.
+ */
+final class OutboxEvent {
+
+	private final UUID id;
+	private final String topic;
+	private final String messageKey;
+	private final String payloadType;
+	private final String payload;
+	private final Instant createdAt;
+
+	OutboxEvent(UUID id, String topic, String messageKey, String payloadType, String payload, Instant createdAt) {
+		this.id = id;
+		this.topic = topic;
+		this.messageKey = messageKey;
+		this.payloadType = payloadType;
+		this.payload = payload;
+		this.createdAt = createdAt;
+	}
+
+	UUID getId() {
+		return id;
+	}
+
+	String getTopic() {
+		return topic;
+	}
+
+	String getMessageKey() {
+		return messageKey;
+	}
+
+	/** Classe Java de l'événement, transmise dans l'en-tête {@code __TypeId__}. */
+	String getPayloadType() {
+		return payloadType;
+	}
+
+	String getPayload() {
+		return payload;
+	}
+
+	Instant getCreatedAt() {
+		return createdAt;
+	}
+}
@@ -0,0 +1,193 @@
+package com.example.commons.outbox;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Draine la table d'outbox vers Kafka par lots. Livraison au moins une fois, dans l'ordre de
+ * l'outbox pour une même clé :
+ * <ul>
+ * <li>un lot est réservé dans une transaction courte ({@code claimed_until}), puis envoyé hors
+ * transaction : ni connexion ni verrou de ligne n'est tenu pendant l'attente du broker ;</li>
+ * <li>une clé n'est réservée par une instance que si aucune autre n'a d'événement plus ancien de
+ * cette clé en vol, si bien que deux instances n'entrelacent jamais les événements d'une clé ;</li>
+ * <li>l'envoi se fait par vagues d'au plus un événement par clé : l'événement suivant d'une clé
+ * ne part qu'une fois le précédent acquitté. Après un échec, les événements restants de la clé
+ * sont rendus à l'outbox et repartiront, dans l'ordre, au passage suivant.</li>
+ * </ul>
+ * Les lignes acquittées sont supprimées, les autres libérées, dans une seconde transaction courte.
+ */
+public class OutboxRelay {
+
+	private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+	private final OutboxStore store;
+	private final KafkaTemplate<String, String> kafkaTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final UUID owner = UUID.randomUUID();
+	private final int batchSize;
+	private final Duration sendTimeout;
+	private final Duration lease;
+	private final Counter publishedCounter;
+	private final Counter failedCounter;
+	private final Timer deliveryLag;
+
+	OutboxRelay(OutboxStore store, KafkaTemplate<String, String> kafkaTemplate,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, int batchSize,
+			Duration sendTimeout, Duration lease) {
+		if (lease.compareTo(sendTimeout) <= 0) {
+			throw new IllegalArgumentException("outbox.relay.lease (" + lease
+					+ ") must be longer than outbox.relay.send-timeout (" + sendTimeout + ")");
+		}
+		this.store = store;
+		this.kafkaTemplate = kafkaTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.sendTimeout = sendTimeout;
+		this.lease = lease;
+		this.publishedCounter = Counter.builder("outbox.relay.events")
+				.tag("result", "published")
+				.register(meterRegistry);
+		this.failedCounter = Counter.builder("outbox.relay.events")
+				.tag("result", "failed")
+				.register(meterRegistry);
+		this.deliveryLag = Timer.builder("outbox.relay.lag")
+				.description("Délai entre l'écriture dans l'outbox et l'acquittement du broker")
+				.register(meterRegistry);
+		Gauge.builder("outbox.backlog", store, OutboxStore::count)
+				.description("Événements en attente d'envoi")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+	public void relay() {
+		int delivered;
+		do {
+			delivered = relayBatch();
+		} while (delivered == batchSize);
+	}
+
+	/**
+	 * @return le nombre d'événements acquittés ; égal à la taille de lot seulement si le lot était
+	 *         plein et entièrement envoyé
+	 */
+	int relayBatch() {
+		Instant claimedAt = Instant.now();
+		List<OutboxEvent> batch = transactionTemplate.execute(status -> store.claim(batchSize, owner, lease));
+		if (batch == null || batch.isEmpty()) {
+			return 0;
+		}
+
+		List<UUID> delivered = new ArrayList<>(batch.size());
+		try {
+			// Pas de nouvelle vague qui risquerait de finir après l'expiration de la réservation
+			send(batch, claimedAt.plus(lease).minus(sendTimeout), delivered);
+		} finally {
+			Set<UUID> deliveredIds = new HashSet<>(delivered);
+			List<UUID> undelivered = new ArrayList<>(batch.size() - delivered.size());
+			for (OutboxEvent event : batch) {
+				if (!deliveredIds.contains(event.getId())) {
+					undelivered.add(event.getId());
+				}
+			}
+			transactionTemplate.executeWithoutResult(status -> {
+				store.delete(delivered);
+				store.release(undelivered, owner);
+			});
+		}
+		return delivered.size();
+	}
+
+	/**
+	 * Ajoute à {@code delivered} les ids des événements acquittés, au fil des vagues.
+	 */
+	private void send(List<OutboxEvent> batch, Instant deadline, List<UUID> delivered) {
+		Set<String> failedKeys = new HashSet<>();
+		List<OutboxEvent> pending = batch;
+		while (!pending.isEmpty() && Instant.now().isBefore(deadline)) {
+			List<OutboxEvent> wave = new ArrayList<>(pending.size());
+			List<OutboxEvent> next = new ArrayList<>();
+			Set<String> waveKeys = new HashSet<>();
+			for (OutboxEvent event : pending) {
+				String key = orderingKey(event);
+				if (failedKeys.contains(key)) {
+					continue;
+				}
+				(waveKeys.add(key) ? wave : next).add(event);
+			}
+
+			List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(wave.size());
+			boolean brokerUnavailable = false;
+			for (OutboxEvent event : wave) {
+				try {
+					futures.add(kafkaTemplate.send(toRecord(event)));
+				} catch (KafkaException e) {
+					// Métadonnées introuvables après max.block.ms : inutile d'essayer le reste du lot
+					log.warn("Outbox relay cannot reach the broker for topic {}: {}", event.getTopic(), e.getMessage());
+					brokerUnavailable = true;
+					break;
+				}
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				OutboxEvent event = wave.get(i);
+				try {
+					futures.get(i).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+					delivered.add(event.getId());
+					publishedCounter.increment();
+					deliveryLag.record(Duration.between(event.getCreatedAt(), Instant.now()));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (Exception e) {
+					// L'événement et les suivants de sa clé restent dans l'outbox
+					failedKeys.add(orderingKey(event));
+					failedCounter.increment();
+					log.warn("Outbox relay failed for event {} on topic {}: {}", event.getId(), event.getTopic(),
+							e.getMessage());
+				}
+			}
+			if (brokerUnavailable) {
+				failedCounter.increment(wave.size() - futures.size());
+				return;
+			}
+			pending = next;
+		}
+	}
+
+	private static ProducerRecord<String, String> toRecord(OutboxEvent event) {
+		ProducerRecord<String, String> record = new ProducerRecord<>(event.getTopic(), event.getMessageKey(),
+				event.getPayload());
+		record.headers().add(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+				event.getPayloadType().getBytes(StandardCharsets.UTF_8));
+		return record;
+	}
+
+	/** L'ordre est garanti par partition, donc par clé au sein d'un topic. */
+	private static String orderingKey(OutboxEvent event) {
+		return event.getTopic() + '\u0000' + event.getMessageKey();
+	}
+}
@@ -0,0 +1,141 @@
+package com.example.commons.outbox;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.commons.schema.ComponentSchema;
+
+/**
+ * Accès SQL à la table d'outbox d'un service ({@code parser_outbox_event},
+ * {@code lca_outbox_event}...), dont le nom est passé au constructeur.
+ */
+class OutboxStore {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String table;
+	private final String insertSql;
+	private final String insertAllSql;
+	private final String lockSql;
+	private final String claimSql;
+	private final String deleteSql;
+	private final String releaseSql;
+	private final String countSql;
+
+	OutboxStore(JdbcTemplate jdbcTemplate, String table) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.table = ComponentSchema.checkTableName(table);
+		this.insertSql = "INSERT INTO " + table
+				+ " (id, topic, message_key, payload_type, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+		this.insertAllSql = "INSERT INTO " + table + " (id, topic, message_key, payload_type, payload, created_at) "
+				+ "SELECT e.id, ?, e.message_key, e.payload_type, e.payload, ? "
+				+ "FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::text[]) AS e(id, message_key, payload_type, payload)";
+		this.lockSql = "SELECT pg_advisory_xact_lock(hashtext('" + table + "'))";
+		// Un événement n'est pas réservé tant qu'un événement plus ancien de la même clé est en vol
+		// chez une autre instance : il partira après lui, au passage suivant.
+		this.claimSql = "UPDATE " + table + " SET claimed_by = ?, claimed_until = now() + ? * interval '1 millisecond' "
+				+ "WHERE id IN (SELECT o.id FROM " + table + " o "
+				+ "WHERE (o.claimed_until IS NULL OR o.claimed_until < now()) "
+				+ "AND NOT EXISTS (SELECT 1 FROM " + table + " p WHERE p.claimed_until >= now() "
+				+ "AND p.topic = o.topic AND p.message_key = o.message_key "
+				+ "AND (p.created_at, p.id) < (o.created_at, o.id)) "
+				+ "ORDER BY o.created_at, o.id LIMIT ?) "
+				+ "RETURNING id, topic, message_key, payload_type, payload, created_at";
+		this.deleteSql = "DELETE FROM " + table + " WHERE id = ANY(?)";
+		this.releaseSql = "UPDATE " + table + " SET claimed_by = NULL, claimed_until = NULL "
+				+ "WHERE id = ANY(?) AND claimed_by = ?";
+		this.countSql = "SELECT count(*) FROM " + table;
+	}
+
+	String getTable() {
+		return table;
+	}
+
+	void insert(UUID id, String topic, String key, String payloadType, String payload, Instant createdAt) {
+		jdbcTemplate.update(insertSql, id, topic, key, payloadType, payload, toTimestamp(createdAt));
+	}
+
+	/**
+	 * Insertion d'un lot d'événements en une requête, colonnes passées en tableaux.
+	 */
+	void insertAll(String topic, UUID[] ids, String[] keys, String[] payloadTypes, String[] payloads,
+			Instant createdAt) {
+		jdbcTemplate.update(insertAllSql, ps -> {
+			Connection connection = ps.getConnection();
+			ps.setString(1, topic);
+			ps.setObject(2, toTimestamp(createdAt));
+			ps.setArray(3, connection.createArrayOf("uuid", ids));
+			ps.setArray(4, connection.createArrayOf("varchar", keys));
+			ps.setArray(5, connection.createArrayOf("varchar", payloadTypes));
+			ps.setArray(6, connection.createArrayOf("text", payloads));
+		});
+	}
+
+	/**
+	 * Réserve le prochain lot pour {@code owner} jusqu'à {@code now() + lease}. À appeler dans une
+	 * transaction : les réservations des instances sont sérialisées par un verrou consultatif pris
+	 * jusqu'au commit, si bien que chacune voit celles des autres. Les lignes ne restent pas
+	 * verrouillées pendant l'envoi.
+	 *
+	 * @return les événements réservés, dans l'ordre de l'outbox
+	 */
+	List<OutboxEvent> claim(int limit, UUID owner, Duration lease) {
+		jdbcTemplate.execute(lockSql);
+		List<OutboxEvent> claimed = jdbcTemplate.query(claimSql, OutboxStore::mapEvent, owner, lease.toMillis(),
+				limit);
+		// RETURNING ne garantit aucun ordre
+		claimed.sort((a, b) -> {
+			int byTime = a.getCreatedAt().compareTo(b.getCreatedAt());
+			return byTime != 0 ? byTime : a.getId().compareTo(b.getId());
+		});
+		return claimed;
+	}
+
+	void delete(Collection<UUID> ids) {
+		if (!ids.isEmpty()) {
+			jdbcTemplate.update(deleteSql, ps -> ps.setArray(1, uuidArray(ps.getConnection(), ids)));
+		}
+	}
+
+	/**
+	 * Rend des événements réservés mais non envoyés, sauf si la réservation a expiré entre-temps
+	 * et qu'une autre instance les a repris.
+	 */
+	void release(Collection<UUID> ids, UUID owner) {
+		if (!ids.isEmpty()) {
+			jdbcTemplate.update(releaseSql, ps -> {
+				ps.setArray(1, uuidArray(ps.getConnection(), ids));
+				ps.setObject(2, owner);
+			});
+		}
+	}
+
+	long count() {
+		Long count = jdbcTemplate.queryForObject(countSql, Long.class);
+		return count != null ? count : 0;
+	}
+
+	private static OutboxEvent mapEvent(ResultSet rs, int row) throws SQLException {
+		return new OutboxEvent(rs.getObject("id", UUID.class), rs.getString("topic"), rs.getString("message_key"),
+				rs.getString("payload_type"), rs.getString("payload"),
+				rs.getObject("created_at", OffsetDateTime.class).toInstant());
+	}
+
+	private static Array uuidArray(Connection connection, Collection<UUID> ids) throws SQLException {
+		return connection.createArrayOf("uuid", ids.toArray(UUID[]::new));
+	}
+
+	private static OffsetDateTime toTimestamp(Instant instant) {
+		return instant.atOffset(ZoneOffset.UTC);
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.commons.schema;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+
+/**
+ * Migrations des tables d'un composant partagé (outbox, ids traités...). Les scripts sont dans
+ * {@code db/commons/<composant>} et reçoivent le nom de la table en placeholder {@code ${table}} ;
+ * chaque table a son propre historique {@code <table>_schema_history}, indépendant de celui du
+ * service : les versions du composant et celles du service n'ont pas à se suivre.
+ */
+public final class ComponentSchema {
+
+	private static final Pattern TABLE_NAME = Pattern.compile("[a-z][a-z0-9_]*");
+
+	private ComponentSchema() {
+	}
+
+	public static void migrate(DataSource dataSource, String component, String table) {
+		Flyway.configure()
+				.dataSource(dataSource)
+				.locations("classpath:db/commons/" + component)
+				.table(checkTableName(table) + "_schema_history")
+				.placeholders(Map.of("table", table))
+				// Base partagée : le schéma n'est jamais vide, et la table peut déjà exister
+				.baselineOnMigrate(true)
+				.baselineVersion("0")
+				.load()
+				.migrate();
+	}
+
+	/**
+	 * Le nom de table est concaténé dans le SQL : seuls les identifiants simples sont acceptés.
+	 */
+	public static String checkTableName(String table) {
+		if (table == null || !TABLE_NAME.matcher(table).matches()) {
+			throw new IllegalArgumentException("Invalid table name: " + table);
+		}
+		return table;
+	}
+}
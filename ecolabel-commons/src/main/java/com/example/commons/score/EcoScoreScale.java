@@ -0,0 +1,45 @@
+package com.example.commons.score;
+
+/**
+ * Barème du score environnemental, partagé par le service de scoring ({@code lca.completed}) et
+ * par les simulations ACV, notées sans passer par Kafka : les deux donnent la même note pour les
+ * mêmes impacts.
+ */
+public final class EcoScoreScale {
+
+	private EcoScoreScale() {
+	}
+
+	/**
+	 * @return le score sur 100, arrondi au centième
+	 */
+	public static double normalizeScore(double co2, double water, double energy) {
+		// Benchmarks basés sur les données observées
+		// CO2: 0-10 kg -> 100-0
+		// Eau: 0-1000 L -> 100-0
+		// Energie: 0-50 MJ -> 100-0
+		double co2Score = Math.max(0, 100 * (1 - (co2 / 10.0)));
+		double waterScore = Math.max(0, 100 * (1 - (water / 1000.0)));
+		double energyScore = Math.max(0, 100 * (1 - (energy / 50.0)));
+
+		// Pondération: 50% CO2, 25% Eau, 25% Energie
+		double total = (co2Score * 0.5) + (waterScore * 0.25) + (energyScore * 0.25);
+		return Math.round(total * 100.0) / 100.0;
+	}
+
+	public static String toLetter(double score) {
+		if (score >= 80) {
+			return "A";
+		}
+		if (score >= 65) {
+			return "B";
+		}
+		if (score >= 50) {
+			return "C";
+		}
+		if (score >= 35) {
+			return "D";
+		}
+		return "E";
+	}
+}
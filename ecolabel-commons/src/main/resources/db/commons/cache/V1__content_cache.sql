@@ -0,0 +1,10 @@
+-- Résultats coûteux (OCR, extraction ML) adressés par le hash de leur entrée, par espace de noms
+create table if not exists ${table} (
+    namespace varchar(64) not null,
+    cache_key varchar(64) not null,
+    value text not null,
+    created_at timestamp(6) with time zone not null,
+    primary key (namespace, cache_key)
+);
+
+create index if not exists idx_${table}_created_at on ${table} (created_at);
@@ -0,0 +1,9 @@
+-- Événements Kafka déjà traités, par consommateur, pour écarter les redélivrances
+create table if not exists ${table} (
+    consumer varchar(255) not null,
+    event_id uuid not null,
+    processed_at timestamp(6) with time zone not null,
+    primary key (consumer, event_id)
+);
+
+create index if not exists idx_${table}_processed_at on ${table} (processed_at);
@@ -0,0 +1,22 @@
+-- Événements Kafka en attente d'envoi (transactional outbox)
+create table if not exists ${table} (
+    id uuid not null primary key,
+    topic varchar(255) not null,
+    message_key varchar(255) not null,
+    payload_type varchar(255) not null,
+    payload text not null,
+    created_at timestamp(6) with time zone not null
+);
+
+-- Le relais lit les événements par (created_at, id)
+drop index if exists idx_${table}_created_at;
+create index if not exists idx_${table}_created_at_id on ${table} (created_at, id);
+
+-- Réservation d'un lot par une instance du relais, le temps de l'envoyer
+alter table ${table} add column if not exists claimed_by uuid;
+alter table ${table} add column if not exists claimed_until timestamp(6) with time zone;
+
+-- Seuls les événements en cours d'envoi sont indexés : de quoi vérifier vite qu'une clé n'a pas
+-- d'événement plus ancien encore en vol
+create index if not exists idx_${table}_claimed_key on ${table} (topic, message_key)
+    where claimed_until is not null;
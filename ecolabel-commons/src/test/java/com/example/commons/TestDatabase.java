@@ -0,0 +1,36 @@
+package com.example.commons;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.example.commons.schema.ComponentSchema;
+
+/**
+ * Base Postgres des tests, la même que celle des services ({@code DB_HOST}, {@code DB_PORT}...).
+ * Les tables de test sont préfixées {@code commons_test_}.
+ */
+public final class TestDatabase {
+
+	private static final DataSource DATA_SOURCE = new DriverManagerDataSource(
+			"jdbc:postgresql://" + env("DB_HOST", "localhost") + ":" + env("DB_PORT", "5432") + "/"
+					+ env("DB_NAME", "eco_label"),
+			env("DB_USERNAME", "eco_user"), env("DB_PASSWORD", "eco_pass"));
+
+	private TestDatabase() {
+	}
+
+	public static JdbcTemplate jdbcTemplate() {
+		return new JdbcTemplate(DATA_SOURCE);
+	}
+
+	public static void migrate(String component, String table) {
+		ComponentSchema.migrate(DATA_SOURCE, component, table);
+	}
+
+	private static String env(String name, String defaultValue) {
+		String value = System.getenv(name);
+		return value != null ? value : defaultValue;
+	}
+}
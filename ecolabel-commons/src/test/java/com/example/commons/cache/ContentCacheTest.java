@@ -0,0 +1,78 @@
+package com.example.commons.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.commons.TestDatabase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ContentCacheTest {
+
+	private static final String TABLE = "commons_test_content_cache";
+	private static final Duration TTL = Duration.ofDays(30);
+
+	private JdbcTemplate jdbcTemplate;
+	private ContentCacheStore store;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = TestDatabase.jdbcTemplate();
+		TestDatabase.migrate("cache", TABLE);
+		jdbcTemplate.execute("TRUNCATE " + TABLE);
+		store = new ContentCacheStore(jdbcTemplate, TABLE);
+	}
+
+	private ContentCache cache(String namespace) {
+		return new ContentCache(store, new SimpleMeterRegistry(), TABLE, namespace, 100, TTL);
+	}
+
+	@Test
+	void valueSurvivesARestart() {
+		cache("v1").put("abc", "texte");
+
+		assertThat(cache("v1").get("abc")).isEqualTo("texte");
+		assertThat(cache("v1").get("unknown")).isNull();
+	}
+
+	@Test
+	void firstValueIsKept() {
+		ContentCache cache = cache("v1");
+		cache.put("abc", "premier");
+		cache("v1").put("abc", "second");
+
+		assertThat(cache("v1").get("abc")).isEqualTo("premier");
+	}
+
+	@Test
+	void otherNamespaceIsNotServed() {
+		cache("v1").put("abc", "ancien modèle");
+
+		assertThat(cache("v2").get("abc")).isNull();
+	}
+
+	@Test
+	void expiredEntryIsNotServed() {
+		store.insertIfAbsent("v1", "old", "périmé", Instant.now().minus(TTL).minusSeconds(60));
+
+		assertThat(cache("v1").get("old")).isNull();
+	}
+
+	@Test
+	void purgeRemovesOldNamespacesAndExpiredEntries() {
+		store.insertIfAbsent("v1", "old", "périmé", Instant.now().minus(TTL).minusSeconds(60));
+		store.insertIfAbsent("v0", "abc", "ancien modèle", Instant.now());
+		store.insertIfAbsent("v1", "abc", "courant", Instant.now());
+
+		cache("v1").purgeStale();
+
+		assertThat(jdbcTemplate.queryForList("SELECT namespace || ':' || cache_key FROM " + TABLE, String.class))
+				.containsExactly("v1:abc");
+	}
+}
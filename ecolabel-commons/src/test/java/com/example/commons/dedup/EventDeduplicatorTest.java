@@ -0,0 +1,143 @@
+package com.example.commons.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.commons.TestDatabase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EventDeduplicatorTest {
+
+	private static final String TABLE = "commons_test_processed_event";
+
+	private ProcessedEventStore store;
+	private EventDeduplicator deduplicator;
+
+	@BeforeEach
+	void setUp() {
+		JdbcTemplate jdbcTemplate = TestDatabase.jdbcTemplate();
+		TestDatabase.migrate("dedup", TABLE);
+		jdbcTemplate.execute("TRUNCATE " + TABLE);
+		store = new ProcessedEventStore(jdbcTemplate, TABLE);
+		deduplicator = new EventDeduplicator(store, new DataSourceTransactionManager(jdbcTemplate.getDataSource()),
+				new SimpleMeterRegistry(), 100, Duration.ofDays(7));
+	}
+
+	@Test
+	void processesEachEventOncePerConsumer() {
+		UUID eventId = UUID.randomUUID();
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThat(deduplicator.processOnce("scoring", eventId, calls::incrementAndGet)).isTrue();
+		assertThat(deduplicator.processOnce("scoring", eventId, calls::incrementAndGet)).isFalse();
+		assertThat(deduplicator.processOnce("provenance", eventId, calls::incrementAndGet)).isTrue();
+
+		assertThat(calls).hasValue(2);
+	}
+
+	@Test
+	void failedHandlingLeavesEventToProcess() {
+		UUID eventId = UUID.randomUUID();
+
+		assertThatThrownBy(() -> deduplicator.processOnce("scoring", eventId, () -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(store.exists("scoring", eventId)).isFalse();
+		assertThat(deduplicator.processOnce("scoring", eventId, () -> {
+		})).isTrue();
+	}
+
+	@Test
+	void preparationRunsOutsideTransactionAndOnlyForFreshEvents() {
+		UUID eventId = UUID.randomUUID();
+		List<Boolean> preparedInTransaction = new ArrayList<>();
+		List<String> handled = new ArrayList<>();
+
+		for (int i = 0; i < 2; i++) {
+			deduplicator.processOnce("nlp", eventId, () -> {
+				preparedInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+				return "text";
+			}, prepared -> {
+				assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+				handled.add(prepared);
+			});
+		}
+
+		// La redélivrance est écartée avant la préparation
+		assertThat(preparedInTransaction).containsExactly(false);
+		assertThat(handled).containsExactly("text");
+	}
+
+	@Test
+	void failedPreparationLeavesEventToProcess() {
+		UUID eventId = UUID.randomUUID();
+
+		assertThatThrownBy(() -> deduplicator.processOnce("nlp", eventId, () -> {
+			throw new IllegalStateException("ml-service down");
+		}, prepared -> {
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(store.exists("nlp", eventId)).isFalse();
+	}
+
+	@Test
+	void eventWithoutIdIsAlwaysProcessed() {
+		AtomicInteger calls = new AtomicInteger();
+
+		deduplicator.processOnce("scoring", null, calls::incrementAndGet);
+		deduplicator.processOnce("scoring", null, calls::incrementAndGet);
+
+		assertThat(calls).hasValue(2);
+	}
+
+	@Test
+	void batchHandlerReceivesOnlyFreshEventsInOrder() {
+		UUID processed = UUID.randomUUID();
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		deduplicator.processOnce("lca", processed, () -> {
+		});
+		List<UUID> events = new ArrayList<>();
+		events.add(second);
+		events.add(processed);
+		events.add(null);
+		events.add(first);
+		events.add(second);
+		List<UUID> handled = new ArrayList<>();
+
+		int skipped = deduplicator.processBatchOnce("lca", events, id -> id, handled::addAll);
+
+		// Déjà traité, puis doublon au sein du lot
+		assertThat(skipped).isEqualTo(2);
+		assertThat(handled).containsExactly(second, null, first);
+		assertThat(store.exists("lca", first)).isTrue();
+	}
+
+	@Test
+	void purgeRemovesIdsOlderThanRetention() {
+		UUID old = UUID.randomUUID();
+		UUID recent = UUID.randomUUID();
+		store.insertIfAbsent("widget", old, Instant.now().minus(Duration.ofDays(8)));
+		store.insertIfAbsent("widget", recent, Instant.now());
+
+		deduplicator.purgeExpired();
+
+		assertThat(store.exists("widget", old)).isFalse();
+		assertThat(store.exists("widget", recent)).isTrue();
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.commons.ml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MlCallGuardTest {
+
+	private MlCallGuard guard;
+
+	@BeforeEach
+	void setUp() {
+		Map<String, Duration> slowCallThresholds = Map.of(MlCallGuard.OCR, Duration.ofSeconds(20),
+				MlCallGuard.NLP, Duration.ofSeconds(3));
+		guard = new MlCallGuard(new SimpleMeterRegistry(), 4, Duration.ofMillis(10), 50, Duration.ofSeconds(30),
+				slowCallThresholds::get);
+	}
+
+	@Test
+	void eachEndpointFamilyHasItsOwnSlowCallThreshold() {
+		assertThat(guard.circuitBreaker(MlCallGuard.OCR).getCircuitBreakerConfig().getSlowCallDurationThreshold())
+				.isEqualTo(Duration.ofSeconds(20));
+		assertThat(guard.circuitBreaker(MlCallGuard.NLP).getCircuitBreakerConfig().getSlowCallDurationThreshold())
+				.isEqualTo(Duration.ofSeconds(3));
+	}
+
+	@Test
+	void failingOcrDoesNotOpenNlpCircuit() {
+		for (int i = 0; i < 10; i++) {
+			assertThatThrownBy(() -> guard.call(MlCallGuard.OCR, () -> {
+				throw new ResourceAccessException("read timed out");
+			})).isInstanceOf(ResourceAccessException.class);
+		}
+
+		assertThat(guard.circuitBreaker(MlCallGuard.OCR).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThatThrownBy(() -> guard.call(MlCallGuard.OCR, () -> "text"))
+				.isInstanceOf(CallNotPermittedException.class);
+		assertThat(guard.call(MlCallGuard.NLP, () -> "metadata")).isEqualTo("metadata");
+	}
+
+	@Test
+	void clientErrorsDoNotCountAsFailures() {
+		for (int i = 0; i < 10; i++) {
+			assertThatThrownBy(() -> guard.call(MlCallGuard.NLP, () -> {
+				throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+			})).isInstanceOf(HttpClientErrorException.class);
+		}
+
+		assertThat(guard.circuitBreaker(MlCallGuard.NLP).getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+}
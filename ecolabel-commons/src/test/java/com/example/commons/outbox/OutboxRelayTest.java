@@ -0,0 +1,153 @@
+package com.example.commons.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.commons.TestDatabase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTest {
+
+	private static final String TABLE = "commons_test_outbox_event";
+
+	private OutboxStore store;
+	private DataSourceTransactionManager transactionManager;
+	private KafkaTemplate<String, String> kafkaTemplate;
+	private final List<String> sent = new ArrayList<>();
+	private final Set<String> failingPayloads = new HashSet<>();
+	private boolean brokerDown;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		JdbcTemplate jdbcTemplate = TestDatabase.jdbcTemplate();
+		TestDatabase.migrate("outbox", TABLE);
+		jdbcTemplate.execute("TRUNCATE " + TABLE);
+		store = new OutboxStore(jdbcTemplate, TABLE);
+		transactionManager = new DataSourceTransactionManager(jdbcTemplate.getDataSource());
+
+		kafkaTemplate = mock(KafkaTemplate.class);
+		when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+			ProducerRecord<String, String> record = invocation.getArgument(0);
+			if (brokerDown) {
+				throw new KafkaException("Send failed");
+			}
+			sent.add(record.value());
+			if (failingPayloads.contains(record.value())) {
+				return CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"));
+			}
+			return CompletableFuture.completedFuture(new SendResult<>(record, null));
+		});
+	}
+
+	@Test
+	void deliversAndDeletesWholeBatch() {
+		EventOutbox outbox = new EventOutbox(store);
+		outbox.enqueue(UUID.randomUUID(), "topic", "p1", "a");
+		outbox.enqueueAll("topic", new UUID[] { UUID.randomUUID(), UUID.randomUUID() }, new String[] { "p2", "p3" },
+				List.of("b", "c"));
+
+		relay(500).relay();
+
+		assertThat(sent).containsExactlyInAnyOrder("\"a\"", "\"b\"", "\"c\"");
+		assertThat(store.count()).isZero();
+	}
+
+	@Test
+	void sendsNextEventOfKeyOnlyAfterPreviousOneIsAcknowledged() {
+		EventOutbox outbox = new EventOutbox(store);
+		outbox.enqueue(UUID.randomUUID(), "topic", "p1", "p1-1");
+		outbox.enqueue(UUID.randomUUID(), "topic", "p2", "p2-1");
+		outbox.enqueue(UUID.randomUUID(), "topic", "p1", "p1-2");
+		outbox.enqueue(UUID.randomUUID(), "topic", "p1", "p1-3");
+		failingPayloads.add("\"p1-1\"");
+
+		relay(500).relay();
+
+		// p1-2 et p1-3 ne partent pas avant p1-1, qui a échoué ; p2 n'est pas bloquée
+		assertThat(sent).containsExactly("\"p1-1\"", "\"p2-1\"");
+		assertThat(store.count()).isEqualTo(3);
+
+		failingPayloads.clear();
+		sent.clear();
+		relay(500).relay();
+
+		assertThat(sent).containsExactly("\"p1-1\"", "\"p1-2\"", "\"p1-3\"");
+		assertThat(store.count()).isZero();
+	}
+
+	@Test
+	void releasesWholeBatchWhenBrokerIsUnreachable() {
+		EventOutbox outbox = new EventOutbox(store);
+		outbox.enqueue(UUID.randomUUID(), "topic", "p1", "p1-1");
+		outbox.enqueue(UUID.randomUUID(), "topic", "p2", "p2-1");
+		brokerDown = true;
+
+		relay(500).relay();
+
+		assertThat(store.count()).isEqualTo(2);
+		brokerDown = false;
+		relay(500).relay();
+
+		// Réservations libérées : le passage suivant reprend tout, sans attendre l'expiration
+		assertThat(sent).containsExactly("\"p1-1\"", "\"p2-1\"");
+		assertThat(store.count()).isZero();
+	}
+
+	@Test
+	void doesNotClaimKeyWithOlderEventInFlightElsewhere() {
+		EventOutbox outbox = new EventOutbox(store);
+		outbox.enqueue(UUID.randomUUID(), "topic", "p1", "p1-1");
+		outbox.enqueue(UUID.randomUUID(), "topic", "p2", "p2-1");
+		outbox.enqueue(UUID.randomUUID(), "topic", "p1", "p1-2");
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		List<OutboxEvent> first = transactionTemplate
+				.execute(status -> store.claim(1, UUID.randomUUID(), Duration.ofMinutes(1)));
+		List<OutboxEvent> second = transactionTemplate
+				.execute(status -> store.claim(10, UUID.randomUUID(), Duration.ofMinutes(1)));
+
+		assertThat(first).extracting(OutboxEvent::getPayload).containsExactly("\"p1-1\"");
+		assertThat(second).extracting(OutboxEvent::getPayload).containsExactly("\"p2-1\"");
+	}
+
+	@Test
+	void expiredClaimIsTakenOverInOrder() {
+		EventOutbox outbox = new EventOutbox(store);
+		outbox.enqueue(UUID.randomUUID(), "topic", "p1", "p1-1");
+		outbox.enqueue(UUID.randomUUID(), "topic", "p1", "p1-2");
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.execute(status -> store.claim(1, UUID.randomUUID(), Duration.ZERO));
+
+		List<OutboxEvent> takenOver = transactionTemplate
+				.execute(status -> store.claim(10, UUID.randomUUID(), Duration.ofMinutes(1)));
+
+		assertThat(takenOver).extracting(OutboxEvent::getPayload).containsExactly("\"p1-1\"", "\"p1-2\"");
+	}
+
+	private OutboxRelay relay(int batchSize) {
+		return new OutboxRelay(store, kafkaTemplate, transactionManager, new SimpleMeterRegistry(), batchSize,
+				Duration.ofSeconds(1), Duration.ofSeconds(30));
+	}
+}
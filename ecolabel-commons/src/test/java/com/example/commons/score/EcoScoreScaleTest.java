@@ -0,0 +1,30 @@
+package com.example.commons.score;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class EcoScoreScaleTest {
+
+	@Test
+	void weightsImpactsAndRoundsToHundredths() {
+		assertThat(EcoScoreScale.normalizeScore(0, 0, 0)).isEqualTo(100);
+		// 50 % de 65,8 + 25 % de 58,75 + 25 % de 62,5
+		assertThat(EcoScoreScale.normalizeScore(3.42, 412.5, 18.75)).isEqualTo(63.21);
+	}
+
+	@Test
+	void impactsBeyondTheScaleScoreZero() {
+		assertThat(EcoScoreScale.normalizeScore(25, 3000, 120)).isZero();
+	}
+
+	@Test
+	void lettersFollowThresholds() {
+		assertThat(EcoScoreScale.toLetter(80)).isEqualTo("A");
+		assertThat(EcoScoreScale.toLetter(79.99)).isEqualTo("B");
+		assertThat(EcoScoreScale.toLetter(65)).isEqualTo("B");
+		assertThat(EcoScoreScale.toLetter(50)).isEqualTo("C");
+		assertThat(EcoScoreScale.toLetter(35)).isEqualTo("D");
+		assertThat(EcoScoreScale.toLetter(34.99)).isEqualTo("E");
+	}
+}
@@ -6,22 +6,32 @@ import org.springframework.context.annotation.Configuration;
 
 import com.example.lcaliteservice.entity.ImpactFactor;
 import com.example.lcaliteservice.repository.ImpactFactorRepository;
+import com.example.lcaliteservice.service.ImpactFactorCatalog;
 
 @Configuration
 public class DataInitializer {
 
+	/** Écart-type des facteurs de démonstration, relatif à leur valeur. */
+	private static final double RELATIVE_STD_DEV = 0.3;
+
 	@Bean
-	public CommandLineRunner impactFactorSeeder(ImpactFactorRepository repository) {
+	public CommandLineRunner impactFactorSeeder(ImpactFactorRepository repository, ImpactFactorCatalog catalog) {
 		return args -> {
-			if (repository.count() > 0) {
-				return;
+			if (repository.count() == 0) {
+				repository.save(factor("DAIRY", 9.2, 1000, 15));
+				repository.save(factor("SWEETENER", 3.5, 600, 5));
+				// Mêmes valeurs que la migration V6, qui les ajoute aux catalogues déjà semés
+				repository.save(factor("GRAIN", 2.1, 400, 4));
+				repository.save(factor("MEAT", 27.0, 15000, 50));
+				repository.save(factor("VEGETABLE", 0.9, 300, 2));
+				repository.save(factor("FRUIT", 1.1, 500, 2.5));
+				repository.save(factor("OIL", 5.0, 200, 8));
+				repository.save(factor("PACKAGING", 2.2, 100, 8));
+				repository.save(factor("GLASS", 1.8, 150, 6));
+				repository.save(factor("OTHER", 1.0, 200, 4));
 			}
-
-			repository.save(factor("DAIRY", 9.2, 1000, 15));
-			repository.save(factor("SWEETENER", 3.5, 600, 5));
-			repository.save(factor("PACKAGING", 2.2, 100, 8));
-			repository.save(factor("GLASS", 1.8, 150, 6));
-			repository.save(factor("OTHER", 1.0, 200, 4));
+			// Le calcul ACV ne lit les facteurs que dans le catalogue en mémoire
+			catalog.refresh();
 		};
 	}
 
@@ -32,6 +42,9 @@ public class DataInitializer {
 		factor.setCo2PerKg(co2);
 		factor.setWaterPerKg(water);
 		factor.setEnergyPerKg(energy);
+		factor.setCo2StdDev(co2 * RELATIVE_STD_DEV);
+		factor.setWaterStdDev(water * RELATIVE_STD_DEV);
+		factor.setEnergyStdDev(energy * RELATIVE_STD_DEV);
 		return factor;
 	}
 }
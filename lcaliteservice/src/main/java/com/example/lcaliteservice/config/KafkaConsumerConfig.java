@@ -0,0 +1,29 @@
+package com.example.lcaliteservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+
+/**
+ * Mode de consommation par lot de {@code ingredients.normalized} ({@code lca.consumer.batch.enabled}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "lca.consumer.batch.enabled", havingValue = "true")
+public class KafkaConsumerConfig {
+
+	/**
+	 * Même configuration que la fabrique par défaut de Spring Boot, en mode lot.
+	 */
+	@Bean
+	public ConcurrentKafkaListenerContainerFactory<Object, Object> ingredientBatchFactory(
+			ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+			ConsumerFactory<Object, Object> consumerFactory) {
+		ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+		configurer.configure(factory, consumerFactory);
+		factory.setBatchListener(true);
+		return factory;
+	}
+}
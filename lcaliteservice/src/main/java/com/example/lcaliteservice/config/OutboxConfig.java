@@ -0,0 +1,14 @@
+package com.example.lcaliteservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active la planification du relais de l'outbox ({@code OutboxRelay}), de la purge des ids
+ * d'événements traités ({@code EventDeduplicator}) et des recalculs ACV
+ * ({@code LcaRecomputeService}).
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+}
@@ -0,0 +1,62 @@
+package com.example.lcaliteservice.controller;
+
+import java.util.Locale;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.lcaliteservice.dto.ImpactFactorCatalogDto;
+import com.example.lcaliteservice.dto.ImpactFactorUpdateRequest;
+import com.example.lcaliteservice.entity.ImpactFactor;
+import com.example.lcaliteservice.service.ImpactFactorCatalog;
+import com.example.lcaliteservice.service.LcaRecomputeService;
+
+@RestController
+@RequestMapping("/lca/factors")
+public class ImpactFactorController {
+
+	private final ImpactFactorCatalog catalog;
+	private final LcaRecomputeService recomputeService;
+
+	public ImpactFactorController(ImpactFactorCatalog catalog, LcaRecomputeService recomputeService) {
+		this.catalog = catalog;
+		this.recomputeService = recomputeService;
+	}
+
+	/**
+	 * Facteurs effectivement utilisés par le calcul, avec la date de leur chargement.
+	 */
+	@GetMapping
+	public ResponseEntity<ImpactFactorCatalogDto> getFactors() {
+		return ResponseEntity.ok(toDto(catalog.snapshot()));
+	}
+
+	/**
+	 * Les résultats des produits de la catégorie sont ensuite recalculés en tâche de fond.
+	 */
+	@PutMapping("/{category}")
+	public ResponseEntity<ImpactFactor> updateFactor(@PathVariable String category,
+			@Validated @RequestBody ImpactFactorUpdateRequest request) {
+		return ResponseEntity.ok(catalog.update(category.toUpperCase(Locale.ROOT), request));
+	}
+
+	/**
+	 * Rechargement après une modification faite directement en base ; les produits des
+	 * catégories modifiées sont recalculés en tâche de fond.
+	 */
+	@PostMapping("/refresh")
+	public ResponseEntity<ImpactFactorCatalogDto> refresh() {
+		return ResponseEntity.ok(toDto(recomputeService.refreshFactors()));
+	}
+
+	private ImpactFactorCatalogDto toDto(ImpactFactorCatalog.Snapshot snapshot) {
+		return new ImpactFactorCatalogDto(snapshot.getFactors(), snapshot.getVersion(), snapshot.getLoadedAt());
+	}
+}
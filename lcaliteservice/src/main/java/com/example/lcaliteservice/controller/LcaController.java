@@ -1,7 +1,9 @@
 package com.example.lcaliteservice.controller;
 
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,32 +15,71 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.example.lcaliteservice.dto.LcaCalculationRequest;
 import com.example.lcaliteservice.dto.LcaResultDto;
+import com.example.lcaliteservice.dto.LcaSimulationRequest;
+import com.example.lcaliteservice.dto.LcaSimulationResponse;
 import com.example.lcaliteservice.repository.LcaResultRepository;
 import com.example.lcaliteservice.service.LcaCalculatorService;
+import com.example.lcaliteservice.service.LcaSimulationService;
 
 @RestController
 @RequestMapping("/lca")
 public class LcaController {
 
 	private final LcaCalculatorService calculatorService;
+	private final LcaSimulationService simulationService;
 	private final LcaResultRepository resultRepository;
+	private final int maxBatchSize;
 
-	public LcaController(LcaCalculatorService calculatorService, LcaResultRepository resultRepository) {
+	public LcaController(LcaCalculatorService calculatorService, LcaSimulationService simulationService,
+			LcaResultRepository resultRepository, @Value("${lca.batch.max-size:10000}") int maxBatchSize) {
 		this.calculatorService = calculatorService;
+		this.simulationService = simulationService;
 		this.resultRepository = resultRepository;
+		this.maxBatchSize = maxBatchSize;
 	}
 
 	@PostMapping("/calc")
 	public ResponseEntity<LcaResultDto> calculate(@Validated @RequestBody LcaCalculationRequest request) {
-		return ResponseEntity.ok(calculatorService.calculate(request));
+		try {
+			return ResponseEntity.ok(calculatorService.calculate(request));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	/**
+	 * Calcul d'un lot de produits (reprises, simulations), dans une seule transaction.
+	 */
+	@PostMapping("/calc/batch")
+	public ResponseEntity<List<LcaResultDto>> calculateBatch(@RequestBody List<LcaCalculationRequest> requests) {
+		if (requests.size() > maxBatchSize || requests.stream()
+				.anyMatch(request -> request.getProductId() == null || request.getIngredients() == null)) {
+			return ResponseEntity.badRequest().build();
+		}
+		try {
+			return ResponseEntity.ok(calculatorService.calculateBatch(requests));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	/**
+	 * Grille de variantes (distances × modes de transport × remplacements d'ingrédients) calculée
+	 * et notée en mémoire : rien n'est enregistré ni publié.
+	 */
+	@PostMapping("/simulate")
+	public ResponseEntity<LcaSimulationResponse> simulate(@Validated @RequestBody LcaSimulationRequest request) {
+		try {
+			return ResponseEntity.ok(simulationService.simulate(request));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
 	}
 
 	@GetMapping("/product/{productId}")
 	public ResponseEntity<LcaResultDto> getByProduct(@PathVariable UUID productId) {
 		return resultRepository.findByProductId(productId)
-				.map(result -> new LcaResultDto(result.getId(), result.getProductId(),
-						result.getTotalCo2Kg(), result.getTotalWaterLiters(), result.getTotalEnergyMj(),
-						result.getCalculatedAt()))
+				.map(LcaCalculatorService::toDto)
 				.map(ResponseEntity::ok)
 				.orElse(ResponseEntity.notFound().build());
 	}
@@ -0,0 +1,31 @@
+package com.example.lcaliteservice.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.example.lcaliteservice.entity.ImpactFactor;
+
+public class ImpactFactorCatalogDto {
+
+	private final List<ImpactFactor> factors;
+	private final String version;
+	private final Instant loadedAt;
+
+	public ImpactFactorCatalogDto(List<ImpactFactor> factors, String version, Instant loadedAt) {
+		this.factors = factors;
+		this.version = version;
+		this.loadedAt = loadedAt;
+	}
+
+	public List<ImpactFactor> getFactors() {
+		return factors;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public Instant getLoadedAt() {
+		return loadedAt;
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.lcaliteservice.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+
+public class ImpactFactorUpdateRequest {
+
+	@PositiveOrZero
+	private double co2PerKg;
+
+	@PositiveOrZero
+	private double waterPerKg;
+
+	@PositiveOrZero
+	private double energyPerKg;
+
+	/** Écarts-types optionnels ; absents, ceux du facteur existant sont conservés. */
+	@PositiveOrZero
+	private Double co2StdDev;
+
+	@PositiveOrZero
+	private Double waterStdDev;
+
+	@PositiveOrZero
+	private Double energyStdDev;
+
+	public double getCo2PerKg() {
+		return co2PerKg;
+	}
+
+	public void setCo2PerKg(double co2PerKg) {
+		this.co2PerKg = co2PerKg;
+	}
+
+	public double getWaterPerKg() {
+		return waterPerKg;
+	}
+
+	public void setWaterPerKg(double waterPerKg) {
+		this.waterPerKg = waterPerKg;
+	}
+
+	public double getEnergyPerKg() {
+		return energyPerKg;
+	}
+
+	public void setEnergyPerKg(double energyPerKg) {
+		this.energyPerKg = energyPerKg;
+	}
+
+	public Double getCo2StdDev() {
+		return co2StdDev;
+	}
+
+	public void setCo2StdDev(Double co2StdDev) {
+		this.co2StdDev = co2StdDev;
+	}
+
+	public Double getWaterStdDev() {
+		return waterStdDev;
+	}
+
+	public void setWaterStdDev(Double waterStdDev) {
+		this.waterStdDev = waterStdDev;
+	}
+
+	public Double getEnergyStdDev() {
+		return energyStdDev;
+	}
+
+	public void setEnergyStdDev(Double energyStdDev) {
+		this.energyStdDev = energyStdDev;
+	}
+}
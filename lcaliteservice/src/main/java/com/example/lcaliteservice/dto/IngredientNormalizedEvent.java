@@ -5,12 +5,21 @@ import java.util.UUID;
 
 public class IngredientNormalizedEvent {
 
+	private UUID eventId;
 	private UUID productId;
 	private List<NormalizedIngredient> ingredients;
 
 	public IngredientNormalizedEvent() {
 	}
 
+	public UUID getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(UUID eventId) {
+		this.eventId = eventId;
+	}
+
 	public UUID getProductId() {
 		return productId;
 	}
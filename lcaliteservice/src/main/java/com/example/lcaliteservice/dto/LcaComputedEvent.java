@@ -3,14 +3,21 @@ package com.example.lcaliteservice.dto;
 import java.time.Instant;
 import java.util.UUID;
 
+import com.example.lcaliteservice.entity.ImpactPercentiles;
+
 public class LcaComputedEvent {
 
+	private UUID eventId;
 	private UUID productId;
 	private UUID resultId;
 	private double co2Kg;
 	private double waterLiters;
 	private double energyMj;
 	private Instant calculatedAt;
+	/** Percentiles Monte Carlo des impacts, pour le niveau de confiance du score. */
+	private ImpactPercentiles co2Percentiles;
+	private ImpactPercentiles waterPercentiles;
+	private ImpactPercentiles energyPercentiles;
 
 	public LcaComputedEvent() {
 	}
@@ -25,6 +32,23 @@ public class LcaComputedEvent {
 		this.calculatedAt = calculatedAt;
 	}
 
+	public LcaComputedEvent(UUID productId, UUID resultId, double co2Kg, double waterLiters, double energyMj,
+			Instant calculatedAt, ImpactPercentiles co2Percentiles, ImpactPercentiles waterPercentiles,
+			ImpactPercentiles energyPercentiles) {
+		this(productId, resultId, co2Kg, waterLiters, energyMj, calculatedAt);
+		this.co2Percentiles = co2Percentiles;
+		this.waterPercentiles = waterPercentiles;
+		this.energyPercentiles = energyPercentiles;
+	}
+
+	public UUID getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(UUID eventId) {
+		this.eventId = eventId;
+	}
+
 	public UUID getProductId() {
 		return productId;
 	}
@@ -72,5 +96,28 @@ public class LcaComputedEvent {
 	public void setCalculatedAt(Instant calculatedAt) {
 		this.calculatedAt = calculatedAt;
 	}
-}
 
+	public ImpactPercentiles getCo2Percentiles() {
+		return co2Percentiles;
+	}
+
+	public void setCo2Percentiles(ImpactPercentiles co2Percentiles) {
+		this.co2Percentiles = co2Percentiles;
+	}
+
+	public ImpactPercentiles getWaterPercentiles() {
+		return waterPercentiles;
+	}
+
+	public void setWaterPercentiles(ImpactPercentiles waterPercentiles) {
+		this.waterPercentiles = waterPercentiles;
+	}
+
+	public ImpactPercentiles getEnergyPercentiles() {
+		return energyPercentiles;
+	}
+
+	public void setEnergyPercentiles(ImpactPercentiles energyPercentiles) {
+		this.energyPercentiles = energyPercentiles;
+	}
+}
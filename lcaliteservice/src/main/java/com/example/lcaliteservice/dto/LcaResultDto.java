@@ -3,6 +3,8 @@ package com.example.lcaliteservice.dto;
 import java.time.Instant;
 import java.util.UUID;
 
+import com.example.lcaliteservice.entity.ImpactPercentiles;
+
 public class LcaResultDto {
 
 	private UUID resultId;
@@ -11,15 +13,22 @@ public class LcaResultDto {
 	private double totalWaterLiters;
 	private double totalEnergyMj;
 	private Instant calculatedAt;
+	private ImpactPercentiles co2Percentiles;
+	private ImpactPercentiles waterPercentiles;
+	private ImpactPercentiles energyPercentiles;
 
 	public LcaResultDto(UUID resultId, UUID productId, double totalCo2Kg, double totalWaterLiters,
-			double totalEnergyMj, Instant calculatedAt) {
+			double totalEnergyMj, Instant calculatedAt, ImpactPercentiles co2Percentiles,
+			ImpactPercentiles waterPercentiles, ImpactPercentiles energyPercentiles) {
 		this.resultId = resultId;
 		this.productId = productId;
 		this.totalCo2Kg = totalCo2Kg;
 		this.totalWaterLiters = totalWaterLiters;
 		this.totalEnergyMj = totalEnergyMj;
 		this.calculatedAt = calculatedAt;
+		this.co2Percentiles = co2Percentiles;
+		this.waterPercentiles = waterPercentiles;
+		this.energyPercentiles = energyPercentiles;
 	}
 
 	public UUID getResultId() {
@@ -45,5 +54,16 @@ public class LcaResultDto {
 	public Instant getCalculatedAt() {
 		return calculatedAt;
 	}
-}
 
+	public ImpactPercentiles getCo2Percentiles() {
+		return co2Percentiles;
+	}
+
+	public ImpactPercentiles getWaterPercentiles() {
+		return waterPercentiles;
+	}
+
+	public ImpactPercentiles getEnergyPercentiles() {
+		return energyPercentiles;
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.lcaliteservice.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Simulation sans écriture : un produit de base et une grille de variantes. Chaque axe absent
+ * reprend la valeur du produit de base ; la variante d'ingrédients {@code base} (aucun
+ * remplacement) est toujours évaluée en premier.
+ */
+public class LcaSimulationRequest {
+
+	@NotNull
+	private LcaCalculationRequest base;
+
+	private List<Double> transportKm;
+
+	private List<String> transportModes;
+
+	private List<IngredientSwap> swaps;
+
+	public LcaCalculationRequest getBase() {
+		return base;
+	}
+
+	public void setBase(LcaCalculationRequest base) {
+		this.base = base;
+	}
+
+	public List<Double> getTransportKm() {
+		return transportKm;
+	}
+
+	public void setTransportKm(List<Double> transportKm) {
+		this.transportKm = transportKm;
+	}
+
+	public List<String> getTransportModes() {
+		return transportModes;
+	}
+
+	public void setTransportModes(List<String> transportModes) {
+		this.transportModes = transportModes;
+	}
+
+	public List<IngredientSwap> getSwaps() {
+		return swaps;
+	}
+
+	public void setSwaps(List<IngredientSwap> swaps) {
+		this.swaps = swaps;
+	}
+
+	/**
+	 * Variante d'ingrédients : l'ingrédient {@code ingredient} du produit de base (par nom) est
+	 * remplacé par {@code replacement}. Sans {@code ingredient}, le remplacement est ajouté ; sans
+	 * {@code replacement}, l'ingrédient est retiré.
+	 */
+	public static class IngredientSwap {
+		private String label;
+		private String ingredient;
+		private LcaCalculationRequest.IngredientImpact replacement;
+
+		public String getLabel() {
+			return label;
+		}
+
+		public void setLabel(String label) {
+			this.label = label;
+		}
+
+		public String getIngredient() {
+			return ingredient;
+		}
+
+		public void setIngredient(String ingredient) {
+			this.ingredient = ingredient;
+		}
+
+		public LcaCalculationRequest.IngredientImpact getReplacement() {
+			return replacement;
+		}
+
+		public void setReplacement(LcaCalculationRequest.IngredientImpact replacement) {
+			this.replacement = replacement;
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.lcaliteservice.dto;
+
+import java.util.List;
+
+/**
+ * Résultats d'une simulation en colonnes : la combinaison (variante {@code v}, mode {@code m},
+ * distance {@code k}) est à l'indice {@code (v * transportModes.size() + m) * transportKm.size() + k}
+ * de chaque tableau.
+ */
+public class LcaSimulationResponse {
+
+	private final List<String> variants;
+	private final List<String> transportModes;
+	private final double[] transportKm;
+	private final double[] co2Kg;
+	private final double[] waterLiters;
+	private final double[] energyMj;
+	private final double[] scoreValue;
+	private final String[] scoreLetter;
+	private final String factorVersion;
+
+	public LcaSimulationResponse(List<String> variants, List<String> transportModes, double[] transportKm,
+			double[] co2Kg, double[] waterLiters, double[] energyMj, double[] scoreValue, String[] scoreLetter,
+			String factorVersion) {
+		this.variants = variants;
+		this.transportModes = transportModes;
+		this.transportKm = transportKm;
+		this.co2Kg = co2Kg;
+		this.waterLiters = waterLiters;
+		this.energyMj = energyMj;
+		this.scoreValue = scoreValue;
+		this.scoreLetter = scoreLetter;
+		this.factorVersion = factorVersion;
+	}
+
+	public List<String> getVariants() {
+		return variants;
+	}
+
+	public List<String> getTransportModes() {
+		return transportModes;
+	}
+
+	public double[] getTransportKm() {
+		return transportKm;
+	}
+
+	public double[] getCo2Kg() {
+		return co2Kg;
+	}
+
+	public double[] getWaterLiters() {
+		return waterLiters;
+	}
+
+	public double[] getEnergyMj() {
+		return energyMj;
+	}
+
+	public double[] getScoreValue() {
+		return scoreValue;
+	}
+
+	public String[] getScoreLetter() {
+		return scoreLetter;
+	}
+
+	public String getFactorVersion() {
+		return factorVersion;
+	}
+}
@@ -5,10 +5,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "impact_factor")
+@Table(name = "impact_factor", indexes = @Index(name = "idx_impact_factor_category", columnList = "category"))
 public class ImpactFactor {
 
 	@Id
@@ -30,6 +31,16 @@ public class ImpactFactor {
 	@Column(nullable = false)
 	private double energyPerKg;
 
+	/** Écarts-types des valeurs ci-dessus, tirés par {@code LcaUncertaintyEngine}. */
+	@Column(nullable = false)
+	private double co2StdDev;
+
+	@Column(nullable = false)
+	private double waterStdDev;
+
+	@Column(nullable = false)
+	private double energyStdDev;
+
 	public Long getId() {
 		return id;
 	}
@@ -77,5 +88,28 @@ public class ImpactFactor {
 	public void setEnergyPerKg(double energyPerKg) {
 		this.energyPerKg = energyPerKg;
 	}
-}
 
+	public double getCo2StdDev() {
+		return co2StdDev;
+	}
+
+	public void setCo2StdDev(double co2StdDev) {
+		this.co2StdDev = co2StdDev;
+	}
+
+	public double getWaterStdDev() {
+		return waterStdDev;
+	}
+
+	public void setWaterStdDev(double waterStdDev) {
+		this.waterStdDev = waterStdDev;
+	}
+
+	public double getEnergyStdDev() {
+		return energyStdDev;
+	}
+
+	public void setEnergyStdDev(double energyStdDev) {
+		this.energyStdDev = energyStdDev;
+	}
+}
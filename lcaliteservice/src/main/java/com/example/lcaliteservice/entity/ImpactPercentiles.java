@@ -0,0 +1,54 @@
+package com.example.lcaliteservice.entity;
+
+import java.util.Objects;
+
+import jakarta.persistence.Embeddable;
+
+/**
+ * Percentiles 5, 50 et 95 d'un impact, estimés par tirage Monte Carlo sur l'incertitude des
+ * facteurs d'impact.
+ */
+@Embeddable
+public class ImpactPercentiles {
+
+	private double p5;
+	private double p50;
+	private double p95;
+
+	protected ImpactPercentiles() {
+	}
+
+	public ImpactPercentiles(double p5, double p50, double p95) {
+		this.p5 = p5;
+		this.p50 = p50;
+		this.p95 = p95;
+	}
+
+	public double getP5() {
+		return p5;
+	}
+
+	public double getP50() {
+		return p50;
+	}
+
+	public double getP95() {
+		return p95;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof ImpactPercentiles other)) {
+			return false;
+		}
+		return p5 == other.p5 && p50 == other.p50 && p95 == other.p95;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(p5, p50, p95);
+	}
+}
@@ -0,0 +1,122 @@
+package com.example.lcaliteservice.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Recalcul des produits touchés par un changement de facteurs d'impact, avancé par lots.
+ * {@code lastProductId} est le curseur du dernier lot traité : un redémarrage reprend là où le
+ * job s'était arrêté.
+ */
+@Entity
+@Table(name = "lca_recompute_job",
+		indexes = { @Index(name = "idx_lca_recompute_job_completed_at", columnList = "completedAt, id"),
+				@Index(name = "idx_lca_recompute_job_factor_version", columnList = "factorVersion") })
+public class LcaRecomputeJob {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/** Catégories modifiées, séparées par des virgules. */
+	@Column(columnDefinition = "TEXT", nullable = false)
+	private String categories;
+
+	/** {@code OTHER} a changé : les catégories sans facteur propre sont touchées aussi. */
+	private boolean includeUnmapped;
+
+	/** Version des facteurs qui a déclenché le recalcul : une seule instance la programme. */
+	@Column(length = 16)
+	private String factorVersion;
+
+	private UUID lastProductId;
+
+	private int recomputedCount;
+
+	private int changedCount;
+
+	@Column(nullable = false)
+	private Instant createdAt;
+
+	private Instant completedAt;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getFactorVersion() {
+		return factorVersion;
+	}
+
+	public void setFactorVersion(String factorVersion) {
+		this.factorVersion = factorVersion;
+	}
+
+	public String getCategories() {
+		return categories;
+	}
+
+	public void setCategories(String categories) {
+		this.categories = categories;
+	}
+
+	public boolean isIncludeUnmapped() {
+		return includeUnmapped;
+	}
+
+	public void setIncludeUnmapped(boolean includeUnmapped) {
+		this.includeUnmapped = includeUnmapped;
+	}
+
+	public UUID getLastProductId() {
+		return lastProductId;
+	}
+
+	public void setLastProductId(UUID lastProductId) {
+		this.lastProductId = lastProductId;
+	}
+
+	public int getRecomputedCount() {
+		return recomputedCount;
+	}
+
+	public void setRecomputedCount(int recomputedCount) {
+		this.recomputedCount = recomputedCount;
+	}
+
+	public int getChangedCount() {
+		return changedCount;
+	}
+
+	public void setChangedCount(int changedCount) {
+		this.changedCount = changedCount;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Instant getCompletedAt() {
+		return completedAt;
+	}
+
+	public void setCompletedAt(Instant completedAt) {
+		this.completedAt = completedAt;
+	}
+}
@@ -3,7 +3,10 @@ package com.example.lcaliteservice.entity;
 import java.time.Instant;
 import java.util.UUID;
 
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.AttributeOverrides;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -33,6 +36,36 @@ public class LcaResult {
 	@Column(nullable = false)
 	private Instant calculatedAt;
 
+	private double transportKm;
+
+	@Column(nullable = false)
+	private String transportMode;
+
+	/** Empreinte des entrées du dernier calcul, voir {@code LcaCalculatorService.inputDigest}. */
+	@Column(length = 64)
+	private String inputDigest;
+
+	@Embedded
+	@AttributeOverrides({
+			@AttributeOverride(name = "p5", column = @Column(name = "co2_p5")),
+			@AttributeOverride(name = "p50", column = @Column(name = "co2_p50")),
+			@AttributeOverride(name = "p95", column = @Column(name = "co2_p95")) })
+	private ImpactPercentiles co2Percentiles;
+
+	@Embedded
+	@AttributeOverrides({
+			@AttributeOverride(name = "p5", column = @Column(name = "water_p5")),
+			@AttributeOverride(name = "p50", column = @Column(name = "water_p50")),
+			@AttributeOverride(name = "p95", column = @Column(name = "water_p95")) })
+	private ImpactPercentiles waterPercentiles;
+
+	@Embedded
+	@AttributeOverrides({
+			@AttributeOverride(name = "p5", column = @Column(name = "energy_p5")),
+			@AttributeOverride(name = "p50", column = @Column(name = "energy_p50")),
+			@AttributeOverride(name = "p95", column = @Column(name = "energy_p95")) })
+	private ImpactPercentiles energyPercentiles;
+
 	public UUID getId() {
 		return id;
 	}
@@ -80,5 +113,52 @@ public class LcaResult {
 	public void setCalculatedAt(Instant calculatedAt) {
 		this.calculatedAt = calculatedAt;
 	}
-}
 
+	public double getTransportKm() {
+		return transportKm;
+	}
+
+	public void setTransportKm(double transportKm) {
+		this.transportKm = transportKm;
+	}
+
+	public String getTransportMode() {
+		return transportMode;
+	}
+
+	public void setTransportMode(String transportMode) {
+		this.transportMode = transportMode;
+	}
+
+	public String getInputDigest() {
+		return inputDigest;
+	}
+
+	public void setInputDigest(String inputDigest) {
+		this.inputDigest = inputDigest;
+	}
+
+	public ImpactPercentiles getCo2Percentiles() {
+		return co2Percentiles;
+	}
+
+	public void setCo2Percentiles(ImpactPercentiles co2Percentiles) {
+		this.co2Percentiles = co2Percentiles;
+	}
+
+	public ImpactPercentiles getWaterPercentiles() {
+		return waterPercentiles;
+	}
+
+	public void setWaterPercentiles(ImpactPercentiles waterPercentiles) {
+		this.waterPercentiles = waterPercentiles;
+	}
+
+	public ImpactPercentiles getEnergyPercentiles() {
+		return energyPercentiles;
+	}
+
+	public void setEnergyPercentiles(ImpactPercentiles energyPercentiles) {
+		this.energyPercentiles = energyPercentiles;
+	}
+}
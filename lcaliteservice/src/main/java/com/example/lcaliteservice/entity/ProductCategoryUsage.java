@@ -0,0 +1,82 @@
+package com.example.lcaliteservice.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Usage d'une catégorie de facteur par un produit, avec la somme des {@code impactHint} de ses
+ * ingrédients de cette catégorie. Le total ACV étant linéaire par catégorie, ces lignes suffisent
+ * à recalculer le produit, et l'index par catégorie retrouve les produits touchés par un
+ * changement de facteur.
+ * <p>
+ * La catégorie est celle déclarée par l'ingrédient, avant repli sur {@code OTHER}.
+ */
+@Entity
+@Table(name = "lca_product_category",
+		indexes = @Index(name = "idx_lca_product_category_category", columnList = "category, productId"))
+@IdClass(ProductCategoryUsage.Key.class)
+public class ProductCategoryUsage {
+
+	@Id
+	private UUID productId;
+
+	@Id
+	private String category;
+
+	private double impactHint;
+
+	public UUID getProductId() {
+		return productId;
+	}
+
+	public void setProductId(UUID productId) {
+		this.productId = productId;
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	public void setCategory(String category) {
+		this.category = category;
+	}
+
+	public double getImpactHint() {
+		return impactHint;
+	}
+
+	public void setImpactHint(double impactHint) {
+		this.impactHint = impactHint;
+	}
+
+	public static class Key implements Serializable {
+		private UUID productId;
+		private String category;
+
+		public Key() {
+		}
+
+		public Key(UUID productId, String category) {
+			this.productId = productId;
+			this.category = category;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key key && Objects.equals(productId, key.productId)
+					&& Objects.equals(category, key.category);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(productId, category);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.lcaliteservice.messaging;
+
+import java.util.List;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import com.example.commons.dedup.EventDeduplicator;
+import com.example.lcaliteservice.dto.IngredientNormalizedEvent;
+import com.example.lcaliteservice.service.LcaCalculatorService;
+
+/**
+ * Consommation par lot de {@code ingredients.normalized} : tous les enregistrements d'un poll
+ * sont calculés ensemble par {@link LcaCalculatorService#calculateBatch}, soit un upsert
+ * multi-lignes dans {@code lca_result} et une insertion groupée dans l'outbox, dans une seule
+ * transaction. Les offsets du lot sont commités ensuite.
+ * <p>
+ * Si le lot échoue, ses enregistrements sont rejoués un par un pour isoler celui qui est en
+ * cause : ceux qui le précèdent sont commités, le lot reprend à partir de lui.
+ */
+@Component
+@ConditionalOnProperty(name = "lca.consumer.batch.enabled", havingValue = "true")
+public class BatchIngredientEventListener {
+
+	private static final Logger log = LoggerFactory.getLogger(BatchIngredientEventListener.class);
+
+	private final LcaCalculatorService calculatorService;
+	private final EventDeduplicator deduplicator;
+
+	public BatchIngredientEventListener(LcaCalculatorService calculatorService, EventDeduplicator deduplicator) {
+		this.calculatorService = calculatorService;
+		this.deduplicator = deduplicator;
+	}
+
+	@KafkaListener(topics = "ingredients.normalized", groupId = IngredientEventListener.CONSUMER,
+			containerFactory = "ingredientBatchFactory",
+			properties = "max.poll.records=${lca.consumer.batch.max-poll-records:500}")
+	public void handleIngredients(List<ConsumerRecord<String, IngredientNormalizedEvent>> records) {
+		List<IngredientNormalizedEvent> events = records.stream().map(ConsumerRecord::value).toList();
+		try {
+			int skipped = deduplicator.processBatchOnce(IngredientEventListener.CONSUMER, events,
+					IngredientNormalizedEvent::getEventId,
+					fresh -> calculatorService.calculateBatch(fresh.stream()
+							.map(event -> LcaCalculatorService.ingredientRequest(event.getProductId(),
+									IngredientEventListener.toImpacts(event)))
+							.toList()));
+			log.info("Computed LCA for {} normalized products ({} already processed)", events.size() - skipped,
+					skipped);
+		} catch (RuntimeException e) {
+			log.warn("LCA batch of {} records failed, retrying record by record", records.size(), e);
+			processOneByOne(records);
+		}
+	}
+
+	private void processOneByOne(List<ConsumerRecord<String, IngredientNormalizedEvent>> records) {
+		for (int i = 0; i < records.size(); i++) {
+			IngredientNormalizedEvent event = records.get(i).value();
+			try {
+				deduplicator.processOnce(IngredientEventListener.CONSUMER, event.getEventId(),
+						() -> calculatorService.processIngredientEvent(event.getProductId(),
+								IngredientEventListener.toImpacts(event)));
+			} catch (RuntimeException e) {
+				throw new BatchListenerFailedException("LCA calculation failed for product " + records.get(i).key(),
+						e, i);
+			}
+		}
+	}
+}
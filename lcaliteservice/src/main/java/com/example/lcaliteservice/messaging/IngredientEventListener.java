@@ -4,29 +4,42 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import com.example.commons.dedup.EventDeduplicator;
 import com.example.lcaliteservice.dto.IngredientNormalizedEvent;
 import com.example.lcaliteservice.dto.LcaCalculationRequest;
 import com.example.lcaliteservice.service.LcaCalculatorService;
 
 @Component
+@ConditionalOnProperty(name = "lca.consumer.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class IngredientEventListener {
 
+	static final String CONSUMER = "lca-lite-service";
+
 	private static final Logger log = LoggerFactory.getLogger(IngredientEventListener.class);
 
 	private final LcaCalculatorService calculatorService;
+	private final EventDeduplicator deduplicator;
 
-	public IngredientEventListener(LcaCalculatorService calculatorService) {
+	public IngredientEventListener(LcaCalculatorService calculatorService, EventDeduplicator deduplicator) {
 		this.calculatorService = calculatorService;
+		this.deduplicator = deduplicator;
 	}
 
-	@KafkaListener(topics = "ingredients.normalized", groupId = "lca-lite-service")
+	@KafkaListener(topics = "ingredients.normalized", groupId = CONSUMER)
 	public void handleIngredients(IngredientNormalizedEvent event) {
 		log.info("Received {} normalized ingredients for product {}", event.getIngredients().size(),
 				event.getProductId());
-		List<LcaCalculationRequest.IngredientImpact> ingredients = event.getIngredients()
+		List<LcaCalculationRequest.IngredientImpact> ingredients = toImpacts(event);
+		deduplicator.processOnce(CONSUMER, event.getEventId(),
+				() -> calculatorService.processIngredientEvent(event.getProductId(), ingredients));
+	}
+
+	static List<LcaCalculationRequest.IngredientImpact> toImpacts(IngredientNormalizedEvent event) {
+		return event.getIngredients()
 				.stream()
 				.map(item -> {
 					LcaCalculationRequest.IngredientImpact impact = new LcaCalculationRequest.IngredientImpact();
@@ -35,7 +48,6 @@ public class IngredientEventListener {
 					impact.setImpactHint(item.getImpactHint());
 					return impact;
 				}).toList();
-		calculatorService.processIngredientEvent(event.getProductId(), ingredients);
 	}
 }
 
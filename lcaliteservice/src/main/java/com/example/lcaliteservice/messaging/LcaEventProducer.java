@@ -1,10 +1,13 @@
 package com.example.lcaliteservice.messaging;
 
+import java.util.List;
+import java.util.UUID;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import com.example.commons.outbox.EventOutbox;
 import com.example.lcaliteservice.dto.LcaComputedEvent;
 
 @Component
@@ -14,15 +17,28 @@ public class LcaEventProducer {
 
 	private static final Logger log = LoggerFactory.getLogger(LcaEventProducer.class);
 
-	private final KafkaTemplate<String, LcaComputedEvent> kafkaTemplate;
+	private final EventOutbox outbox;
 
-	public LcaEventProducer(KafkaTemplate<String, LcaComputedEvent> kafkaTemplate) {
-		this.kafkaTemplate = kafkaTemplate;
+	public LcaEventProducer(EventOutbox outbox) {
+		this.outbox = outbox;
 	}
 
 	public void publish(LcaComputedEvent event) {
 		log.info("Publishing LCA result {} for product {}", event.getResultId(), event.getProductId());
-		kafkaTemplate.send(LCA_COMPLETED_TOPIC, event.getProductId().toString(), event);
+		event.setEventId(UUID.randomUUID());
+		outbox.enqueue(event.getEventId(), LCA_COMPLETED_TOPIC, event.getProductId().toString(), event);
 	}
-}
 
+	public void publishAll(List<LcaComputedEvent> events) {
+		log.info("Publishing {} LCA results to topic {}", events.size(), LCA_COMPLETED_TOPIC);
+		UUID[] eventIds = new UUID[events.size()];
+		String[] keys = new String[events.size()];
+		for (int i = 0; i < eventIds.length; i++) {
+			LcaComputedEvent event = events.get(i);
+			event.setEventId(UUID.randomUUID());
+			eventIds[i] = event.getEventId();
+			keys[i] = event.getProductId().toString();
+		}
+		outbox.enqueueAll(LCA_COMPLETED_TOPIC, eventIds, keys, events);
+	}
+}
@@ -0,0 +1,21 @@
+package com.example.lcaliteservice.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.lcaliteservice.entity.LcaRecomputeJob;
+
+public interface LcaRecomputeJobRepository extends JpaRepository<LcaRecomputeJob, Long> {
+
+	/**
+	 * Plus ancien job en cours, verrouillé jusqu'à la fin de la transaction. Un job déjà pris par
+	 * une autre instance est sauté : deux instances ne recalculent jamais le même lot.
+	 */
+	@Query(value = "SELECT * FROM lca_recompute_job WHERE completed_at IS NULL ORDER BY id LIMIT 1 "
+			+ "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	Optional<LcaRecomputeJob> lockNextPending();
+
+	boolean existsByFactorVersion(String factorVersion);
+}
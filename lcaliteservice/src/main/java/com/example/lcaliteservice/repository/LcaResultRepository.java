@@ -1,14 +1,56 @@
 package com.example.lcaliteservice.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.lcaliteservice.entity.LcaResult;
 
 public interface LcaResultRepository extends JpaRepository<LcaResult, UUID> {
 
 	Optional<LcaResult> findByProductId(UUID productId);
-}
 
+	/**
+	 * Upsert multi-lignes d'un lot de résultats : une seule requête, les colonnes étant passées en
+	 * tableaux. Les {@code productIds} doivent être distincts dans le lot.
+	 *
+	 * @return une ligne {@code [id, productId]} par résultat, l'id existant étant conservé
+	 */
+	@Query(value = "INSERT INTO lca_result (id, product_id, total_co2kg, total_water_liters, total_energy_mj, "
+			+ "calculated_at, transport_km, transport_mode, input_digest, co2_p5, co2_p50, co2_p95, water_p5, "
+			+ "water_p50, water_p95, energy_p5, energy_p50, energy_p95) "
+			+ "SELECT r.id, r.product_id, r.co2, r.water, r.energy, :calculatedAt, r.transport_km, r.transport_mode, "
+			+ "r.input_digest, r.co2_p5, r.co2_p50, r.co2_p95, r.water_p5, r.water_p50, r.water_p95, r.energy_p5, "
+			+ "r.energy_p50, r.energy_p95 FROM unnest(CAST(:ids AS uuid[]), CAST(:productIds AS uuid[]), "
+			+ "CAST(:co2 AS float8[]), CAST(:water AS float8[]), CAST(:energy AS float8[]), "
+			+ "CAST(:transportKm AS float8[]), CAST(:transportModes AS varchar[]), CAST(:inputDigests AS varchar[]), "
+			+ "CAST(:co2P5 AS float8[]), CAST(:co2P50 AS float8[]), CAST(:co2P95 AS float8[]), "
+			+ "CAST(:waterP5 AS float8[]), CAST(:waterP50 AS float8[]), CAST(:waterP95 AS float8[]), "
+			+ "CAST(:energyP5 AS float8[]), CAST(:energyP50 AS float8[]), CAST(:energyP95 AS float8[])) "
+			+ "AS r(id, product_id, co2, water, energy, transport_km, transport_mode, input_digest, co2_p5, co2_p50, "
+			+ "co2_p95, water_p5, water_p50, water_p95, energy_p5, energy_p50, energy_p95) "
+			+ "ON CONFLICT (product_id) DO UPDATE SET total_co2kg = EXCLUDED.total_co2kg, "
+			+ "total_water_liters = EXCLUDED.total_water_liters, total_energy_mj = EXCLUDED.total_energy_mj, "
+			+ "calculated_at = EXCLUDED.calculated_at, transport_km = EXCLUDED.transport_km, "
+			+ "transport_mode = EXCLUDED.transport_mode, input_digest = EXCLUDED.input_digest, "
+			+ "co2_p5 = EXCLUDED.co2_p5, co2_p50 = EXCLUDED.co2_p50, co2_p95 = EXCLUDED.co2_p95, "
+			+ "water_p5 = EXCLUDED.water_p5, water_p50 = EXCLUDED.water_p50, water_p95 = EXCLUDED.water_p95, "
+			+ "energy_p5 = EXCLUDED.energy_p5, energy_p50 = EXCLUDED.energy_p50, energy_p95 = EXCLUDED.energy_p95 "
+			+ "RETURNING id, product_id", nativeQuery = true)
+	List<Object[]> upsertAll(@Param("ids") UUID[] ids, @Param("productIds") UUID[] productIds,
+			@Param("co2") double[] co2, @Param("water") double[] water, @Param("energy") double[] energy,
+			@Param("calculatedAt") Instant calculatedAt, @Param("transportKm") double[] transportKm,
+			@Param("transportModes") String[] transportModes, @Param("inputDigests") String[] inputDigests,
+			@Param("co2P5") double[] co2P5, @Param("co2P50") double[] co2P50, @Param("co2P95") double[] co2P95,
+			@Param("waterP5") double[] waterP5, @Param("waterP50") double[] waterP50,
+			@Param("waterP95") double[] waterP95, @Param("energyP5") double[] energyP5,
+			@Param("energyP50") double[] energyP50, @Param("energyP95") double[] energyP95);
+
+	List<LcaResult> findByProductIdIn(Collection<UUID> productIds);
+}
@@ -0,0 +1,41 @@
+package com.example.lcaliteservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.lcaliteservice.entity.ProductCategoryUsage;
+
+public interface ProductCategoryUsageRepository
+		extends JpaRepository<ProductCategoryUsage, ProductCategoryUsage.Key> {
+
+	List<ProductCategoryUsage> findByProductIdIn(Collection<UUID> productIds);
+
+	@Modifying
+	@Query(value = "DELETE FROM lca_product_category WHERE product_id = ANY(CAST(:productIds AS uuid[]))",
+			nativeQuery = true)
+	int deleteByProductIds(@Param("productIds") UUID[] productIds);
+
+	@Modifying
+	@Query(value = "INSERT INTO lca_product_category (product_id, category, impact_hint) "
+			+ "SELECT * FROM unnest(CAST(:productIds AS uuid[]), CAST(:categories AS varchar[]), "
+			+ "CAST(:impactHints AS float8[]))", nativeQuery = true)
+	int insertAll(@Param("productIds") UUID[] productIds, @Param("categories") String[] categories,
+			@Param("impactHints") double[] impactHints);
+
+	/**
+	 * Page suivante des produits qui utilisent une des {@code categories}, ou, si
+	 * {@code includeUnmapped}, une catégorie hors de {@code mapped} (résolue vers {@code OTHER}).
+	 */
+	@Query(value = "SELECT DISTINCT u.product_id FROM lca_product_category u WHERE u.product_id > :after "
+			+ "AND (u.category IN (:categories) OR (:includeUnmapped AND u.category NOT IN (:mapped))) "
+			+ "ORDER BY u.product_id LIMIT :limit", nativeQuery = true)
+	List<UUID> findProductIdsUsing(@Param("categories") Collection<String> categories,
+			@Param("includeUnmapped") boolean includeUnmapped, @Param("mapped") Collection<String> mapped,
+			@Param("after") UUID after, @Param("limit") int limit);
+}
@@ -0,0 +1,328 @@
+package com.example.lcaliteservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.lcaliteservice.dto.ImpactFactorUpdateRequest;
+import com.example.lcaliteservice.entity.ImpactFactor;
+import com.example.lcaliteservice.repository.ImpactFactorRepository;
+
+/**
+ * Facteurs d'impact gardés en mémoire : le calcul ACV ne lit plus la table {@code impact_factor}
+ * pour chaque ingrédient. Le snapshot est immuable et remplacé d'un bloc, si bien qu'un calcul
+ * en cours voit toujours un jeu de facteurs cohérent.
+ * <p>
+ * Il est chargé au démarrage après l'initialisation des facteurs ({@code DataInitializer}), puis
+ * rechargé après chaque modification par {@link #update} ou sur demande ({@link #refresh}). Les
+ * modifications faites par une autre instance ou directement en base sont reprises par
+ * {@link #reloadIfChanged}, que {@link LcaRecomputeService} appelle toutes les
+ * {@code lca.factors.poll-interval-ms}.
+ */
+@Service
+public class ImpactFactorCatalog {
+
+	private static final Logger log = LoggerFactory.getLogger(ImpactFactorCatalog.class);
+
+	private final ImpactFactorRepository repository;
+	private final ApplicationEventPublisher eventPublisher;
+	private volatile Snapshot snapshot;
+
+	public ImpactFactorCatalog(ImpactFactorRepository repository, ApplicationEventPublisher eventPublisher) {
+		this.repository = repository;
+		this.eventPublisher = eventPublisher;
+	}
+
+	/**
+	 * Snapshot courant, chargé au premier appel si un événement Kafka arrive avant la fin du
+	 * démarrage.
+	 */
+	public Snapshot snapshot() {
+		Snapshot current = snapshot;
+		return current != null ? current : refresh();
+	}
+
+	public synchronized Snapshot refresh() {
+		Snapshot loaded = load();
+		snapshot = loaded;
+		log.info("Loaded {} impact factors", loaded.getFactors().size());
+		return loaded;
+	}
+
+	/**
+	 * Relit les facteurs et ne remplace le snapshot que si leur version a changé, par
+	 * {@link #update} sur une autre instance ou directement en base. Le recalcul des produits
+	 * concernés n'est pas programmé ici.
+	 *
+	 * @return le snapshot en vigueur, le même qu'avant si rien n'a changé
+	 */
+	public synchronized Snapshot reloadIfChanged() {
+		Snapshot current = snapshot;
+		Snapshot loaded = load();
+		if (current != null && current.getVersion().equals(loaded.getVersion())) {
+			return current;
+		}
+		snapshot = loaded;
+		if (current != null) {
+			log.info("Impact factors {} changed, catalog reloaded at version {}", loaded.changedSince(current),
+					loaded.getVersion());
+		}
+		return loaded;
+	}
+
+	/**
+	 * Lit les facteurs sans remplacer le snapshot ; dans une transaction, ses propres modifications
+	 * sont comprises.
+	 */
+	Snapshot load() {
+		return new Snapshot(repository.findAll(), Instant.now());
+	}
+
+	/**
+	 * Crée ou modifie le facteur d'une catégorie. Le snapshot n'est rechargé qu'après le commit,
+	 * pour ne jamais exposer une valeur annulée.
+	 */
+	@Transactional
+	public ImpactFactor update(String category, ImpactFactorUpdateRequest request) {
+		ImpactFactor factor = repository.findByCategory(category).orElseGet(() -> {
+			ImpactFactor created = new ImpactFactor();
+			created.setCategory(category);
+			created.setReference("FACTOR_" + category);
+			return created;
+		});
+		factor.setCo2PerKg(request.getCo2PerKg());
+		factor.setWaterPerKg(request.getWaterPerKg());
+		factor.setEnergyPerKg(request.getEnergyPerKg());
+		// Incertitude non précisée : celle du facteur existant est conservée
+		if (request.getCo2StdDev() != null) {
+			factor.setCo2StdDev(request.getCo2StdDev());
+		}
+		if (request.getWaterStdDev() != null) {
+			factor.setWaterStdDev(request.getWaterStdDev());
+		}
+		if (request.getEnergyStdDev() != null) {
+			factor.setEnergyStdDev(request.getEnergyStdDev());
+		}
+		ImpactFactor saved = repository.save(factor);
+		eventPublisher.publishEvent(new ImpactFactorsChangedEvent(category));
+		return saved;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onFactorsChanged(ImpactFactorsChangedEvent event) {
+		log.info("Impact factor {} changed, reloading catalog", event.getCategory());
+		refresh();
+	}
+
+	/**
+	 * Modification d'un facteur d'impact, publiée dans le contexte Spring.
+	 */
+	public static class ImpactFactorsChangedEvent {
+		private final String category;
+
+		public ImpactFactorsChangedEvent(String category) {
+			this.category = category;
+		}
+
+		public String getCategory() {
+			return category;
+		}
+	}
+
+	/**
+	 * Copie détachée des facteurs, indexée par catégorie. Les valeurs et leurs écarts-types sont
+	 * aussi rangés en colonnes {@code double[]} pour le calcul : une catégorie se résout en un
+	 * indice, avec repli sur {@code OTHER}.
+	 */
+	public static class Snapshot {
+		private final Map<String, ImpactFactor> byCategory;
+		private final Map<String, Integer> indexByCategory;
+		private final List<ImpactFactor> factors;
+		private final double[] co2PerKg;
+		private final double[] waterPerKg;
+		private final double[] energyPerKg;
+		private final double[] co2StdDev;
+		private final double[] waterStdDev;
+		private final double[] energyStdDev;
+		private final int otherIndex;
+		private final String version;
+		private final Instant loadedAt;
+
+		Snapshot(List<ImpactFactor> factors, Instant loadedAt) {
+			Map<String, ImpactFactor> byCategory = new HashMap<>();
+			for (ImpactFactor factor : factors) {
+				byCategory.put(factor.getCategory(), copy(factor));
+			}
+			this.byCategory = Map.copyOf(byCategory);
+			this.factors = byCategory.values().stream()
+					.sorted(Comparator.comparing(ImpactFactor::getCategory))
+					.toList();
+
+			int size = this.factors.size();
+			Map<String, Integer> indexByCategory = new HashMap<>();
+			this.co2PerKg = new double[size];
+			this.waterPerKg = new double[size];
+			this.energyPerKg = new double[size];
+			this.co2StdDev = new double[size];
+			this.waterStdDev = new double[size];
+			this.energyStdDev = new double[size];
+			for (int i = 0; i < size; i++) {
+				ImpactFactor factor = this.factors.get(i);
+				indexByCategory.put(factor.getCategory(), i);
+				co2PerKg[i] = factor.getCo2PerKg();
+				waterPerKg[i] = factor.getWaterPerKg();
+				energyPerKg[i] = factor.getEnergyPerKg();
+				co2StdDev[i] = factor.getCo2StdDev();
+				waterStdDev[i] = factor.getWaterStdDev();
+				energyStdDev[i] = factor.getEnergyStdDev();
+			}
+			this.indexByCategory = Map.copyOf(indexByCategory);
+			this.otherIndex = indexByCategory.getOrDefault("OTHER", -1);
+			this.version = version(this.factors);
+			this.loadedAt = loadedAt;
+		}
+
+		public Optional<ImpactFactor> find(String category) {
+			return category == null ? Optional.empty() : Optional.ofNullable(byCategory.get(category));
+		}
+
+		/**
+		 * @return l'indice de la catégorie dans les colonnes, ou celui de {@code OTHER}
+		 * @throws NoSuchElementException si ni la catégorie ni {@code OTHER} ne sont connues
+		 */
+		int indexOf(String category) {
+			Integer index = category == null ? null : indexByCategory.get(category);
+			if (index != null) {
+				return index;
+			}
+			if (otherIndex < 0) {
+				throw new NoSuchElementException("No impact factor for " + category + " nor OTHER");
+			}
+			return otherIndex;
+		}
+
+		double co2PerKg(int index) {
+			return co2PerKg[index];
+		}
+
+		double waterPerKg(int index) {
+			return waterPerKg[index];
+		}
+
+		double energyPerKg(int index) {
+			return energyPerKg[index];
+		}
+
+		double co2StdDev(int index) {
+			return co2StdDev[index];
+		}
+
+		double waterStdDev(int index) {
+			return waterStdDev[index];
+		}
+
+		double energyStdDev(int index) {
+			return energyStdDev[index];
+		}
+
+		int size() {
+			return factors.size();
+		}
+
+		public List<ImpactFactor> getFactors() {
+			return factors;
+		}
+
+		public Set<String> getCategories() {
+			return byCategory.keySet();
+		}
+
+		/**
+		 * @return les catégories dont le facteur a été créé, modifié ou supprimé depuis
+		 *         {@code previous}
+		 */
+		public Set<String> changedSince(Snapshot previous) {
+			Set<String> changed = new TreeSet<>();
+			for (ImpactFactor factor : factors) {
+				ImpactFactor before = previous.byCategory.get(factor.getCategory());
+				if (before == null || before.getCo2PerKg() != factor.getCo2PerKg()
+						|| before.getWaterPerKg() != factor.getWaterPerKg()
+						|| before.getEnergyPerKg() != factor.getEnergyPerKg()
+						|| before.getCo2StdDev() != factor.getCo2StdDev()
+						|| before.getWaterStdDev() != factor.getWaterStdDev()
+						|| before.getEnergyStdDev() != factor.getEnergyStdDev()) {
+					changed.add(factor.getCategory());
+				}
+			}
+			for (String category : previous.byCategory.keySet()) {
+				if (!byCategory.containsKey(category)) {
+					changed.add(category);
+				}
+			}
+			return changed;
+		}
+
+		/**
+		 * Version du jeu de facteurs, dérivée de son contenu : elle est stable d'un redémarrage à
+		 * l'autre et ne change que si une valeur change.
+		 */
+		public String getVersion() {
+			return version;
+		}
+
+		public Instant getLoadedAt() {
+			return loadedAt;
+		}
+
+		private static String version(List<ImpactFactor> factors) {
+			MessageDigest digest;
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException("SHA-256 not available", e);
+			}
+			StringBuilder content = new StringBuilder(64 * factors.size());
+			for (ImpactFactor factor : factors) {
+				content.append(factor.getCategory()).append('\0')
+						.append(factor.getCo2PerKg()).append('\0')
+						.append(factor.getWaterPerKg()).append('\0')
+						.append(factor.getEnergyPerKg()).append('\0')
+						.append(factor.getCo2StdDev()).append('\0')
+						.append(factor.getWaterStdDev()).append('\0')
+						.append(factor.getEnergyStdDev()).append('\0');
+			}
+			return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)), 0, 8);
+		}
+
+		private static ImpactFactor copy(ImpactFactor factor) {
+			ImpactFactor copy = new ImpactFactor();
+			copy.setId(factor.getId());
+			copy.setReference(factor.getReference());
+			copy.setCategory(factor.getCategory());
+			copy.setCo2PerKg(factor.getCo2PerKg());
+			copy.setWaterPerKg(factor.getWaterPerKg());
+			copy.setEnergyPerKg(factor.getEnergyPerKg());
+			copy.setCo2StdDev(factor.getCo2StdDev());
+			copy.setWaterStdDev(factor.getWaterStdDev());
+			copy.setEnergyStdDev(factor.getEnergyStdDev());
+			return copy;
+		}
+	}
+}
@@ -1,81 +1,390 @@
 package com.example.lcaliteservice.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.lcaliteservice.dto.LcaCalculationRequest;
 import com.example.lcaliteservice.dto.LcaComputedEvent;
 import com.example.lcaliteservice.dto.LcaResultDto;
-import com.example.lcaliteservice.entity.ImpactFactor;
+import com.example.lcaliteservice.entity.ImpactPercentiles;
 import com.example.lcaliteservice.entity.LcaResult;
 import com.example.lcaliteservice.messaging.LcaEventProducer;
-import com.example.lcaliteservice.repository.ImpactFactorRepository;
 import com.example.lcaliteservice.repository.LcaResultRepository;
+import com.example.lcaliteservice.repository.ProductCategoryUsageRepository;
 
 @Service
 public class LcaCalculatorService {
 
-	private final ImpactFactorRepository factorRepository;
+	private final ImpactFactorCatalog factorCatalog;
 	private final LcaResultRepository resultRepository;
+	private final ProductCategoryUsageRepository usageRepository;
 	private final LcaEventProducer eventProducer;
+	private final LcaUncertaintyEngine uncertaintyEngine;
+	private final int parallelThreshold;
 
-	public LcaCalculatorService(ImpactFactorRepository factorRepository,
+	public LcaCalculatorService(ImpactFactorCatalog factorCatalog,
 			LcaResultRepository resultRepository,
-			LcaEventProducer eventProducer) {
-		this.factorRepository = factorRepository;
+			ProductCategoryUsageRepository usageRepository,
+			LcaEventProducer eventProducer,
+			LcaUncertaintyEngine uncertaintyEngine,
+			@Value("${lca.batch.parallel-threshold:1000}") int parallelThreshold) {
+		this.factorCatalog = factorCatalog;
 		this.resultRepository = resultRepository;
+		this.usageRepository = usageRepository;
 		this.eventProducer = eventProducer;
+		this.uncertaintyEngine = uncertaintyEngine;
+		this.parallelThreshold = parallelThreshold;
 	}
 
+	/**
+	 * Si les entrées du calcul (ingrédients, transport, facteurs) sont celles du dernier résultat,
+	 * rien n'est écrit ni publié : le scoring, la provenance et le widget ne sont pas relancés
+	 * pour un rejeu ou une sortie NLP identique.
+	 *
+	 * @throws IllegalArgumentException si le mode de transport est absent
+	 */
 	@Transactional
 	public LcaResultDto calculate(LcaCalculationRequest request) {
-		double totalCo2 = 0;
-		double totalWater = 0;
-		double totalEnergy = 0;
-
-		for (LcaCalculationRequest.IngredientImpact ingredient : request.getIngredients()) {
-			ImpactFactor factor = factorRepository.findByCategory(ingredient.getCategory())
-					.orElseGet(() -> factorRepository.findByCategory("OTHER").orElseThrow());
-			totalCo2 += factor.getCo2PerKg() * ingredient.getImpactHint();
-			totalWater += factor.getWaterPerKg() * ingredient.getImpactHint();
-			totalEnergy += factor.getEnergyPerKg() * ingredient.getImpactHint();
+		requireTransportMode(request.getTransportMode());
+		ImpactFactorCatalog.Snapshot factors = factorCatalog.snapshot();
+		String inputDigest = inputDigest(request, factors);
+		LcaResult result = resultRepository.findByProductId(request.getProductId()).orElseGet(LcaResult::new);
+		if (inputDigest.equals(result.getInputDigest())) {
+			return toDto(result);
 		}
 
-		double transportMultiplier = transportMultiplier(request.getTransportMode());
-		totalCo2 += request.getTransportKm() * 0.1 * transportMultiplier;
-		totalWater += request.getTransportKm() * 0.02 * transportMultiplier;
-		totalEnergy += request.getTransportKm() * 0.05 * transportMultiplier;
-
-		LcaResult result = resultRepository.findByProductId(request.getProductId()).orElseGet(LcaResult::new);
+		ImpactTotals totals = computeTotals(request, factors);
+		LcaUncertaintyEngine.Uncertainty uncertainty = uncertaintyEngine.estimate(request, factors);
 		result.setProductId(request.getProductId());
-		result.setTotalCo2Kg(round(totalCo2));
-		result.setTotalWaterLiters(round(totalWater));
-		result.setTotalEnergyMj(round(totalEnergy));
+		result.setTotalCo2Kg(round(totals.getCo2Kg()));
+		result.setTotalWaterLiters(round(totals.getWaterLiters()));
+		result.setTotalEnergyMj(round(totals.getEnergyMj()));
 		result.setCalculatedAt(Instant.now());
+		result.setTransportKm(request.getTransportKm());
+		result.setTransportMode(request.getTransportMode());
+		result.setInputDigest(inputDigest);
+		result.setCo2Percentiles(uncertainty.getCo2Kg());
+		result.setWaterPercentiles(uncertainty.getWaterLiters());
+		result.setEnergyPercentiles(uncertainty.getEnergyMj());
 		LcaResult saved = resultRepository.save(result);
+		replaceUsage(List.of(request));
 
 		eventProducer.publish(new LcaComputedEvent(saved.getProductId(), saved.getId(), saved.getTotalCo2Kg(),
-				saved.getTotalWaterLiters(), saved.getTotalEnergyMj(), saved.getCalculatedAt()));
+				saved.getTotalWaterLiters(), saved.getTotalEnergyMj(), saved.getCalculatedAt(),
+				saved.getCo2Percentiles(), saved.getWaterPercentiles(), saved.getEnergyPercentiles()));
+
+		return toDto(saved);
+	}
+
+	/**
+	 * Calcul d'un lot de produits pour les reprises et simulations : les totaux sont calculés en
+	 * mémoire (en parallèle au-delà de {@code lca.batch.parallel-threshold} produits), les
+	 * résultats écrits par un seul upsert multi-lignes et les événements {@code lca.completed}
+	 * ajoutés à l'outbox en une requête. Un produit présent plusieurs fois dans le lot : la
+	 * dernière occurrence l'emporte. Comme pour {@link #calculate}, un produit dont les entrées
+	 * n'ont pas changé n'est ni recalculé ni republié.
+	 *
+	 * @throws IllegalArgumentException si le mode de transport d'un produit est absent, avant
+	 *         toute écriture
+	 */
+	@Transactional
+	public List<LcaResultDto> calculateBatch(List<LcaCalculationRequest> requests) {
+		Map<UUID, LcaCalculationRequest> byProduct = new LinkedHashMap<>();
+		for (LcaCalculationRequest request : requests) {
+			requireTransportMode(request.getTransportMode());
+			byProduct.put(request.getProductId(), request);
+		}
+		if (byProduct.isEmpty()) {
+			return List.of();
+		}
+
+		ImpactFactorCatalog.Snapshot factors = factorCatalog.snapshot();
+		Map<UUID, LcaResult> existing = new HashMap<>(byProduct.size() * 2);
+		for (LcaResult result : resultRepository.findByProductIdIn(byProduct.keySet())) {
+			existing.put(result.getProductId(), result);
+		}
+		Map<UUID, LcaResultDto> resultsByProduct = new HashMap<>(byProduct.size() * 2);
+		List<LcaCalculationRequest> unique = new ArrayList<>(byProduct.size());
+		List<String> digests = new ArrayList<>(byProduct.size());
+		for (LcaCalculationRequest request : byProduct.values()) {
+			String inputDigest = inputDigest(request, factors);
+			LcaResult current = existing.get(request.getProductId());
+			if (current != null && inputDigest.equals(current.getInputDigest())) {
+				resultsByProduct.put(request.getProductId(), toDto(current));
+			} else {
+				unique.add(request);
+				digests.add(inputDigest);
+			}
+		}
+		int count = unique.size();
+		if (count > 0) {
+			writeBatch(unique, digests.toArray(String[]::new), factors, resultsByProduct);
+		}
+		return byProduct.keySet().stream().map(resultsByProduct::get).toList();
+	}
+
+	private void writeBatch(List<LcaCalculationRequest> unique, String[] inputDigests,
+			ImpactFactorCatalog.Snapshot factors, Map<UUID, LcaResultDto> resultsByProduct) {
+		int count = unique.size();
+		double[] co2 = new double[count];
+		double[] water = new double[count];
+		double[] energy = new double[count];
+		boolean parallel = count >= parallelThreshold;
+		computeTotals(unique, factors, parallel, co2, water, energy);
+		LcaUncertaintyEngine.Uncertainty[] uncertainties = estimateUncertainties(unique, factors, parallel);
+
+		UUID[] ids = new UUID[count];
+		UUID[] productIds = new UUID[count];
+		double[] transportKm = new double[count];
+		String[] transportModes = new String[count];
+		for (int i = 0; i < count; i++) {
+			ids[i] = UUID.randomUUID();
+			productIds[i] = unique.get(i).getProductId();
+			transportKm[i] = unique.get(i).getTransportKm();
+			transportModes[i] = unique.get(i).getTransportMode();
+			co2[i] = round(co2[i]);
+			water[i] = round(water[i]);
+			energy[i] = round(energy[i]);
+		}
+		Instant calculatedAt = Instant.now();
+		double[][] percentiles = percentileColumns(uncertainties);
+
+		// Un produit déjà calculé garde l'id de son résultat
+		Map<UUID, UUID> resultIds = new HashMap<>(count * 2);
+		for (Object[] row : resultRepository.upsertAll(ids, productIds, co2, water, energy, calculatedAt,
+				transportKm, transportModes, inputDigests, percentiles[0], percentiles[1], percentiles[2],
+				percentiles[3], percentiles[4], percentiles[5], percentiles[6], percentiles[7], percentiles[8])) {
+			resultIds.put((UUID) row[1], (UUID) row[0]);
+		}
+		replaceUsage(unique);
+
+		List<LcaComputedEvent> events = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			UUID resultId = resultIds.get(productIds[i]);
+			LcaUncertaintyEngine.Uncertainty uncertainty = uncertainties[i];
+			events.add(new LcaComputedEvent(productIds[i], resultId, co2[i], water[i], energy[i], calculatedAt,
+					uncertainty.getCo2Kg(), uncertainty.getWaterLiters(), uncertainty.getEnergyMj()));
+			resultsByProduct.put(productIds[i], new LcaResultDto(resultId, productIds[i], co2[i], water[i], energy[i],
+					calculatedAt, uncertainty.getCo2Kg(), uncertainty.getWaterLiters(), uncertainty.getEnergyMj()));
+		}
+		eventProducer.publishAll(events);
+	}
+
+	/**
+	 * Un lot réparti sur les cœurs tire les échantillons de chaque produit sur son thread ; sinon
+	 * ce sont les tirages de chaque produit qui sont parallélisés.
+	 */
+	private LcaUncertaintyEngine.Uncertainty[] estimateUncertainties(List<LcaCalculationRequest> requests,
+			ImpactFactorCatalog.Snapshot factors, boolean parallel) {
+		LcaUncertaintyEngine.Uncertainty[] uncertainties = new LcaUncertaintyEngine.Uncertainty[requests.size()];
+		if (parallel) {
+			IntStream.range(0, requests.size()).parallel().forEach(i -> uncertainties[i] =
+					uncertaintyEngine.estimateSequential(requests.get(i), factors));
+		} else {
+			for (int i = 0; i < requests.size(); i++) {
+				uncertainties[i] = uncertaintyEngine.estimate(requests.get(i), factors);
+			}
+		}
+		return uncertainties;
+	}
+
+	/**
+	 * Percentiles du lot en colonnes, dans l'ordre des paramètres de
+	 * {@link LcaResultRepository#upsertAll} : p5, p50 et p95 du CO2, puis de l'eau et de l'énergie.
+	 */
+	private static double[][] percentileColumns(LcaUncertaintyEngine.Uncertainty[] uncertainties) {
+		double[][] columns = new double[9][uncertainties.length];
+		for (int i = 0; i < uncertainties.length; i++) {
+			ImpactPercentiles[] impacts = { uncertainties[i].getCo2Kg(), uncertainties[i].getWaterLiters(),
+					uncertainties[i].getEnergyMj() };
+			for (int impact = 0; impact < 3; impact++) {
+				columns[impact * 3][i] = impacts[impact].getP5();
+				columns[impact * 3 + 1][i] = impacts[impact].getP50();
+				columns[impact * 3 + 2][i] = impacts[impact].getP95();
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * Réécrit l'index produit → catégorie des produits calculés, utilisé par
+	 * {@link LcaRecomputeService} quand un facteur change. Un ingrédient sans catégorie est
+	 * rangé sous {@code OTHER}, vers laquelle il est toujours résolu.
+	 */
+	private void replaceUsage(List<LcaCalculationRequest> requests) {
+		List<UUID> productIds = new ArrayList<>();
+		List<String> categories = new ArrayList<>();
+		List<Double> impactHints = new ArrayList<>();
+		for (LcaCalculationRequest request : requests) {
+			impactByCategory(request).forEach((category, impactHint) -> {
+				productIds.add(request.getProductId());
+				categories.add(category);
+				impactHints.add(impactHint);
+			});
+		}
+
+		usageRepository.deleteByProductIds(requests.stream().map(LcaCalculationRequest::getProductId)
+				.toArray(UUID[]::new));
+		if (!productIds.isEmpty()) {
+			usageRepository.insertAll(productIds.toArray(UUID[]::new), categories.toArray(String[]::new),
+					impactHints.stream().mapToDouble(Double::doubleValue).toArray());
+		}
+	}
+
+	/**
+	 * Somme des {@code impactHint} par catégorie déclarée, triée par catégorie : c'est tout ce dont
+	 * dépend la part ingrédients du calcul.
+	 */
+	static SortedMap<String, Double> impactByCategory(LcaCalculationRequest request) {
+		SortedMap<String, Double> byCategory = new TreeMap<>();
+		for (LcaCalculationRequest.IngredientImpact ingredient : request.getIngredients()) {
+			String category = ingredient.getCategory() != null ? ingredient.getCategory() : "OTHER";
+			byCategory.merge(category, ingredient.getImpactHint(), Double::sum);
+		}
+		return byCategory;
+	}
+
+	/**
+	 * Empreinte SHA-256 des entrées du calcul : impacts par catégorie, transport et version des
+	 * facteurs d'impact. Deux calculs de même empreinte donnent le même résultat.
+	 */
+	static String inputDigest(LcaCalculationRequest request, ImpactFactorCatalog.Snapshot factors) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+		StringBuilder inputs = new StringBuilder(128);
+		impactByCategory(request).forEach((category, impactHint) -> inputs.append(category).append('\0')
+				.append(impactHint).append('\0'));
+		inputs.append(request.getTransportKm()).append('\0')
+				.append(Objects.toString(request.getTransportMode(), "").toLowerCase(Locale.ROOT)).append('\0')
+				.append(factors.getVersion());
+		return HexFormat.of().formatHex(digest.digest(inputs.toString().getBytes(StandardCharsets.UTF_8)));
+	}
 
-		return new LcaResultDto(saved.getId(), saved.getProductId(), saved.getTotalCo2Kg(),
-				saved.getTotalWaterLiters(), saved.getTotalEnergyMj(), saved.getCalculatedAt());
+	public static LcaResultDto toDto(LcaResult result) {
+		return new LcaResultDto(result.getId(), result.getProductId(), result.getTotalCo2Kg(),
+				result.getTotalWaterLiters(), result.getTotalEnergyMj(), result.getCalculatedAt(),
+				result.getCo2Percentiles(), result.getWaterPercentiles(), result.getEnergyPercentiles());
 	}
 
 	@Transactional
 	public void processIngredientEvent(UUID productId, List<LcaCalculationRequest.IngredientImpact> ingredients) {
+		calculate(ingredientRequest(productId, ingredients));
+	}
+
+	/**
+	 * Requête de calcul d'un événement {@code ingredients.normalized}, qui ne porte pas de
+	 * transport : transport routier, distance nulle.
+	 */
+	public static LcaCalculationRequest ingredientRequest(UUID productId,
+			List<LcaCalculationRequest.IngredientImpact> ingredients) {
 		LcaCalculationRequest request = new LcaCalculationRequest();
 		request.setProductId(productId);
 		request.setIngredients(ingredients);
 		request.setTransportKm(0);
 		request.setTransportMode("road");
-		calculate(request);
+		return request;
+	}
+
+	/**
+	 * Calcul ACV proprement dit, sans accès base : les facteurs d'impact sont lus dans le
+	 * snapshot, avec repli sur la catégorie {@code OTHER}.
+	 */
+	static ImpactTotals computeTotals(LcaCalculationRequest request, ImpactFactorCatalog.Snapshot factors) {
+		double[] totals = new double[3];
+		accumulate(request, factors, totals);
+		return new ImpactTotals(totals[0], totals[1], totals[2]);
 	}
 
-	private double transportMultiplier(String mode) {
+	/**
+	 * Variante ensembliste de {@link #computeTotals(LcaCalculationRequest, ImpactFactorCatalog.Snapshot)} :
+	 * les totaux du produit {@code i} sont écrits à l'indice {@code i} des tableaux. Chaque
+	 * produit n'écrit que ses propres cases, le calcul peut donc être réparti sur les cœurs.
+	 */
+	static void computeTotals(List<LcaCalculationRequest> requests, ImpactFactorCatalog.Snapshot factors,
+			boolean parallel, double[] co2, double[] water, double[] energy) {
+		IntStream indexes = IntStream.range(0, requests.size());
+		if (parallel) {
+			indexes = indexes.parallel();
+		}
+		indexes.forEach(i -> {
+			double[] totals = new double[3];
+			accumulate(requests.get(i), factors, totals);
+			co2[i] = totals[0];
+			water[i] = totals[1];
+			energy[i] = totals[2];
+		});
+	}
+
+	private static void accumulate(LcaCalculationRequest request, ImpactFactorCatalog.Snapshot factors,
+			double[] totals) {
+		ingredientImpacts(request, factors, totals);
+		addTransport(request.getTransportKm(), request.getTransportMode(), totals);
+	}
+
+	/**
+	 * Part ingrédients du calcul (CO2, eau, énergie), écrite dans {@code impacts[0..2]}.
+	 */
+	static void ingredientImpacts(LcaCalculationRequest request, ImpactFactorCatalog.Snapshot factors,
+			double[] impacts) {
+		double totalCo2 = 0;
+		double totalWater = 0;
+		double totalEnergy = 0;
+
+		for (LcaCalculationRequest.IngredientImpact ingredient : request.getIngredients()) {
+			int factor = factors.indexOf(ingredient.getCategory());
+			totalCo2 += factors.co2PerKg(factor) * ingredient.getImpactHint();
+			totalWater += factors.waterPerKg(factor) * ingredient.getImpactHint();
+			totalEnergy += factors.energyPerKg(factor) * ingredient.getImpactHint();
+		}
+
+		impacts[0] = totalCo2;
+		impacts[1] = totalWater;
+		impacts[2] = totalEnergy;
+	}
+
+	/**
+	 * Ajoute les impacts du transport (CO2, eau, énergie) à {@code impacts[0..2]}.
+	 */
+	static void addTransport(double transportKm, String transportMode, double[] impacts) {
+		double transportMultiplier = transportMultiplier(transportMode);
+		impacts[0] += transportKm * 0.1 * transportMultiplier;
+		impacts[1] += transportKm * 0.02 * transportMultiplier;
+		impacts[2] += transportKm * 0.05 * transportMultiplier;
+	}
+
+	/**
+	 * @throws IllegalArgumentException si le mode est absent ; un mode inconnu compte comme la route
+	 */
+	static String requireTransportMode(String mode) {
+		if (mode == null || mode.isBlank()) {
+			throw new IllegalArgumentException("Invalid transport mode: " + mode);
+		}
+		return mode;
+	}
+
+	private static double transportMultiplier(String mode) {
 		return switch (mode.toLowerCase()) {
 			case "air" -> 5;
 			case "sea" -> 0.8;
@@ -83,8 +392,35 @@ public class LcaCalculatorService {
 		};
 	}
 
-	private double round(double value) {
+	static double round(double value) {
 		return Math.round(value * 100.0) / 100.0;
 	}
+
+	/**
+	 * Impacts cumulés d'un produit, avant arrondi.
+	 */
+	static class ImpactTotals {
+		private final double co2Kg;
+		private final double waterLiters;
+		private final double energyMj;
+
+		ImpactTotals(double co2Kg, double waterLiters, double energyMj) {
+			this.co2Kg = co2Kg;
+			this.waterLiters = waterLiters;
+			this.energyMj = energyMj;
+		}
+
+		double getCo2Kg() {
+			return co2Kg;
+		}
+
+		double getWaterLiters() {
+			return waterLiters;
+		}
+
+		double getEnergyMj() {
+			return energyMj;
+		}
+	}
 }
 
@@ -0,0 +1,234 @@
+package com.example.lcaliteservice.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.lcaliteservice.dto.LcaCalculationRequest;
+import com.example.lcaliteservice.dto.LcaComputedEvent;
+import com.example.lcaliteservice.entity.LcaRecomputeJob;
+import com.example.lcaliteservice.entity.LcaResult;
+import com.example.lcaliteservice.entity.ProductCategoryUsage;
+import com.example.lcaliteservice.messaging.LcaEventProducer;
+import com.example.lcaliteservice.repository.LcaRecomputeJobRepository;
+import com.example.lcaliteservice.repository.LcaResultRepository;
+import com.example.lcaliteservice.repository.ProductCategoryUsageRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Recalcul incrémental après un changement de facteurs d'impact : seuls les produits qui
+ * utilisent une catégorie modifiée ({@code lca_product_category}) sont recalculés, par lots de
+ * {@code lca.recompute.batch-size} produits, un lot par intervalle pour ne pas concurrencer le
+ * flux Kafka. {@code lca.completed} n'est publié que pour les résultats qui changent, totaux ou
+ * percentiles : un écart-type modifié seul change la confiance du score.
+ */
+@Service
+public class LcaRecomputeService {
+
+	private static final Logger log = LoggerFactory.getLogger(LcaRecomputeService.class);
+
+	private static final UUID FIRST_PRODUCT_ID = new UUID(0, 0);
+
+	private final ImpactFactorCatalog factorCatalog;
+	private final LcaRecomputeJobRepository jobRepository;
+	private final ProductCategoryUsageRepository usageRepository;
+	private final LcaResultRepository resultRepository;
+	private final LcaEventProducer eventProducer;
+	private final LcaUncertaintyEngine uncertaintyEngine;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final Counter changedCounter;
+	private final Counter unchangedCounter;
+
+	public LcaRecomputeService(ImpactFactorCatalog factorCatalog, LcaRecomputeJobRepository jobRepository,
+			ProductCategoryUsageRepository usageRepository, LcaResultRepository resultRepository,
+			LcaEventProducer eventProducer, LcaUncertaintyEngine uncertaintyEngine,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry, @Value("${lca.recompute.batch-size:200}") int batchSize) {
+		this.factorCatalog = factorCatalog;
+		this.jobRepository = jobRepository;
+		this.usageRepository = usageRepository;
+		this.resultRepository = resultRepository;
+		this.eventProducer = eventProducer;
+		this.uncertaintyEngine = uncertaintyEngine;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.changedCounter = Counter.builder("lca.recompute.results")
+				.tag("result", "changed")
+				.register(meterRegistry);
+		this.unchangedCounter = Counter.builder("lca.recompute.results")
+				.tag("result", "unchanged")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Le job est écrit dans la transaction qui modifie le facteur : il existe si et seulement si
+	 * la modification est commitée. Il porte la version des facteurs après la modification, que
+	 * les autres instances retrouvent en relisant le catalogue.
+	 */
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void onFactorsChanged(ImpactFactorCatalog.ImpactFactorsChangedEvent event) {
+		enqueue(Set.of(event.getCategory()), factorCatalog.load().getVersion());
+	}
+
+	/**
+	 * Recharge le catalogue après une modification faite directement en base et programme le
+	 * recalcul des catégories dont le facteur a changé.
+	 */
+	public ImpactFactorCatalog.Snapshot refreshFactors() {
+		ImpactFactorCatalog.Snapshot previous = factorCatalog.snapshot();
+		ImpactFactorCatalog.Snapshot loaded = factorCatalog.refresh();
+		enqueue(loaded.changedSince(previous), loaded.getVersion());
+		return loaded;
+	}
+
+	/**
+	 * Reprend les facteurs modifiés par une autre instance ou directement en base. Une version
+	 * déjà programmée, par l'instance qui a fait la modification ou par une autre qui l'a vue
+	 * avant, n'est pas recalculée une seconde fois.
+	 */
+	@Scheduled(fixedDelayString = "${lca.factors.poll-interval-ms:30000}")
+	public void pollFactors() {
+		ImpactFactorCatalog.Snapshot previous = factorCatalog.snapshot();
+		ImpactFactorCatalog.Snapshot loaded = factorCatalog.reloadIfChanged();
+		if (loaded != previous) {
+			enqueue(loaded.changedSince(previous), loaded.getVersion());
+		}
+	}
+
+	/**
+	 * @param factorVersion version des facteurs qui déclenche le recalcul ; deux instances qui la
+	 *        voient en même temps peuvent programmer chacune un job, sans autre effet qu'un
+	 *        recalcul sans changement
+	 */
+	public void enqueue(Collection<String> categories, String factorVersion) {
+		if (categories.isEmpty()) {
+			return;
+		}
+		if (jobRepository.existsByFactorVersion(factorVersion)) {
+			log.debug("LCA recompute for factor version {} already scheduled", factorVersion);
+			return;
+		}
+		LcaRecomputeJob job = new LcaRecomputeJob();
+		job.setCategories(String.join(",", new TreeSet<>(categories)));
+		job.setIncludeUnmapped(categories.contains("OTHER"));
+		job.setFactorVersion(factorVersion);
+		job.setCreatedAt(Instant.now());
+		jobRepository.save(job);
+		log.info("Scheduled LCA recompute for categories {} at factor version {}", job.getCategories(),
+				factorVersion);
+	}
+
+	@Scheduled(fixedDelayString = "${lca.recompute.interval-ms:1000}")
+	public void recomputeNextBatch() {
+		transactionTemplate.executeWithoutResult(status -> jobRepository.lockNextPending()
+				.ifPresent(this::recomputeBatch));
+	}
+
+	private void recomputeBatch(LcaRecomputeJob job) {
+		ImpactFactorCatalog.Snapshot factors = factorCatalog.snapshot();
+		if (factors.getLoadedAt().isBefore(job.getCreatedAt())) {
+			// Job commité avant que le catalogue ne soit rechargé par l'écouteur après commit
+			factors = factorCatalog.refresh();
+		}
+
+		UUID after = job.getLastProductId() != null ? job.getLastProductId() : FIRST_PRODUCT_ID;
+		List<UUID> productIds = usageRepository.findProductIdsUsing(List.of(job.getCategories().split(",")),
+				job.isIncludeUnmapped(), factors.getCategories(), after, batchSize);
+
+		Instant now = Instant.now();
+		int changed = 0;
+		if (!productIds.isEmpty()) {
+			Map<UUID, List<ProductCategoryUsage>> usageByProduct = new HashMap<>();
+			for (ProductCategoryUsage usage : usageRepository.findByProductIdIn(productIds)) {
+				usageByProduct.computeIfAbsent(usage.getProductId(), id -> new ArrayList<>()).add(usage);
+			}
+
+			List<LcaComputedEvent> events = new ArrayList<>();
+			for (LcaResult result : resultRepository.findByProductIdIn(productIds)) {
+				if (recompute(result, usageByProduct.getOrDefault(result.getProductId(), List.of()), factors, now)) {
+					events.add(new LcaComputedEvent(result.getProductId(), result.getId(), result.getTotalCo2Kg(),
+							result.getTotalWaterLiters(), result.getTotalEnergyMj(), result.getCalculatedAt(),
+							result.getCo2Percentiles(), result.getWaterPercentiles(), result.getEnergyPercentiles()));
+				}
+			}
+			if (!events.isEmpty()) {
+				eventProducer.publishAll(events);
+			}
+			changed = events.size();
+			changedCounter.increment(changed);
+			unchangedCounter.increment(productIds.size() - changed);
+			job.setLastProductId(productIds.get(productIds.size() - 1));
+		}
+
+		job.setRecomputedCount(job.getRecomputedCount() + productIds.size());
+		job.setChangedCount(job.getChangedCount() + changed);
+		if (productIds.size() < batchSize) {
+			job.setCompletedAt(now);
+			log.info("LCA recompute for categories {} done: {} products recomputed, {} changed",
+					job.getCategories(), job.getRecomputedCount(), job.getChangedCount());
+		}
+	}
+
+	/**
+	 * L'empreinte des entrées est toujours mise à jour (la version des facteurs a changé), pour
+	 * qu'un rejeu ultérieur des mêmes ingrédients soit reconnu comme sans effet.
+	 *
+	 * @return {@code true} si les totaux arrondis ou les percentiles du produit ont changé
+	 */
+	private boolean recompute(LcaResult result, List<ProductCategoryUsage> usages,
+			ImpactFactorCatalog.Snapshot factors, Instant calculatedAt) {
+		List<LcaCalculationRequest.IngredientImpact> ingredients = new ArrayList<>(usages.size());
+		for (ProductCategoryUsage usage : usages) {
+			LcaCalculationRequest.IngredientImpact ingredient = new LcaCalculationRequest.IngredientImpact();
+			ingredient.setCategory(usage.getCategory());
+			ingredient.setImpactHint(usage.getImpactHint());
+			ingredients.add(ingredient);
+		}
+		LcaCalculationRequest request = new LcaCalculationRequest();
+		request.setProductId(result.getProductId());
+		request.setIngredients(ingredients);
+		request.setTransportKm(result.getTransportKm());
+		request.setTransportMode(result.getTransportMode());
+
+		result.setInputDigest(LcaCalculatorService.inputDigest(request, factors));
+		LcaCalculatorService.ImpactTotals totals = LcaCalculatorService.computeTotals(request, factors);
+		double co2 = LcaCalculatorService.round(totals.getCo2Kg());
+		double water = LcaCalculatorService.round(totals.getWaterLiters());
+		double energy = LcaCalculatorService.round(totals.getEnergyMj());
+		LcaUncertaintyEngine.Uncertainty uncertainty = uncertaintyEngine.estimate(request, factors);
+		if (co2 == result.getTotalCo2Kg() && water == result.getTotalWaterLiters()
+				&& energy == result.getTotalEnergyMj()
+				&& uncertainty.getCo2Kg().equals(result.getCo2Percentiles())
+				&& uncertainty.getWaterLiters().equals(result.getWaterPercentiles())
+				&& uncertainty.getEnergyMj().equals(result.getEnergyPercentiles())) {
+			return false;
+		}
+		result.setTotalCo2Kg(co2);
+		result.setTotalWaterLiters(water);
+		result.setTotalEnergyMj(energy);
+		result.setCo2Percentiles(uncertainty.getCo2Kg());
+		result.setWaterPercentiles(uncertainty.getWaterLiters());
+		result.setEnergyPercentiles(uncertainty.getEnergyMj());
+		result.setCalculatedAt(calculatedAt);
+		return true;
+	}
+}
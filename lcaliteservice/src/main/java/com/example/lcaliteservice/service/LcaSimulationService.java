@@ -0,0 +1,158 @@
+package com.example.lcaliteservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.commons.score.EcoScoreScale;
+import com.example.lcaliteservice.dto.LcaCalculationRequest;
+import com.example.lcaliteservice.dto.LcaSimulationRequest;
+import com.example.lcaliteservice.dto.LcaSimulationResponse;
+
+/**
+ * Simulations « et si » pour comparer emballages, modes et distances de transport : chaque
+ * combinaison de la grille est calculée en mémoire avec les formules de
+ * {@link LcaCalculatorService} et notée avec le barème du scoring ({@link EcoScoreScale}), sans
+ * lecture ni écriture en base et sans événement. La part ingrédients n'est calculée qu'une fois
+ * par variante, le transport étant ajouté combinaison par combinaison.
+ */
+@Service
+public class LcaSimulationService {
+
+	private static final String BASE_VARIANT = "base";
+
+	private final ImpactFactorCatalog factorCatalog;
+	private final int maxCombinations;
+	private final int parallelThreshold;
+
+	public LcaSimulationService(ImpactFactorCatalog factorCatalog,
+			@Value("${lca.simulation.max-combinations:100000}") int maxCombinations,
+			@Value("${lca.batch.parallel-threshold:1000}") int parallelThreshold) {
+		this.factorCatalog = factorCatalog;
+		this.maxCombinations = maxCombinations;
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * @throws IllegalArgumentException si la grille dépasse {@code lca.simulation.max-combinations}
+	 *         combinaisons, si une variante est invalide ou si un mode de transport est absent
+	 */
+	public LcaSimulationResponse simulate(LcaSimulationRequest request) {
+		LcaCalculationRequest base = request.getBase();
+		if (base.getIngredients() == null) {
+			throw new IllegalArgumentException("Base product has no ingredients");
+		}
+		LcaCalculatorService.requireTransportMode(base.getTransportMode());
+
+		List<String> labels = new ArrayList<>();
+		List<LcaCalculationRequest> variants = new ArrayList<>();
+		labels.add(BASE_VARIANT);
+		variants.add(base);
+		if (request.getSwaps() != null) {
+			for (LcaSimulationRequest.IngredientSwap swap : request.getSwaps()) {
+				labels.add(swap.getLabel() != null ? swap.getLabel() : "swap-" + labels.size());
+				variants.add(apply(base, swap));
+			}
+		}
+		double[] kms = transportKm(request, base);
+		List<String> modes = transportModes(request, base);
+
+		long combinations = (long) variants.size() * modes.size() * kms.length;
+		if (combinations > maxCombinations) {
+			throw new IllegalArgumentException("Simulation grid has " + combinations + " combinations, max is "
+					+ maxCombinations);
+		}
+
+		ImpactFactorCatalog.Snapshot factors = factorCatalog.snapshot();
+		double[][] ingredientImpacts = new double[variants.size()][3];
+		for (int v = 0; v < variants.size(); v++) {
+			LcaCalculatorService.ingredientImpacts(variants.get(v), factors, ingredientImpacts[v]);
+		}
+
+		int cells = (int) combinations;
+		double[] co2 = new double[cells];
+		double[] water = new double[cells];
+		double[] energy = new double[cells];
+		double[] scoreValue = new double[cells];
+		String[] scoreLetter = new String[cells];
+		int perVariant = modes.size() * kms.length;
+		IntStream indexes = IntStream.range(0, cells);
+		if (cells >= parallelThreshold) {
+			indexes = indexes.parallel();
+		}
+		indexes.forEach(cell -> {
+			double[] impacts = ingredientImpacts[cell / perVariant].clone();
+			LcaCalculatorService.addTransport(kms[cell % kms.length], modes.get(cell % perVariant / kms.length),
+					impacts);
+			// Valeurs arrondies comme dans lca.completed, que le scoring note
+			co2[cell] = LcaCalculatorService.round(impacts[0]);
+			water[cell] = LcaCalculatorService.round(impacts[1]);
+			energy[cell] = LcaCalculatorService.round(impacts[2]);
+			scoreValue[cell] = EcoScoreScale.normalizeScore(co2[cell], water[cell], energy[cell]);
+			scoreLetter[cell] = EcoScoreScale.toLetter(scoreValue[cell]);
+		});
+
+		return new LcaSimulationResponse(labels, modes, kms, co2, water, energy, scoreValue, scoreLetter,
+				factors.getVersion());
+	}
+
+	private static LcaCalculationRequest apply(LcaCalculationRequest base, LcaSimulationRequest.IngredientSwap swap) {
+		List<LcaCalculationRequest.IngredientImpact> ingredients = new ArrayList<>(base.getIngredients());
+		if (swap.getIngredient() == null) {
+			if (swap.getReplacement() == null) {
+				throw new IllegalArgumentException("Swap " + swap.getLabel() + " has neither ingredient nor replacement");
+			}
+			ingredients.add(swap.getReplacement());
+		} else {
+			int index = indexOf(ingredients, swap.getIngredient());
+			if (swap.getReplacement() == null) {
+				ingredients.remove(index);
+			} else {
+				ingredients.set(index, swap.getReplacement());
+			}
+		}
+		LcaCalculationRequest variant = new LcaCalculationRequest();
+		variant.setProductId(base.getProductId());
+		variant.setIngredients(ingredients);
+		variant.setTransportKm(base.getTransportKm());
+		variant.setTransportMode(base.getTransportMode());
+		return variant;
+	}
+
+	private static int indexOf(List<LcaCalculationRequest.IngredientImpact> ingredients, String name) {
+		for (int i = 0; i < ingredients.size(); i++) {
+			if (name.equalsIgnoreCase(ingredients.get(i).getName())) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unknown ingredient in base product: " + name);
+	}
+
+	private static double[] transportKm(LcaSimulationRequest request, LcaCalculationRequest base) {
+		if (request.getTransportKm() == null || request.getTransportKm().isEmpty()) {
+			return new double[] { base.getTransportKm() };
+		}
+		double[] kms = new double[request.getTransportKm().size()];
+		for (int i = 0; i < kms.length; i++) {
+			Double km = request.getTransportKm().get(i);
+			if (km == null || km < 0) {
+				throw new IllegalArgumentException("Invalid transport distance: " + km);
+			}
+			kms[i] = km;
+		}
+		return kms;
+	}
+
+	private static List<String> transportModes(LcaSimulationRequest request, LcaCalculationRequest base) {
+		List<String> modes = request.getTransportModes() == null || request.getTransportModes().isEmpty()
+				? List.of(base.getTransportMode())
+				: request.getTransportModes();
+		for (String mode : modes) {
+			LcaCalculatorService.requireTransportMode(mode);
+		}
+		return List.copyOf(modes);
+	}
+}
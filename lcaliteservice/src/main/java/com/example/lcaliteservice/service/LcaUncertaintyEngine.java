@@ -0,0 +1,278 @@
+package com.example.lcaliteservice.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.lcaliteservice.dto.LcaCalculationRequest;
+import com.example.lcaliteservice.entity.ImpactPercentiles;
+
+/**
+ * Incertitude d'un résultat ACV par tirage Monte Carlo : à chaque tirage, le facteur de chaque
+ * catégorie utilisée suit une loi normale (valeur du facteur, écart-type), tronquée à zéro, et
+ * s'applique à tous les ingrédients de la catégorie. Le transport reste déterministe.
+ * <p>
+ * Les tirages sont répartis en tranches de {@value #SAMPLES_PER_TASK}, chaque tranche ayant son
+ * propre {@link SplittableRandom} dérivé de celui de la tranche parente. La graine vient du produit
+ * et de la version des facteurs : pour les mêmes entrées, les percentiles sont identiques d'un
+ * calcul à l'autre, que les tranches soient exécutées en fork/join ou l'une après l'autre.
+ */
+@Service
+public class LcaUncertaintyEngine {
+
+	static final int SAMPLES_PER_TASK = 2048;
+
+	private final int samples;
+
+	public LcaUncertaintyEngine(@Value("${lca.uncertainty.samples:10000}") int samples) {
+		this.samples = samples;
+	}
+
+	public Uncertainty estimate(LcaCalculationRequest request, ImpactFactorCatalog.Snapshot factors) {
+		return simulate(request, factors, samples, true);
+	}
+
+	/**
+	 * Variante pour un appelant qui répartit déjà les produits sur les cœurs : les tirages d'un
+	 * produit restent sur le thread appelant.
+	 */
+	public Uncertainty estimateSequential(LcaCalculationRequest request, ImpactFactorCatalog.Snapshot factors) {
+		return simulate(request, factors, samples, false);
+	}
+
+	static Uncertainty simulate(LcaCalculationRequest request, ImpactFactorCatalog.Snapshot factors, int samples,
+			boolean parallel) {
+		Model model = new Model(request, factors);
+		double[] co2 = new double[samples];
+		double[] water = new double[samples];
+		double[] energy = new double[samples];
+		SamplingTask task = new SamplingTask(model, co2, water, energy, 0, samples,
+				new SplittableRandom(seed(request, factors)), parallel);
+		task.invoke();
+		return new Uncertainty(percentiles(co2), percentiles(water), percentiles(energy), samples);
+	}
+
+	private static long seed(LcaCalculationRequest request, ImpactFactorCatalog.Snapshot factors) {
+		long seed = Long.parseUnsignedLong(factors.getVersion(), 16);
+		if (request.getProductId() != null) {
+			seed ^= request.getProductId().getMostSignificantBits() * 31 + request.getProductId().getLeastSignificantBits();
+		}
+		return seed;
+	}
+
+	/**
+	 * Percentiles par rang le plus proche. Seuls trois rangs sont utiles : ils sont placés par
+	 * sélection, en temps linéaire, plutôt qu'en triant les tirages (trois fois plus lent à 10 000
+	 * tirages). La médiane d'abord, puis p5 à sa gauche et p95 à sa droite.
+	 */
+	private static ImpactPercentiles percentiles(double[] values) {
+		int p5 = rank(values.length, 0.05);
+		int p50 = rank(values.length, 0.5);
+		int p95 = rank(values.length, 0.95);
+		select(values, 0, values.length, p50);
+		if (p5 < p50) {
+			select(values, 0, p50, p5);
+		}
+		if (p95 > p50) {
+			select(values, p50 + 1, values.length, p95);
+		}
+		return new ImpactPercentiles(LcaCalculatorService.round(values[p5]),
+				LcaCalculatorService.round(values[p50]), LcaCalculatorService.round(values[p95]));
+	}
+
+	private static int rank(int count, double p) {
+		return Math.max((int) Math.ceil(p * count) - 1, 0);
+	}
+
+	/**
+	 * Sélection de Hoare : réordonne {@code values[from, to)} de sorte que {@code values[k]} soit
+	 * la valeur qu'il aurait après tri, les plus petites à sa gauche et les plus grandes à sa droite.
+	 */
+	private static void select(double[] values, int from, int to, int k) {
+		int low = from;
+		int high = to - 1;
+		while (low < high) {
+			double pivot = medianOfThree(values[low], values[(low + high) >>> 1], values[high]);
+			int i = low;
+			int j = high;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					double swap = values[i];
+					values[i] = values[j];
+					values[j] = swap;
+					i++;
+					j--;
+				}
+			}
+			if (k <= j) {
+				high = j;
+			} else if (k >= i) {
+				low = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private static double medianOfThree(double a, double b, double c) {
+		return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+	}
+
+	/**
+	 * Entrées d'un tirage en tableaux primitifs, une case par facteur utilisé : somme des
+	 * {@code impactHint} de la catégorie, valeurs et écarts-types du facteur.
+	 */
+	private static final class Model {
+		private final int size;
+		private final double[] hints;
+		private final double[] co2Mean;
+		private final double[] co2StdDev;
+		private final double[] waterMean;
+		private final double[] waterStdDev;
+		private final double[] energyMean;
+		private final double[] energyStdDev;
+		private final double[] transport = new double[3];
+
+		Model(LcaCalculationRequest request, ImpactFactorCatalog.Snapshot factors) {
+			double[] hintByFactor = new double[factors.size()];
+			boolean[] used = new boolean[factors.size()];
+			int count = 0;
+			for (LcaCalculationRequest.IngredientImpact ingredient : request.getIngredients()) {
+				int factor = factors.indexOf(ingredient.getCategory());
+				if (!used[factor]) {
+					used[factor] = true;
+					count++;
+				}
+				hintByFactor[factor] += ingredient.getImpactHint();
+			}
+
+			size = count;
+			hints = new double[count];
+			co2Mean = new double[count];
+			co2StdDev = new double[count];
+			waterMean = new double[count];
+			waterStdDev = new double[count];
+			energyMean = new double[count];
+			energyStdDev = new double[count];
+			int k = 0;
+			for (int factor = 0; factor < used.length; factor++) {
+				if (used[factor]) {
+					hints[k] = hintByFactor[factor];
+					co2Mean[k] = factors.co2PerKg(factor);
+					co2StdDev[k] = factors.co2StdDev(factor);
+					waterMean[k] = factors.waterPerKg(factor);
+					waterStdDev[k] = factors.waterStdDev(factor);
+					energyMean[k] = factors.energyPerKg(factor);
+					energyStdDev[k] = factors.energyStdDev(factor);
+					k++;
+				}
+			}
+			LcaCalculatorService.addTransport(request.getTransportKm(), request.getTransportMode(), transport);
+		}
+	}
+
+	/**
+	 * Remplit les tirages {@code [from, to)} ; au-delà de {@link #SAMPLES_PER_TASK} tirages, la
+	 * tranche est coupée en deux, la moitié droite recevant un générateur issu de
+	 * {@link SplittableRandom#split()}. Le découpage est le même en séquentiel, seule l'exécution
+	 * des deux moitiés change : chaque tirage reçoit donc la même valeur dans les deux modes.
+	 */
+	private static final class SamplingTask extends RecursiveAction {
+		private final Model model;
+		private final double[] co2;
+		private final double[] water;
+		private final double[] energy;
+		private final int from;
+		private final int to;
+		private final SplittableRandom random;
+		private final boolean parallel;
+
+		SamplingTask(Model model, double[] co2, double[] water, double[] energy, int from, int to,
+				SplittableRandom random, boolean parallel) {
+			this.model = model;
+			this.co2 = co2;
+			this.water = water;
+			this.energy = energy;
+			this.from = from;
+			this.to = to;
+			this.random = random;
+			this.parallel = parallel;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SAMPLES_PER_TASK) {
+				sample();
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			SamplingTask right = new SamplingTask(model, co2, water, energy, middle, to, random.split(), parallel);
+			SamplingTask left = new SamplingTask(model, co2, water, energy, from, middle, random, parallel);
+			if (parallel) {
+				invokeAll(left, right);
+			} else {
+				left.compute();
+				right.compute();
+			}
+		}
+
+		private void sample() {
+			Model m = model;
+			for (int s = from; s < to; s++) {
+				double sampledCo2 = m.transport[0];
+				double sampledWater = m.transport[1];
+				double sampledEnergy = m.transport[2];
+				for (int k = 0; k < m.size; k++) {
+					double hint = m.hints[k];
+					sampledCo2 += hint * Math.max(0, m.co2Mean[k] + m.co2StdDev[k] * random.nextGaussian());
+					sampledWater += hint * Math.max(0, m.waterMean[k] + m.waterStdDev[k] * random.nextGaussian());
+					sampledEnergy += hint * Math.max(0, m.energyMean[k] + m.energyStdDev[k] * random.nextGaussian());
+				}
+				co2[s] = sampledCo2;
+				water[s] = sampledWater;
+				energy[s] = sampledEnergy;
+			}
+		}
+	}
+
+	/**
+	 * Percentiles des trois impacts d'un produit et nombre de tirages dont ils sont issus.
+	 */
+	public static class Uncertainty {
+		private final ImpactPercentiles co2Kg;
+		private final ImpactPercentiles waterLiters;
+		private final ImpactPercentiles energyMj;
+		private final int samples;
+
+		Uncertainty(ImpactPercentiles co2Kg, ImpactPercentiles waterLiters, ImpactPercentiles energyMj, int samples) {
+			this.co2Kg = co2Kg;
+			this.waterLiters = waterLiters;
+			this.energyMj = energyMj;
+			this.samples = samples;
+		}
+
+		public ImpactPercentiles getCo2Kg() {
+			return co2Kg;
+		}
+
+		public ImpactPercentiles getWaterLiters() {
+			return waterLiters;
+		}
+
+		public ImpactPercentiles getEnergyMj() {
+			return energyMj;
+		}
+
+		public int getSamples() {
+			return samples;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+-- Schéma initial du service ACV. Les ordres sont idempotents : la base est partagée entre services
+-- et reprise par baseline-on-migrate (version 0).
+
+-- Écarts-types dans la même unité que chaque valeur, tirés par le calcul d'incertitude Monte Carlo
+create table if not exists impact_factor (
+    id bigint generated by default as identity primary key,
+    reference varchar(255) not null unique,
+    category varchar(255) not null,
+    co2per_kg float(53) not null,
+    water_per_kg float(53) not null,
+    energy_per_kg float(53) not null,
+    co2std_dev float(53) not null,
+    water_std_dev float(53) not null,
+    energy_std_dev float(53) not null
+);
+
+-- Chaque ingrédient d'un calcul est résolu par sa catégorie
+create index if not exists idx_impact_factor_category
+    on impact_factor (category);
+
+-- Entrées de transport conservées pour recalculer un produit quand un facteur d'impact change ;
+-- empreinte des entrées du dernier calcul : un recalcul aux mêmes entrées n'écrit ni ne publie rien.
+-- Percentiles 5/50/95 du tirage Monte Carlo de chaque résultat.
+create table if not exists lca_result (
+    id uuid not null primary key,
+    product_id uuid not null unique,
+    total_co2kg float(53) not null,
+    total_water_liters float(53) not null,
+    total_energy_mj float(53) not null,
+    calculated_at timestamp(6) with time zone not null,
+    transport_km float(53) not null default 0,
+    transport_mode varchar(255) not null default 'road',
+    input_digest varchar(64),
+    co2_p5 float(53),
+    co2_p50 float(53),
+    co2_p95 float(53),
+    water_p5 float(53),
+    water_p50 float(53),
+    water_p95 float(53),
+    energy_p5 float(53),
+    energy_p50 float(53),
+    energy_p95 float(53)
+);
+
+-- Index produit -> catégorie : somme des impactHint des ingrédients du produit par catégorie
+create table if not exists lca_product_category (
+    product_id uuid not null,
+    category varchar(255) not null,
+    impact_hint float(53) not null,
+    primary key (product_id, category)
+);
+
+create index if not exists idx_lca_product_category_category on lca_product_category (category, product_id);
+
+create table if not exists lca_recompute_job (
+    id bigint generated by default as identity primary key,
+    categories text not null,
+    include_unmapped boolean not null,
+    last_product_id uuid,
+    recomputed_count integer not null,
+    changed_count integer not null,
+    created_at timestamp(6) with time zone not null,
+    completed_at timestamp(6) with time zone
+);
+
+create index if not exists idx_lca_recompute_job_completed_at on lca_recompute_job (completed_at, id);
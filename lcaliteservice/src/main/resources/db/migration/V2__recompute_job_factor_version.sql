@@ -0,0 +1,5 @@
+-- Version des facteurs qui a déclenché chaque recalcul : une modification vue par plusieurs
+-- instances (API ou écriture directe en base) n'est programmée qu'une fois.
+alter table lca_recompute_job add column if not exists factor_version varchar(16);
+
+create index if not exists idx_lca_recompute_job_factor_version on lca_recompute_job (factor_version);
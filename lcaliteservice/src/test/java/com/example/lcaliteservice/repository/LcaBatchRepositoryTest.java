@@ -0,0 +1,112 @@
+package com.example.lcaliteservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.example.lcaliteservice.entity.LcaResult;
+import com.example.lcaliteservice.entity.ProductCategoryUsage;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Requêtes multi-lignes {@code unnest} sur la base PostgreSQL du service, migrée par Flyway.
+ * Chaque test est annulé à la fin.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LcaBatchRepositoryTest {
+
+	@Autowired
+	private LcaResultRepository resultRepository;
+
+	@Autowired
+	private ProductCategoryUsageRepository usageRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void upsertInsertsNewProductsAndKeepsIdOfExistingOnes() {
+		UUID existingProduct = UUID.randomUUID();
+		UUID newProduct = UUID.randomUUID();
+		UUID existingId = UUID.randomUUID();
+		upsert(new UUID[] { existingId }, new UUID[] { existingProduct }, new double[] { 1.5 }, "old");
+
+		UUID newId = UUID.randomUUID();
+		List<Object[]> rows = upsert(new UUID[] { UUID.randomUUID(), newId },
+				new UUID[] { existingProduct, newProduct }, new double[] { 2.5, 3.5 }, "new");
+		entityManager.clear();
+
+		Map<UUID, UUID> idByProduct = new HashMap<>();
+		for (Object[] row : rows) {
+			idByProduct.put((UUID) row[1], (UUID) row[0]);
+		}
+		assertThat(idByProduct).containsEntry(existingProduct, existingId).containsEntry(newProduct, newId);
+
+		LcaResult updated = resultRepository.findByProductId(existingProduct).orElseThrow();
+		assertThat(updated.getId()).isEqualTo(existingId);
+		assertThat(updated.getTotalCo2Kg()).isEqualTo(2.5);
+		assertThat(updated.getInputDigest()).isEqualTo("new");
+		assertThat(updated.getCo2Percentiles().getP95()).isEqualTo(2.5 * 1.2);
+		assertThat(resultRepository.findByProductId(newProduct).orElseThrow().getTotalCo2Kg()).isEqualTo(3.5);
+	}
+
+	@Test
+	void categoryIndexIsWrittenAndQueriedByCategory() {
+		UUID dairyProduct = new UUID(0, 1);
+		UUID spiceProduct = new UUID(0, 2);
+		UUID sugarProduct = new UUID(0, 3);
+		usageRepository.deleteByProductIds(new UUID[] { dairyProduct, spiceProduct, sugarProduct });
+		int inserted = usageRepository.insertAll(
+				new UUID[] { dairyProduct, dairyProduct, spiceProduct, sugarProduct },
+				new String[] { "DAIRY", "SWEETENER", "SPICE", "SWEETENER" },
+				new double[] { 0.6, 0.4, 1.0, 1.0 });
+
+		assertThat(inserted).isEqualTo(4);
+		assertThat(usageRepository.findByProductIdIn(List.of(dairyProduct)))
+				.extracting(ProductCategoryUsage::getCategory, ProductCategoryUsage::getImpactHint)
+				.containsExactlyInAnyOrder(tuple("DAIRY", 0.6),
+						tuple("SWEETENER", 0.4));
+
+		// Base partagée : les ids de ce test sont les plus petits possibles, les pages sont donc
+		// limitées à une ligne pour ne pas lire les produits réels
+		Set<String> mapped = Set.of("DAIRY", "SWEETENER", "OTHER");
+		assertThat(usageRepository.findProductIdsUsing(List.of("DAIRY"), false, mapped, new UUID(0, 0), 1))
+				.containsExactly(dairyProduct);
+		// OTHER couvre aussi les catégories sans facteur
+		assertThat(usageRepository.findProductIdsUsing(List.of("OTHER"), true, mapped, new UUID(0, 0), 1))
+				.containsExactly(spiceProduct);
+		// Page suivante après le produit laitier
+		assertThat(usageRepository.findProductIdsUsing(List.of("SWEETENER"), false, mapped, dairyProduct, 1))
+				.containsExactly(sugarProduct);
+
+		assertThat(usageRepository.deleteByProductIds(new UUID[] { dairyProduct })).isEqualTo(2);
+	}
+
+	private List<Object[]> upsert(UUID[] ids, UUID[] productIds, double[] co2, String inputDigest) {
+		int count = ids.length;
+		double[] zeros = new double[count];
+		double[] p95 = new double[count];
+		String[] modes = new String[count];
+		String[] digests = new String[count];
+		for (int i = 0; i < count; i++) {
+			p95[i] = co2[i] * 1.2;
+			modes[i] = "road";
+			digests[i] = inputDigest;
+		}
+		return resultRepository.upsertAll(ids, productIds, co2, zeros, zeros, Instant.now(), zeros, modes,
+				digests, zeros, co2, p95, zeros, zeros, zeros, zeros, zeros, zeros);
+	}
+}
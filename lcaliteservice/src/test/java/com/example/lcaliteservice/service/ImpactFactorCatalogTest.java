@@ -0,0 +1,59 @@
+package com.example.lcaliteservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.example.lcaliteservice.entity.ImpactFactor;
+import com.example.lcaliteservice.repository.ImpactFactorRepository;
+
+class ImpactFactorCatalogTest {
+
+	private ImpactFactorRepository repository;
+	private ImpactFactorCatalog catalog;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(ImpactFactorRepository.class);
+		catalog = new ImpactFactorCatalog(repository, mock(ApplicationEventPublisher.class));
+	}
+
+	@Test
+	void keepsSnapshotWhileFactorsAreUnchanged() {
+		when(repository.findAll()).thenReturn(List.of(factor("DAIRY", 9.2), factor("OTHER", 1.0)));
+		ImpactFactorCatalog.Snapshot loaded = catalog.refresh();
+
+		assertThat(catalog.reloadIfChanged()).isSameAs(loaded);
+		assertThat(catalog.snapshot()).isSameAs(loaded);
+	}
+
+	@Test
+	void picksUpFactorChangedByAnotherInstance() {
+		when(repository.findAll()).thenReturn(List.of(factor("DAIRY", 9.2), factor("OTHER", 1.0)));
+		ImpactFactorCatalog.Snapshot before = catalog.refresh();
+		when(repository.findAll()).thenReturn(List.of(factor("DAIRY", 8.0), factor("OTHER", 1.0)));
+
+		ImpactFactorCatalog.Snapshot after = catalog.reloadIfChanged();
+
+		assertThat(catalog.snapshot()).isSameAs(after);
+		assertThat(after.getVersion()).isNotEqualTo(before.getVersion());
+		assertThat(after.find("DAIRY")).get().extracting(ImpactFactor::getCo2PerKg).isEqualTo(8.0);
+		assertThat(after.changedSince(before)).containsExactly("DAIRY");
+	}
+
+	private static ImpactFactor factor(String category, double co2) {
+		ImpactFactor factor = new ImpactFactor();
+		factor.setCategory(category);
+		factor.setReference("FACTOR_" + category);
+		factor.setCo2PerKg(co2);
+		factor.setWaterPerKg(100);
+		factor.setEnergyPerKg(5);
+		return factor;
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.lcaliteservice.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.lcaliteservice.dto.LcaCalculationRequest;
+import com.example.lcaliteservice.messaging.LcaEventProducer;
+import com.example.lcaliteservice.repository.LcaResultRepository;
+import com.example.lcaliteservice.repository.ProductCategoryUsageRepository;
+
+class LcaCalculatorServiceTest {
+
+	@Test
+	void batchWithMissingTransportModeIsRejectedBeforeAnyWrite() {
+		LcaResultRepository resultRepository = mock(LcaResultRepository.class);
+		LcaEventProducer eventProducer = mock(LcaEventProducer.class);
+		LcaCalculatorService service = new LcaCalculatorService(mock(ImpactFactorCatalog.class), resultRepository,
+				mock(ProductCategoryUsageRepository.class), eventProducer, mock(LcaUncertaintyEngine.class), 1000);
+
+		LcaCalculationRequest valid = request("road");
+		LcaCalculationRequest missing = request(null);
+
+		assertThatThrownBy(() -> service.calculateBatch(List.of(valid, missing)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("transport mode");
+		verifyNoInteractions(resultRepository, eventProducer);
+	}
+
+	private static LcaCalculationRequest request(String transportMode) {
+		LcaCalculationRequest request = new LcaCalculationRequest();
+		request.setProductId(UUID.randomUUID());
+		request.setIngredients(List.of());
+		request.setTransportKm(100);
+		request.setTransportMode(transportMode);
+		return request;
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.lcaliteservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.lcaliteservice.entity.ImpactFactor;
+import com.example.lcaliteservice.entity.LcaRecomputeJob;
+import com.example.lcaliteservice.messaging.LcaEventProducer;
+import com.example.lcaliteservice.repository.ImpactFactorRepository;
+import com.example.lcaliteservice.repository.LcaRecomputeJobRepository;
+import com.example.lcaliteservice.repository.LcaResultRepository;
+import com.example.lcaliteservice.repository.ProductCategoryUsageRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LcaRecomputeServiceTest {
+
+	private ImpactFactorRepository factorRepository;
+	private LcaRecomputeJobRepository jobRepository;
+	private ImpactFactorCatalog catalog;
+	private LcaRecomputeService service;
+
+	@BeforeEach
+	void setUp() {
+		factorRepository = mock(ImpactFactorRepository.class);
+		jobRepository = mock(LcaRecomputeJobRepository.class);
+		catalog = new ImpactFactorCatalog(factorRepository, mock(ApplicationEventPublisher.class));
+		service = new LcaRecomputeService(catalog, jobRepository, mock(ProductCategoryUsageRepository.class),
+				mock(LcaResultRepository.class), mock(LcaEventProducer.class), mock(LcaUncertaintyEngine.class),
+				mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 200);
+
+		when(factorRepository.findAll()).thenReturn(List.of(factor("DAIRY", 9.2), factor("OTHER", 1.0)));
+		catalog.refresh();
+	}
+
+	@Test
+	void pollSchedulesRecomputeForFactorChangedInDatabase() {
+		when(factorRepository.findAll()).thenReturn(List.of(factor("DAIRY", 8.0), factor("OTHER", 1.0)));
+
+		service.pollFactors();
+
+		ArgumentCaptor<LcaRecomputeJob> job = ArgumentCaptor.forClass(LcaRecomputeJob.class);
+		verify(jobRepository).save(job.capture());
+		assertThat(job.getValue().getCategories()).isEqualTo("DAIRY");
+		assertThat(job.getValue().isIncludeUnmapped()).isFalse();
+		assertThat(job.getValue().getFactorVersion()).isEqualTo(catalog.snapshot().getVersion());
+	}
+
+	@Test
+	void pollSkipsVersionAlreadyScheduled() {
+		when(factorRepository.findAll()).thenReturn(List.of(factor("DAIRY", 8.0), factor("OTHER", 1.0)));
+		when(jobRepository.existsByFactorVersion(any())).thenReturn(true);
+
+		service.pollFactors();
+
+		verify(jobRepository, never()).save(any());
+		assertThat(catalog.snapshot().find("DAIRY")).get().extracting(ImpactFactor::getCo2PerKg).isEqualTo(8.0);
+	}
+
+	@Test
+	void pollWithoutChangeSchedulesNothing() {
+		service.pollFactors();
+
+		verify(jobRepository, never()).existsByFactorVersion(any());
+		verify(jobRepository, never()).save(any());
+	}
+
+	private static ImpactFactor factor(String category, double co2) {
+		ImpactFactor factor = new ImpactFactor();
+		factor.setCategory(category);
+		factor.setReference("FACTOR_" + category);
+		factor.setCo2PerKg(co2);
+		factor.setWaterPerKg(100);
+		factor.setEnergyPerKg(5);
+		return factor;
+	}
+}
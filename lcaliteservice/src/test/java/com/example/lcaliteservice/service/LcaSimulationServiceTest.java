@@ -0,0 +1,129 @@
+package com.example.lcaliteservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.example.commons.score.EcoScoreScale;
+import com.example.lcaliteservice.dto.LcaCalculationRequest;
+import com.example.lcaliteservice.dto.LcaSimulationRequest;
+import com.example.lcaliteservice.dto.LcaSimulationResponse;
+import com.example.lcaliteservice.entity.ImpactFactor;
+import com.example.lcaliteservice.repository.ImpactFactorRepository;
+
+class LcaSimulationServiceTest {
+
+	private static final List<Double> KMS = List.of(0.0, 100.0, 1000.0);
+	private static final List<String> MODES = List.of("road", "sea");
+
+	private ImpactFactorCatalog catalog;
+
+	@BeforeEach
+	void setUp() {
+		ImpactFactorRepository repository = mock(ImpactFactorRepository.class);
+		when(repository.findAll()).thenReturn(List.of(factor("DAIRY", 9.2, 1000, 15),
+				factor("SWEETENER", 3.5, 600, 5), factor("OTHER", 1.0, 200, 4)));
+		catalog = new ImpactFactorCatalog(repository, mock(ApplicationEventPublisher.class));
+		catalog.refresh();
+	}
+
+	@Test
+	void cellsAreIndexedByVariantThenModeThenDistance() {
+		LcaSimulationResponse response = new LcaSimulationService(catalog, 1000, 1000).simulate(request());
+
+		assertThat(response.getVariants()).containsExactly("base", "sugar");
+		assertThat(response.getTransportModes()).containsExactlyElementsOf(MODES);
+		assertThat(response.getTransportKm()).containsExactly(0, 100, 1000);
+		assertThat(response.getCo2Kg()).hasSize(2 * 2 * 3);
+
+		// Part ingrédients : 0,5 kg de lait (base) ou de sucre (variante)
+		double[] ingredientCo2 = { 0.5 * 9.2, 0.5 * 3.5 };
+		double[] modeMultiplier = { 1.5, 0.8 };
+		for (int variant = 0; variant < 2; variant++) {
+			for (int mode = 0; mode < 2; mode++) {
+				for (int km = 0; km < 3; km++) {
+					int cell = (variant * 2 + mode) * 3 + km;
+					double expected = LcaCalculatorService
+							.round(ingredientCo2[variant] + KMS.get(km) * 0.1 * modeMultiplier[mode]);
+					assertThat(response.getCo2Kg()[cell]).as("cell %d", cell).isEqualTo(expected);
+					assertThat(response.getScoreValue()[cell]).isEqualTo(EcoScoreScale.normalizeScore(
+							response.getCo2Kg()[cell], response.getWaterLiters()[cell], response.getEnergyMj()[cell]));
+					assertThat(response.getScoreLetter()[cell]).isEqualTo(
+							EcoScoreScale.toLetter(response.getScoreValue()[cell]));
+				}
+			}
+		}
+		assertThat(response.getFactorVersion()).isEqualTo(catalog.snapshot().getVersion());
+	}
+
+	@Test
+	void parallelGridMatchesSequentialGrid() {
+		LcaSimulationResponse sequential = new LcaSimulationService(catalog, 1000, 1000).simulate(request());
+		LcaSimulationResponse parallel = new LcaSimulationService(catalog, 1000, 1).simulate(request());
+
+		assertThat(parallel.getCo2Kg()).containsExactly(sequential.getCo2Kg());
+		assertThat(parallel.getWaterLiters()).containsExactly(sequential.getWaterLiters());
+		assertThat(parallel.getScoreLetter()).containsExactly(sequential.getScoreLetter());
+	}
+
+	@Test
+	void rejectsGridLargerThanLimit() {
+		assertThatThrownBy(() -> new LcaSimulationService(catalog, 11, 1000).simulate(request()))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("12 combinations");
+	}
+
+	@Test
+	void rejectsMissingTransportMode() {
+		LcaSimulationRequest request = request();
+		request.setTransportModes(null);
+		request.getBase().setTransportMode(null);
+
+		assertThatThrownBy(() -> new LcaSimulationService(catalog, 1000, 1000).simulate(request))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("transport mode");
+	}
+
+	private static LcaSimulationRequest request() {
+		LcaCalculationRequest base = new LcaCalculationRequest();
+		base.setIngredients(List.of(ingredient("lait", "DAIRY")));
+		base.setTransportMode("road");
+
+		LcaSimulationRequest.IngredientSwap swap = new LcaSimulationRequest.IngredientSwap();
+		swap.setLabel("sugar");
+		swap.setIngredient("LAIT");
+		swap.setReplacement(ingredient("sucre", "SWEETENER"));
+
+		LcaSimulationRequest request = new LcaSimulationRequest();
+		request.setBase(base);
+		request.setSwaps(List.of(swap));
+		request.setTransportModes(MODES);
+		request.setTransportKm(KMS);
+		return request;
+	}
+
+	private static LcaCalculationRequest.IngredientImpact ingredient(String name, String category) {
+		LcaCalculationRequest.IngredientImpact ingredient = new LcaCalculationRequest.IngredientImpact();
+		ingredient.setName(name);
+		ingredient.setCategory(category);
+		ingredient.setImpactHint(0.5);
+		return ingredient;
+	}
+
+	private static ImpactFactor factor(String category, double co2, double water, double energy) {
+		ImpactFactor factor = new ImpactFactor();
+		factor.setCategory(category);
+		factor.setReference("FACTOR_" + category);
+		factor.setCo2PerKg(co2);
+		factor.setWaterPerKg(water);
+		factor.setEnergyPerKg(energy);
+		return factor;
+	}
+}
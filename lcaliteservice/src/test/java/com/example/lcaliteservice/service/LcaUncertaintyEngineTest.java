@@ -0,0 +1,97 @@
+package com.example.lcaliteservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.lcaliteservice.dto.LcaCalculationRequest;
+import com.example.lcaliteservice.entity.ImpactFactor;
+import com.example.lcaliteservice.entity.ImpactPercentiles;
+
+class LcaUncertaintyEngineTest {
+
+	private static final UUID PRODUCT_ID = UUID.fromString("6f1c2d3e-4a5b-4c6d-8e7f-901234567890");
+
+	private final ImpactFactorCatalog.Snapshot factors = new ImpactFactorCatalog.Snapshot(List.of(
+			factor("DAIRY", 9.2, 2.76), factor("SWEETENER", 3.5, 0), factor("OTHER", 1.0, 0.3)), Instant.now());
+
+	@Test
+	void sameProductAndFactorsGiveSamePercentiles() {
+		LcaCalculationRequest request = request(PRODUCT_ID, "DAIRY", 0.5);
+
+		LcaUncertaintyEngine.Uncertainty first = LcaUncertaintyEngine.simulate(request, factors, 10000, true);
+		LcaUncertaintyEngine.Uncertainty second = LcaUncertaintyEngine.simulate(request, factors, 10000, true);
+
+		assertThat(second.getCo2Kg()).isEqualTo(first.getCo2Kg());
+		assertThat(second.getWaterLiters()).isEqualTo(first.getWaterLiters());
+		assertThat(second.getEnergyMj()).isEqualTo(first.getEnergyMj());
+		assertThat(first.getSamples()).isEqualTo(10000);
+	}
+
+	@Test
+	void parallelAndSequentialSamplingAgree() {
+		LcaCalculationRequest request = request(PRODUCT_ID, "DAIRY", 0.5);
+
+		assertThat(LcaUncertaintyEngine.simulate(request, factors, 10000, false).getCo2Kg())
+				.isEqualTo(LcaUncertaintyEngine.simulate(request, factors, 10000, true).getCo2Kg());
+	}
+
+	@Test
+	void percentilesFollowTheFactorDistribution() {
+		// 0,5 kg d'un facteur N(9,2 ; 2,76) : p5, p50 et p95 attendus à 0,5 × (9,2 ∓ 1,645 × 2,76)
+		ImpactPercentiles co2 = LcaUncertaintyEngine.simulate(request(PRODUCT_ID, "DAIRY", 0.5), factors, 10000,
+				true).getCo2Kg();
+
+		assertThat(co2.getP5()).isCloseTo(2.33, within(0.1));
+		assertThat(co2.getP50()).isCloseTo(4.6, within(0.05));
+		assertThat(co2.getP95()).isCloseTo(6.87, within(0.1));
+	}
+
+	@Test
+	void factorWithoutUncertaintyGivesPointEstimate() {
+		LcaCalculationRequest request = request(PRODUCT_ID, "SWEETENER", 2);
+		request.setTransportKm(100);
+
+		// 2 × 3,5 + 100 km × 0,1 × 1,5 (route)
+		assertThat(LcaUncertaintyEngine.simulate(request, factors, 1000, true).getCo2Kg())
+				.isEqualTo(new ImpactPercentiles(22, 22, 22));
+	}
+
+	@Test
+	void unknownCategoryIsSampledAsOther() {
+		ImpactPercentiles unknown = LcaUncertaintyEngine.simulate(request(PRODUCT_ID, "SPICE", 1), factors, 5000,
+				true).getCo2Kg();
+		ImpactPercentiles other = LcaUncertaintyEngine.simulate(request(PRODUCT_ID, "OTHER", 1), factors, 5000,
+				true).getCo2Kg();
+
+		assertThat(unknown).isEqualTo(other);
+	}
+
+	private static LcaCalculationRequest request(UUID productId, String category, double impactHint) {
+		LcaCalculationRequest.IngredientImpact ingredient = new LcaCalculationRequest.IngredientImpact();
+		ingredient.setName(category.toLowerCase());
+		ingredient.setCategory(category);
+		ingredient.setImpactHint(impactHint);
+		LcaCalculationRequest request = new LcaCalculationRequest();
+		request.setProductId(productId);
+		request.setIngredients(List.of(ingredient));
+		request.setTransportMode("road");
+		return request;
+	}
+
+	private static ImpactFactor factor(String category, double co2, double co2StdDev) {
+		ImpactFactor factor = new ImpactFactor();
+		factor.setCategory(category);
+		factor.setReference("FACTOR_" + category);
+		factor.setCo2PerKg(co2);
+		factor.setWaterPerKg(100);
+		factor.setEnergyPerKg(5);
+		factor.setCo2StdDev(co2StdDev);
+		return factor;
+	}
+}
@@ -324,25 +324,33 @@ def ocr_image():
     """
     Extrait le texte d'une image via OCR
     Body: { "image": "base64_encoded_image" }
+       ou multipart/form-data avec une partie binaire "file"
     Retourne: { "text": "...", "method": "tesseract_ocr" }
     """
     try:
-        data = request.json
-        if not data or "image" not in data:
-            return jsonify({"error": "Missing 'image' field (base64)"}), 400
-        
         if not TESSERACT_AVAILABLE:
             return jsonify({"error": "Tesseract OCR not available"}), 503
-        
-        image_b64 = data["image"]
-        if not image_b64 or not isinstance(image_b64, str):
-            return jsonify({"error": "Invalid image data (must be base64 string)"}), 400
-        
-        try:
-            image_data = base64.b64decode(image_b64)
-        except Exception as e:
-            return jsonify({"error": f"Invalid base64 encoding: {str(e)}"}), 400
-        
+
+        upload = request.files.get("file")
+        if upload is not None:
+            image_data = upload.read()
+        else:
+            data = request.get_json(silent=True)
+            if not data or "image" not in data:
+                return jsonify({"error": "Missing 'image' field (base64) or 'file' part"}), 400
+
+            image_b64 = data["image"]
+            if not image_b64 or not isinstance(image_b64, str):
+                return jsonify({"error": "Invalid image data (must be base64 string)"}), 400
+
+            try:
+                image_data = base64.b64decode(image_b64)
+            except Exception as e:
+                return jsonify({"error": f"Invalid base64 encoding: {str(e)}"}), 400
+
+        if not image_data:
+            return jsonify({"error": "Empty image upload"}), 400
+
         text = extract_text_from_image(image_data)
         
         return jsonify({
@@ -362,25 +370,33 @@ def ocr_pdf():
     """
     Extrait le texte d'un PDF
     Body: { "pdf": "base64_encoded_pdf" }
+       ou multipart/form-data avec une partie binaire "file"
     Retourne: { "text": "...", "method": "pdfplumber" }
     """
     try:
-        data = request.json
-        if not data or "pdf" not in data:
-            return jsonify({"error": "Missing 'pdf' field (base64)"}), 400
-        
         if not PDF_AVAILABLE:
             return jsonify({"error": "PDF parsing not available"}), 503
-        
-        pdf_b64 = data["pdf"]
-        if not pdf_b64 or not isinstance(pdf_b64, str):
-            return jsonify({"error": "Invalid PDF data (must be base64 string)"}), 400
-        
-        try:
-            pdf_data = base64.b64decode(pdf_b64)
-        except Exception as e:
-            return jsonify({"error": f"Invalid base64 encoding: {str(e)}"}), 400
-        
+
+        upload = request.files.get("file")
+        if upload is not None:
+            pdf_data = upload.read()
+        else:
+            data = request.get_json(silent=True)
+            if not data or "pdf" not in data:
+                return jsonify({"error": "Missing 'pdf' field (base64) or 'file' part"}), 400
+
+            pdf_b64 = data["pdf"]
+            if not pdf_b64 or not isinstance(pdf_b64, str):
+                return jsonify({"error": "Invalid PDF data (must be base64 string)"}), 400
+
+            try:
+                pdf_data = base64.b64decode(pdf_b64)
+            except Exception as e:
+                return jsonify({"error": f"Invalid base64 encoding: {str(e)}"}), 400
+
+        if not pdf_data:
+            return jsonify({"error": "Empty PDF upload"}), 400
+
         text = extract_text_from_pdf(pdf_data)
         
         return jsonify({
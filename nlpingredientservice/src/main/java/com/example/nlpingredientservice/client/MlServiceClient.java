@@ -3,6 +3,9 @@ package com.example.nlpingredientservice.client;
 import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -11,18 +14,24 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.commons.ml.MlCallGuard;
+
 /**
  * Client REST pour appeler le microservice ML (Python) pour l'extraction NLP d'ingrédients
  */
 @Component
 public class MlServiceClient {
 
+	private static final Logger log = LoggerFactory.getLogger(MlServiceClient.class);
+
 	private final RestTemplate restTemplate;
+	private final MlCallGuard callGuard;
 	private final String mlServiceUrl;
 
-	public MlServiceClient(RestTemplate restTemplate,
+	public MlServiceClient(@Qualifier("restTemplate") RestTemplate restTemplate, MlCallGuard callGuard,
 			@Value("${ml.service.url:http://ml-service:8086}") String mlServiceUrl) {
 		this.restTemplate = restTemplate;
+		this.callGuard = callGuard;
 		this.mlServiceUrl = mlServiceUrl;
 	}
 
@@ -39,8 +48,8 @@ public class MlServiceClient {
 			HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
 
 			@SuppressWarnings("unchecked")
-			ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-					mlServiceUrl + "/nlp/extract-ingredients", request, (Class<Map<String, Object>>) (Class<?>) Map.class);
+			ResponseEntity<Map<String, Object>> response = callGuard.call(MlCallGuard.NLP, () -> restTemplate.postForEntity(
+					mlServiceUrl + "/nlp/extract-ingredients", request, (Class<Map<String, Object>>) (Class<?>) Map.class));
 
 			if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
 				Map<String, Object> body = response.getBody();
@@ -50,7 +59,7 @@ public class MlServiceClient {
 			}
 		} catch (Exception e) {
 			// Log mais ne pas faire échouer si ML échoue - on utilisera le fallback
-			System.err.println("ML ingredient extraction failed, using fallback: " + e.getMessage());
+			log.warn("ML ingredient extraction failed, using fallback", e);
 		}
 		return null;
 	}
@@ -0,0 +1,58 @@
+package com.example.nlpingredientservice.client;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Relit chez parser-produit-service le texte d'un produit publié par référence dans
+ * {@code product.parsed}, et vérifie qu'il correspond au hash annoncé par l'événement.
+ */
+@Component
+public class ProductTextClient {
+
+	private final RestTemplate restTemplate;
+	private final String parserServiceUrl;
+
+	public ProductTextClient(@Qualifier("parserRestTemplate") RestTemplate restTemplate,
+			@Value("${parser.service.url:http://parserproduitservice:8081}") String parserServiceUrl) {
+		this.restTemplate = restTemplate;
+		this.parserServiceUrl = parserServiceUrl;
+	}
+
+	/**
+	 * @return le texte, ou {@code null} si plus aucune fiche ne le porte : le produit a été
+	 *         reparsé depuis et un événement plus récent suit
+	 */
+	public String fetch(String textRef, String expectedSha256) {
+		String text;
+		try {
+			text = restTemplate.getForObject(parserServiceUrl + textRef, String.class);
+		} catch (HttpClientErrorException.NotFound e) {
+			return null;
+		}
+		if (text == null) {
+			throw new IllegalStateException("Product text not found: " + textRef);
+		}
+		if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(sha256(text))) {
+			throw new IllegalStateException("Product text hash mismatch for " + textRef);
+		}
+		return text;
+	}
+
+	private static String sha256(String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
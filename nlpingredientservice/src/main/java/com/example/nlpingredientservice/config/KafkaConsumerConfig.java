@@ -0,0 +1,52 @@
+package com.example.nlpingredientservice.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Mode de consommation parallèle de {@code product.parsed} ({@code nlp.consumer.parallel.enabled}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "nlp.consumer.parallel.enabled", havingValue = "true")
+public class KafkaConsumerConfig {
+
+	/**
+	 * Même configuration que la fabrique par défaut de Spring Boot, en mode lot.
+	 */
+	@Bean
+	public ConcurrentKafkaListenerContainerFactory<Object, Object> productParsedBatchFactory(
+			ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+			ConsumerFactory<Object, Object> consumerFactory) {
+		ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+		configurer.configure(factory, consumerFactory);
+		factory.setBatchListener(true);
+		return factory;
+	}
+
+	/**
+	 * Pool borné des extractions en parallèle, à dimensionner sur la capacité du service ML
+	 * ({@code ml.client.bulkhead.max-concurrent-calls}). Un lot attend la fin de ses tâches avant
+	 * le poll suivant ; si la file est pleine, le thread du consumer traite lui-même la tâche.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor nlpExtractionExecutor(@Value("${nlp.consumer.parallel.workers:8}") int workers,
+			@Value("${nlp.consumer.parallel.max-poll-records:100}") int maxPollRecords) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(workers);
+		executor.setMaxPoolSize(workers);
+		executor.setQueueCapacity(maxPollRecords);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setThreadNamePrefix("nlp-extract-");
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		return executor;
+	}
+}
@@ -1,16 +1,98 @@
 package com.example.nlpingredientservice.config;
 
+import java.time.Duration;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Client HTTP vers ml-service : pool de connexions keep-alive partagé, délais de connexion et de
+ * réponse bornés. Les métriques du pool sont publiées sous {@code httpcomponents.httpclient.pool.*}.
+ */
 @Configuration
 public class RestClientConfig {
 
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager mlConnectionManager(MeterRegistry meterRegistry,
+			@Value("${ml.client.pool.max-total:50}") int maxTotal,
+			@Value("${ml.client.pool.max-per-route:20}") int maxPerRoute,
+			@Value("${ml.client.connect-timeout:2s}") Duration connectTimeout,
+			@Value("${ml.client.pool.time-to-live:5m}") Duration timeToLive) {
+		PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(maxTotal)
+				.setMaxConnPerRoute(maxPerRoute)
+				.setDefaultConnectionConfig(ConnectionConfig.custom()
+						.setConnectTimeout(Timeout.of(connectTimeout))
+						.setTimeToLive(TimeValue.of(timeToLive))
+						.setValidateAfterInactivity(TimeValue.ofSeconds(10))
+						.build())
+				.build();
+		new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "ml-service").bindTo(meterRegistry);
+		return connectionManager;
+	}
+
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient mlHttpClient(PoolingHttpClientConnectionManager mlConnectionManager,
+			@Value("${ml.client.pool.acquire-timeout:1s}") Duration acquireTimeout,
+			@Value("${ml.client.timeouts.nlp:10s}") Duration responseTimeout,
+			@Value("${ml.client.keep-alive:30s}") Duration keepAlive) {
+		return HttpClients.custom()
+				.setConnectionManager(mlConnectionManager)
+				.setConnectionManagerShared(true)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+						.setResponseTimeout(Timeout.of(responseTimeout))
+						.build())
+				.setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+				.evictExpiredConnections()
+				.evictIdleConnections(TimeValue.of(keepAlive))
+				.disableAutomaticRetries()
+				.build();
+	}
+
 	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public RestTemplate restTemplate(@Qualifier("mlHttpClient") CloseableHttpClient mlHttpClient) {
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(mlHttpClient));
 	}
-}
 
+	/**
+	 * Client vers parser-produit-service, pour relire les textes produits publiés par référence.
+	 * Son pool est distinct de celui de ml-service : un parser lent n'y prend pas de connexions.
+	 */
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient parserHttpClient(
+			@Value("${parser.client.connect-timeout:2s}") Duration connectTimeout,
+			@Value("${parser.client.read-timeout:5s}") Duration readTimeout) {
+		return HttpClients.custom()
+				.setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+						.setDefaultConnectionConfig(ConnectionConfig.custom()
+								.setConnectTimeout(Timeout.of(connectTimeout))
+								.build())
+						.build())
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setResponseTimeout(Timeout.of(readTimeout))
+						.build())
+				.disableAutomaticRetries()
+				.build();
+	}
 
+	@Bean
+	public RestTemplate parserRestTemplate(@Qualifier("parserHttpClient") CloseableHttpClient parserHttpClient) {
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(parserHttpClient));
+	}
+}
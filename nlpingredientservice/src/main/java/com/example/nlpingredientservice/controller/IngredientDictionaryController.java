@@ -0,0 +1,41 @@
+package com.example.nlpingredientservice.controller;
+
+import java.io.UncheckedIOException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.nlpingredientservice.dto.DictionaryInfo;
+import com.example.nlpingredientservice.service.IngredientClassifier;
+
+@RestController
+@RequestMapping("/nlp/dictionary")
+public class IngredientDictionaryController {
+
+	private final IngredientClassifier classifier;
+
+	public IngredientDictionaryController(IngredientClassifier classifier) {
+		this.classifier = classifier;
+	}
+
+	@GetMapping
+	public ResponseEntity<DictionaryInfo> info() {
+		return ResponseEntity.ok(classifier.info());
+	}
+
+	/**
+	 * Recharge le dictionnaire sans redémarrage. En cas d'erreur, la version courante reste active.
+	 */
+	@PostMapping("/reload")
+	public ResponseEntity<DictionaryInfo> reload() {
+		try {
+			return ResponseEntity.ok(classifier.reload());
+		} catch (UncheckedIOException e) {
+			return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(classifier.info());
+		}
+	}
+}
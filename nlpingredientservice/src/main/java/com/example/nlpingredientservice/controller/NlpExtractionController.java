@@ -1,10 +1,9 @@
 package com.example.nlpingredientservice.controller;
 
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,26 +11,31 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.nlpingredientservice.dto.NlpExtractRequest;
-import com.example.nlpingredientservice.dto.ProductWithIngredients;
-import com.example.nlpingredientservice.dto.ProductWithIngredients.IngredientDto;
 import com.example.nlpingredientservice.entity.NormalizedIngredient;
 import com.example.nlpingredientservice.repository.NormalizedIngredientRepository;
+import com.example.nlpingredientservice.service.IngredientCatalogService;
 import com.example.nlpingredientservice.service.NlpExtractionService;
 
 @RestController
 @RequestMapping("/nlp")
 public class NlpExtractionController {
 
+	private static final int DEFAULT_PAGE_SIZE = 50;
+
 	private final NlpExtractionService extractionService;
 	private final NormalizedIngredientRepository repository;
+	private final IngredientCatalogService catalogService;
 
 	public NlpExtractionController(NlpExtractionService extractionService,
-			NormalizedIngredientRepository repository) {
+			NormalizedIngredientRepository repository, IngredientCatalogService catalogService) {
 		this.extractionService = extractionService;
 		this.repository = repository;
+		this.catalogService = catalogService;
 	}
 
 	@PostMapping("/extract")
@@ -46,54 +50,30 @@ public class NlpExtractionController {
 	}
 
 	/**
-	 * Get all processed products with their extracted ingredients
+	 * Produits traités avec leurs ingrédients, du plus récemment extrait au plus ancien. Sans
+	 * paramètre, la réponse garde sa forme historique : un tableau de tous les produits, écrit en
+	 * flux. Avec {@code cursor} ou {@code limit}, elle est paginée :
+	 * {@code {"items": [...], "nextCursor": "..."}}, le curseur se passant tel quel pour obtenir la
+	 * page suivante.
 	 */
 	@GetMapping("/products")
-	public ResponseEntity<List<ProductWithIngredients>> getAllProcessedProducts() {
-		// Get all ingredients and group by productId
-		List<NormalizedIngredient> allIngredients = repository.findAll();
-
-		Map<UUID, List<NormalizedIngredient>> byProduct = allIngredients.stream()
-				.collect(Collectors.groupingBy(NormalizedIngredient::getProductId));
-
-		List<ProductWithIngredients> products = byProduct.entrySet().stream()
-				.map(entry -> {
-					UUID productId = entry.getKey();
-					List<NormalizedIngredient> ingredients = entry.getValue();
-
-					List<IngredientDto> ingredientDtos = ingredients.stream()
-							.map(i -> new IngredientDto(
-									i.getId(),
-									i.getName(),
-									i.getCategory(),
-									i.isOrganic(),
-									i.getImpactHint(),
-									i.getEcoReference(),
-									i.getExtractedAt()))
-							.toList();
-
-					// Get the most recent extraction time as processedAt
-					var latestExtraction = ingredients.stream()
-							.map(NormalizedIngredient::getExtractedAt)
-							.max(java.time.Instant::compareTo)
-							.orElse(null);
-
-					return new ProductWithIngredients(
-							productId,
-							null, // GTIN not stored in NormalizedIngredient
-							null, // Product name not stored in NormalizedIngredient
-							latestExtraction,
-							ingredientDtos);
-				})
-				.sorted((a, b) -> {
-					if (a.getProcessedAt() == null)
-						return 1;
-					if (b.getProcessedAt() == null)
-						return -1;
-					return b.getProcessedAt().compareTo(a.getProcessedAt());
-				})
-				.toList();
-
-		return ResponseEntity.ok(products);
+	public ResponseEntity<StreamingResponseBody> getAllProcessedProducts(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit) {
+		if (cursor == null && limit == null) {
+			return ResponseEntity.ok()
+					.contentType(MediaType.APPLICATION_JSON)
+					.body(catalogService::writeAll);
+		}
+		IngredientCatalogService.PageKey after;
+		try {
+			after = catalogService.parseCursor(cursor);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(output -> catalogService.writePage(after, pageSize, output));
 	}
 }
@@ -0,0 +1,42 @@
+package com.example.nlpingredientservice.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class DictionaryInfo {
+
+	private final String version;
+	private final int termCount;
+	private final Map<String, Integer> termsByCategory;
+	private final String location;
+	private final Instant loadedAt;
+
+	public DictionaryInfo(String version, int termCount, Map<String, Integer> termsByCategory, String location,
+			Instant loadedAt) {
+		this.version = version;
+		this.termCount = termCount;
+		this.termsByCategory = termsByCategory;
+		this.location = location;
+		this.loadedAt = loadedAt;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public int getTermCount() {
+		return termCount;
+	}
+
+	public Map<String, Integer> getTermsByCategory() {
+		return termsByCategory;
+	}
+
+	public String getLocation() {
+		return location;
+	}
+
+	public Instant getLoadedAt() {
+		return loadedAt;
+	}
+}
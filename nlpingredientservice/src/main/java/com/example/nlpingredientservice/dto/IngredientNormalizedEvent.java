@@ -5,6 +5,7 @@ import java.util.UUID;
 
 public class IngredientNormalizedEvent {
 
+	private UUID eventId;
 	private UUID productId;
 	private List<NormalizedIngredientPayload> ingredients;
 
@@ -16,6 +17,14 @@ public class IngredientNormalizedEvent {
 		this.ingredients = ingredients;
 	}
 
+	public UUID getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(UUID eventId) {
+		this.eventId = eventId;
+	}
+
 	public UUID getProductId() {
 		return productId;
 	}
@@ -5,6 +5,7 @@ import java.util.UUID;
 
 public class ProductParsedEvent {
 
+	private UUID eventId;
 	private UUID productId;
 	private String gtin;
 	private String name;
@@ -12,11 +13,21 @@ public class ProductParsedEvent {
 	private String originCountry;
 	private String packaging;
 	private String normalizedText;
+	private String textRef;
+	private String textSha256;
 	private Instant parsedAt;
 
 	public ProductParsedEvent() {
 	}
 
+	public UUID getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(UUID eventId) {
+		this.eventId = eventId;
+	}
+
 	public UUID getProductId() {
 		return productId;
 	}
@@ -73,6 +84,22 @@ public class ProductParsedEvent {
 		this.normalizedText = normalizedText;
 	}
 
+	public String getTextRef() {
+		return textRef;
+	}
+
+	public void setTextRef(String textRef) {
+		this.textRef = textRef;
+	}
+
+	public String getTextSha256() {
+		return textSha256;
+	}
+
+	public void setTextSha256(String textSha256) {
+		this.textSha256 = textSha256;
+	}
+
 	public Instant getParsedAt() {
 		return parsedAt;
 	}
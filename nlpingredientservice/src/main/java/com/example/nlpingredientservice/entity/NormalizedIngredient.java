@@ -8,10 +8,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "normalized_ingredient")
+@Table(name = "normalized_ingredient",
+		indexes = @Index(name = "idx_normalized_ingredient_product_id_name", columnList = "productId, name"))
 public class NormalizedIngredient {
 
 	@Id
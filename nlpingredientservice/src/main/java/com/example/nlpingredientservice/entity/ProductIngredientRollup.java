@@ -0,0 +1,52 @@
+package com.example.nlpingredientservice.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Agrégat par produit des ingrédients extraits, tenu à jour à chaque extraction : le listing des
+ * produits traités se pagine sur cette table sans regrouper {@code normalized_ingredient}.
+ */
+@Entity
+@Table(name = "nlp_product_ingredient_rollup",
+		indexes = @Index(name = "idx_nlp_rollup_latest_extracted_at", columnList = "latestExtractedAt, productId"))
+public class ProductIngredientRollup {
+
+	@Id
+	private UUID productId;
+
+	private int ingredientCount;
+
+	@Column(nullable = false)
+	private Instant latestExtractedAt;
+
+	public UUID getProductId() {
+		return productId;
+	}
+
+	public void setProductId(UUID productId) {
+		this.productId = productId;
+	}
+
+	public int getIngredientCount() {
+		return ingredientCount;
+	}
+
+	public void setIngredientCount(int ingredientCount) {
+		this.ingredientCount = ingredientCount;
+	}
+
+	public Instant getLatestExtractedAt() {
+		return latestExtractedAt;
+	}
+
+	public void setLatestExtractedAt(Instant latestExtractedAt) {
+		this.latestExtractedAt = latestExtractedAt;
+	}
+}
@@ -1,10 +1,12 @@
 package com.example.nlpingredientservice.messaging;
 
+import java.util.UUID;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import com.example.commons.outbox.EventOutbox;
 import com.example.nlpingredientservice.dto.IngredientNormalizedEvent;
 
 @Component
@@ -14,16 +16,17 @@ public class IngredientEventProducer {
 
 	private static final Logger log = LoggerFactory.getLogger(IngredientEventProducer.class);
 
-	private final KafkaTemplate<String, IngredientNormalizedEvent> kafkaTemplate;
+	private final EventOutbox outbox;
 
-	public IngredientEventProducer(KafkaTemplate<String, IngredientNormalizedEvent> kafkaTemplate) {
-		this.kafkaTemplate = kafkaTemplate;
+	public IngredientEventProducer(EventOutbox outbox) {
+		this.outbox = outbox;
 	}
 
 	public void publish(IngredientNormalizedEvent event) {
 		log.info("Publishing {} normalized ingredients for product {}", event.getIngredients().size(),
 				event.getProductId());
-		kafkaTemplate.send(INGREDIENTS_NORMALIZED_TOPIC, event.getProductId().toString(), event);
+		event.setEventId(UUID.randomUUID());
+		outbox.enqueue(event.getEventId(), INGREDIENTS_NORMALIZED_TOPIC, event.getProductId().toString(), event);
 	}
 }
 
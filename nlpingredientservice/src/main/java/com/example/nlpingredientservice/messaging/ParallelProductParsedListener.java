@@ -0,0 +1,121 @@
+package com.example.nlpingredientservice.messaging;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.example.commons.dedup.EventDeduplicator;
+import com.example.nlpingredientservice.dto.ProductParsedEvent;
+
+/**
+ * Consommation parallèle de {@code product.parsed} à l'intérieur d'une partition : les
+ * enregistrements d'un lot sont regroupés par clé (productId) et chaque groupe est traité dans
+ * l'ordre des offsets sur {@code nlpExtractionExecutor}. Des produits différents attendent ainsi
+ * le service ML en même temps, alors que le topic n'a que 3 partitions.
+ * <p>
+ * En cas d'échec, le lot est rejoué à partir du premier enregistrement en échec : les offsets
+ * précédents sont commités, et les enregistrements suivants déjà traités sont écartés à la
+ * redélivrance par {@link EventDeduplicator}.
+ */
+@Component
+@ConditionalOnProperty(name = "nlp.consumer.parallel.enabled", havingValue = "true")
+public class ParallelProductParsedListener {
+
+	private static final Logger log = LoggerFactory.getLogger(ParallelProductParsedListener.class);
+
+	private final ProductParsedHandler handler;
+	private final ThreadPoolTaskExecutor executor;
+
+	public ParallelProductParsedListener(ProductParsedHandler handler, ThreadPoolTaskExecutor nlpExtractionExecutor) {
+		this.handler = handler;
+		this.executor = nlpExtractionExecutor;
+	}
+
+	@KafkaListener(topics = "product.parsed", groupId = ProductParsedHandler.CONSUMER,
+			containerFactory = "productParsedBatchFactory",
+			properties = "max.poll.records=${nlp.consumer.parallel.max-poll-records:100}")
+	public void handleProductParsed(List<ConsumerRecord<String, ProductParsedEvent>> records) {
+		List<List<Integer>> groups = groupByKey(records);
+		log.info("Consuming {} parsed products in {} parallel groups for NLP extraction", records.size(),
+				groups.size());
+
+		List<CompletableFuture<Failure>> futures = new ArrayList<>(groups.size());
+		for (List<Integer> group : groups) {
+			futures.add(CompletableFuture.supplyAsync(() -> processInOrder(records, group), executor));
+		}
+
+		Failure first = null;
+		for (CompletableFuture<Failure> future : futures) {
+			Failure failure = future.join();
+			if (failure != null && (first == null || failure.index < first.index)) {
+				first = failure;
+			}
+		}
+		if (first != null) {
+			throw new BatchListenerFailedException("NLP extraction failed for product "
+					+ records.get(first.index).key(), first.cause, first.index);
+		}
+	}
+
+	/**
+	 * Indices des enregistrements groupés par clé, dans l'ordre du lot. Une même clé est toujours
+	 * sur la même partition ; un enregistrement sans clé forme son propre groupe.
+	 */
+	private static List<List<Integer>> groupByKey(List<ConsumerRecord<String, ProductParsedEvent>> records) {
+		Map<String, List<Integer>> byKey = new LinkedHashMap<>();
+		List<List<Integer>> groups = new ArrayList<>();
+		for (int i = 0; i < records.size(); i++) {
+			String key = records.get(i).key();
+			if (key == null) {
+				groups.add(List.of(i));
+				continue;
+			}
+			List<Integer> group = byKey.get(key);
+			if (group == null) {
+				group = new ArrayList<>();
+				byKey.put(key, group);
+				groups.add(group);
+			}
+			group.add(i);
+		}
+		return groups;
+	}
+
+	/**
+	 * Traite les enregistrements d'une clé dans l'ordre et s'arrête au premier échec : les
+	 * suivants de la même clé seront rejoués après lui.
+	 */
+	private Failure processInOrder(List<ConsumerRecord<String, ProductParsedEvent>> records, List<Integer> group) {
+		for (int index : group) {
+			try {
+				handler.handle(records.get(index).value());
+			} catch (RuntimeException e) {
+				log.warn("NLP extraction failed for record {} of product {}", records.get(index).offset(),
+						records.get(index).key(), e);
+				return new Failure(index, e);
+			}
+		}
+		return null;
+	}
+
+	private static class Failure {
+		private final int index;
+		private final RuntimeException cause;
+
+		Failure(int index, RuntimeException cause) {
+			this.index = index;
+			this.cause = cause;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.example.nlpingredientservice.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.commons.dedup.EventDeduplicator;
+import com.example.nlpingredientservice.client.MlServiceClient;
+import com.example.nlpingredientservice.client.ProductTextClient;
+import com.example.nlpingredientservice.dto.ProductParsedEvent;
+import com.example.nlpingredientservice.service.NlpExtractionService;
+
+/**
+ * Traitement d'un événement {@code product.parsed}, commun aux modes de consommation séquentiel
+ * ({@link ProductParsedListener}) et parallèle ({@link ParallelProductParsedListener}).
+ */
+@Component
+public class ProductParsedHandler {
+
+	static final String CONSUMER = "nlp-ingredient-service";
+
+	private static final Logger log = LoggerFactory.getLogger(ProductParsedHandler.class);
+
+	private final NlpExtractionService extractionService;
+	private final ProductTextClient productTextClient;
+	private final EventDeduplicator deduplicator;
+
+	public ProductParsedHandler(NlpExtractionService extractionService, ProductTextClient productTextClient,
+			EventDeduplicator deduplicator) {
+		this.extractionService = extractionService;
+		this.productTextClient = productTextClient;
+		this.deduplicator = deduplicator;
+	}
+
+	public void handle(ProductParsedEvent event) {
+		// Relecture du texte et extraction ML hors de la transaction de déduplication : seules les
+		// écritures gardent une connexion du pool
+		deduplicator.processOnce(CONSUMER, event.getEventId(), () -> prepare(event), prepared -> {
+			if (prepared != null) {
+				extractionService.processProductEvent(event.getProductId(), prepared.text(), prepared.mlResponse());
+			}
+		});
+	}
+
+	private Prepared prepare(ProductParsedEvent event) {
+		// Texte long publié par référence (claim check) : relu chez le parser à la réception
+		String text = event.getNormalizedText();
+		if (text == null && event.getTextRef() != null) {
+			text = productTextClient.fetch(event.getTextRef(), event.getTextSha256());
+			if (text == null) {
+				log.info("Skipping superseded product.parsed event for product {}: {} is gone",
+						event.getProductId(), event.getTextRef());
+				return null;
+			}
+		}
+		return new Prepared(text, extractionService.analyze(text));
+	}
+
+	private record Prepared(String text, MlServiceClient.MlIngredientResponse mlResponse) {
+	}
+}
@@ -2,27 +2,27 @@ package com.example.nlpingredientservice.messaging;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 import com.example.nlpingredientservice.dto.ProductParsedEvent;
-import com.example.nlpingredientservice.service.NlpExtractionService;
 
 @Component
+@ConditionalOnProperty(name = "nlp.consumer.parallel.enabled", havingValue = "false", matchIfMissing = true)
 public class ProductParsedListener {
 
 	private static final Logger log = LoggerFactory.getLogger(ProductParsedListener.class);
 
-	private final NlpExtractionService extractionService;
+	private final ProductParsedHandler handler;
 
-	public ProductParsedListener(NlpExtractionService extractionService) {
-		this.extractionService = extractionService;
+	public ProductParsedListener(ProductParsedHandler handler) {
+		this.handler = handler;
 	}
 
-	@KafkaListener(topics = "product.parsed", groupId = "nlp-ingredient-service")
+	@KafkaListener(topics = "product.parsed", groupId = ProductParsedHandler.CONSUMER)
 	public void handleProductParsed(ProductParsedEvent event) {
 		log.info("Consuming parsed product {} for NLP extraction", event.getProductId());
-		extractionService.processProductEvent(event.getProductId(), event.getNormalizedText());
+		handler.handle(event);
 	}
 }
-
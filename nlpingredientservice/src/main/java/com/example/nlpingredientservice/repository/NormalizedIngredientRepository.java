@@ -1,14 +1,40 @@
 package com.example.nlpingredientservice.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.example.nlpingredientservice.entity.NormalizedIngredient;
 
+import jakarta.persistence.QueryHint;
+
 public interface NormalizedIngredientRepository extends JpaRepository<NormalizedIngredient, UUID> {
 
 	List<NormalizedIngredient> findByProductId(UUID productId);
-}
 
+	/**
+	 * Un seul {@code DELETE} pour tous les ingrédients du produit, sans les charger.
+	 */
+	@Modifying
+	@Query("DELETE FROM NormalizedIngredient i WHERE i.productId = :productId")
+	int deleteByProductId(@Param("productId") UUID productId);
+
+	/**
+	 * Ingrédients d'une page de produits, dans l'ordre du listing (extraction la plus récente
+	 * d'abord) : les lignes sont lues par paquets via un curseur serveur, sans tout charger.
+	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT i FROM NormalizedIngredient i JOIN ProductIngredientRollup r ON r.productId = i.productId "
+			+ "WHERE i.productId IN :productIds "
+			+ "ORDER BY r.latestExtractedAt DESC, r.productId DESC, i.name")
+	Stream<NormalizedIngredient> streamByProductIdIn(@Param("productIds") Collection<UUID> productIds);
+}
@@ -0,0 +1,48 @@
+package com.example.nlpingredientservice.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.nlpingredientservice.entity.ProductIngredientRollup;
+
+public interface ProductIngredientRollupRepository extends JpaRepository<ProductIngredientRollup, UUID> {
+
+	@Query("SELECT r FROM ProductIngredientRollup r ORDER BY r.latestExtractedAt DESC, r.productId DESC")
+	List<ProductIngredientRollup> findFirstPage(Limit limit);
+
+	/**
+	 * Page suivant la clé {@code (latestExtractedAt, productId)} de la dernière ligne déjà lue.
+	 */
+	@Query("SELECT r FROM ProductIngredientRollup r WHERE r.latestExtractedAt < :afterExtractedAt "
+			+ "OR (r.latestExtractedAt = :afterExtractedAt AND r.productId < :afterProductId) "
+			+ "ORDER BY r.latestExtractedAt DESC, r.productId DESC")
+	List<ProductIngredientRollup> findPageAfter(@Param("afterExtractedAt") Instant afterExtractedAt,
+			@Param("afterProductId") UUID afterProductId, Limit limit);
+
+	@Modifying
+	@Query(value = "INSERT INTO nlp_product_ingredient_rollup (product_id, ingredient_count, latest_extracted_at) "
+			+ "VALUES (:productId, :ingredientCount, :latestExtractedAt) ON CONFLICT (product_id) DO UPDATE "
+			+ "SET ingredient_count = EXCLUDED.ingredient_count, latest_extracted_at = EXCLUDED.latest_extracted_at",
+			nativeQuery = true)
+	int upsert(@Param("productId") UUID productId, @Param("ingredientCount") int ingredientCount,
+			@Param("latestExtractedAt") Instant latestExtractedAt);
+
+	/**
+	 * Construit les agrégats des produits extraits avant l'existence de la table. Les produits déjà
+	 * présents sont laissés tels quels, l'opération peut donc être rejouée.
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = "INSERT INTO nlp_product_ingredient_rollup (product_id, ingredient_count, latest_extracted_at) "
+			+ "SELECT product_id, count(*), max(extracted_at) FROM normalized_ingredient GROUP BY product_id "
+			+ "ON CONFLICT (product_id) DO NOTHING", nativeQuery = true)
+	int backfill();
+}
@@ -0,0 +1,220 @@
+package com.example.nlpingredientservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.nlpingredientservice.dto.ProductWithIngredients;
+import com.example.nlpingredientservice.dto.ProductWithIngredients.IngredientDto;
+import com.example.nlpingredientservice.entity.NormalizedIngredient;
+import com.example.nlpingredientservice.entity.ProductIngredientRollup;
+import com.example.nlpingredientservice.repository.NormalizedIngredientRepository;
+import com.example.nlpingredientservice.repository.ProductIngredientRollupRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Listing des produits traités par curseur sur {@code nlp_product_ingredient_rollup}, du plus
+ * récemment extrait au plus ancien. Le coût d'une page ne dépend ni de sa profondeur ni du nombre
+ * total d'ingrédients, et la réponse est écrite en flux au fil de la lecture des ingrédients.
+ */
+@Service
+public class IngredientCatalogService {
+
+	private static final Logger log = LoggerFactory.getLogger(IngredientCatalogService.class);
+
+	private final ProductIngredientRollupRepository rollupRepository;
+	private final NormalizedIngredientRepository ingredientRepository;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate snapshotTransaction;
+	private final int maxPageSize;
+
+	public IngredientCatalogService(ProductIngredientRollupRepository rollupRepository,
+			NormalizedIngredientRepository ingredientRepository, EntityManager entityManager,
+			ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+			@Value("${nlp.listing.max-page-size:500}") int maxPageSize) {
+		this.rollupRepository = rollupRepository;
+		this.ingredientRepository = ingredientRepository;
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+		this.snapshotTransaction = new TransactionTemplate(transactionManager);
+		this.snapshotTransaction.setReadOnly(true);
+		this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		this.maxPageSize = maxPageSize;
+	}
+
+	/**
+	 * Agrégats des produits extraits avant l'introduction de la table, construits au premier
+	 * démarrage qui la trouve vide.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfillRollups() {
+		if (rollupRepository.count() == 0) {
+			int inserted = rollupRepository.backfill();
+			if (inserted > 0) {
+				log.info("Backfilled {} product ingredient rollups", inserted);
+			}
+		}
+	}
+
+	/**
+	 * Valide le curseur reçu avant que la réponse ne commence à être écrite.
+	 *
+	 * @return la clé de la dernière ligne de la page précédente, {@code null} pour la première page
+	 * @throws IllegalArgumentException si le curseur n'a pas été produit par ce service
+	 */
+	public PageKey parseCursor(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		String[] key = decode(cursor);
+		return new PageKey(Instant.parse(key[0]), UUID.fromString(key[1]));
+	}
+
+	/**
+	 * Écrit tous les produits en un tableau JSON de {@link ProductWithIngredients}, la forme
+	 * historique de {@code GET /nlp/products}. Le tableau est produit page par page
+	 * ({@code nlp.listing.max-page-size} produits par instantané) : la mémoire reste bornée quel que
+	 * soit le nombre de produits.
+	 */
+	public void writeAll(OutputStream output) throws IOException {
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+			generator.writeStartArray();
+			PageKey after = null;
+			do {
+				PageKey previous = after;
+				after = snapshotTransaction.execute(status -> writeProducts(previous, maxPageSize, generator));
+			} while (after != null);
+			generator.writeEndArray();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Écrit la page en JSON, {@code {"items": [...], "nextCursor": "..."}}, chaque élément étant un
+	 * {@link ProductWithIngredients}. Les ingrédients arrivent triés dans l'ordre de la page : un
+	 * seul produit est tenu en mémoire à la fois. Le curseur suivant est écrit en dernier.
+	 */
+	public void writePage(PageKey after, int limit, OutputStream output) throws IOException {
+		int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("items");
+			// Page et ingrédients lus dans le même instantané de la base, pour que les deux
+			// requêtes voient le même ordre même si un produit est ré-extrait entre-temps
+			PageKey next = snapshotTransaction.execute(status -> writeProducts(after, pageSize, generator));
+			generator.writeEndArray();
+			generator.writeStringField("nextCursor",
+					next == null ? null : encode(next.getLatestExtractedAt(), next.getProductId()));
+			generator.writeEndObject();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * @return la clé de la dernière ligne écrite s'il reste des produits après elle, {@code null} sinon
+	 */
+	private PageKey writeProducts(PageKey after, int pageSize, JsonGenerator generator) {
+		// Une ligne de plus que demandé pour savoir s'il existe une page suivante
+		Limit fetch = Limit.of(pageSize + 1);
+		List<ProductIngredientRollup> rows = after == null
+				? rollupRepository.findFirstPage(fetch)
+				: rollupRepository.findPageAfter(after.getLatestExtractedAt(), after.getProductId(), fetch);
+		List<ProductIngredientRollup> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+		if (page.isEmpty()) {
+			return null;
+		}
+
+		List<UUID> productIds = page.stream().map(ProductIngredientRollup::getProductId).toList();
+		try (Stream<NormalizedIngredient> ingredients = ingredientRepository.streamByProductIdIn(productIds)) {
+			Iterator<NormalizedIngredient> iterator = ingredients.iterator();
+			NormalizedIngredient next = iterator.hasNext() ? iterator.next() : null;
+			for (ProductIngredientRollup product : page) {
+				List<IngredientDto> dtos = new ArrayList<>(product.getIngredientCount());
+				while (next != null && next.getProductId().equals(product.getProductId())) {
+					dtos.add(new IngredientDto(next.getId(), next.getName(), next.getCategory(), next.isOrganic(),
+							next.getImpactHint(), next.getEcoReference(), next.getExtractedAt()));
+					next = iterator.hasNext() ? iterator.next() : null;
+				}
+				// GTIN et nom du produit ne sont pas connus de ce service
+				generator.writeObject(new ProductWithIngredients(product.getProductId(), null, null,
+						product.getLatestExtractedAt(), dtos));
+				// Ingrédients déjà sérialisés : inutile de les garder dans le contexte de persistance
+				entityManager.clear();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		if (rows.size() <= pageSize) {
+			return null;
+		}
+		ProductIngredientRollup last = page.get(pageSize - 1);
+		return new PageKey(last.getLatestExtractedAt(), last.getProductId());
+	}
+
+	private static String encode(Instant latestExtractedAt, UUID productId) {
+		String key = latestExtractedAt + "|" + productId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String[] decode(String cursor) {
+		try {
+			String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+			if (key.length != 2) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			Instant.parse(key[0]);
+			UUID.fromString(key[1]);
+			return key;
+		} catch (DateTimeParseException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+
+	/**
+	 * Clé {@code (latestExtractedAt, productId)} de la dernière ligne d'une page.
+	 */
+	public static class PageKey {
+		private final Instant latestExtractedAt;
+		private final UUID productId;
+
+		public PageKey(Instant latestExtractedAt, UUID productId) {
+			this.latestExtractedAt = latestExtractedAt;
+			this.productId = productId;
+		}
+
+		public Instant getLatestExtractedAt() {
+			return latestExtractedAt;
+		}
+
+		public UUID getProductId() {
+			return productId;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.example.nlpingredientservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.nlpingredientservice.dto.DictionaryInfo;
+
+/**
+ * Classification des ingrédients par dictionnaire, utilisée quand le service ML ne répond pas.
+ * Le dictionnaire ({@code nlp.dictionary.location}, un fichier ou une ressource du classpath)
+ * est rechargé à chaud, sur demande ou quand sa date de modification change ; un fichier
+ * invalide laisse le dictionnaire courant en place.
+ */
+@Service
+public class IngredientClassifier {
+
+	private static final Logger log = LoggerFactory.getLogger(IngredientClassifier.class);
+
+	private final Resource resource;
+	private final String location;
+
+	// Remplacé en bloc à chaque rechargement : les lectures concurrentes voient l'ancien ou le
+	// nouveau dictionnaire, jamais un état intermédiaire
+	private volatile IngredientDictionary dictionary;
+	private volatile Instant loadedAt;
+	private volatile long lastModified;
+
+	public IngredientClassifier(ResourceLoader resourceLoader,
+			@Value("${nlp.dictionary.location:classpath:dictionary/ingredients.txt}") String location) {
+		this.resource = resourceLoader.getResource(location);
+		this.location = location;
+		reload();
+	}
+
+	/**
+	 * @return la catégorie du plus long terme reconnu, {@code OTHER} si aucun
+	 */
+	public String classify(String ingredient) {
+		String category = dictionary.classify(ingredient);
+		return category != null ? category : IngredientDictionary.UNKNOWN_CATEGORY;
+	}
+
+	/**
+	 * Classe en un seul parcours les segments {@code [starts[i], ends[i])} de {@code text}.
+	 */
+	public String[] classifyAll(CharSequence text, int[] starts, int[] ends) {
+		String[] categories = dictionary.classifyAll(text, starts, ends);
+		for (int i = 0; i < categories.length; i++) {
+			if (categories[i] == null) {
+				categories[i] = IngredientDictionary.UNKNOWN_CATEGORY;
+			}
+		}
+		return categories;
+	}
+
+	public synchronized DictionaryInfo reload() {
+		try {
+			long modified = lastModified();
+			IngredientDictionary loaded;
+			try (InputStream input = resource.getInputStream()) {
+				loaded = IngredientDictionary.load(input);
+			}
+			dictionary = loaded;
+			loadedAt = Instant.now();
+			lastModified = modified;
+			log.info("Ingredient dictionary {} loaded from {}: {} terms", loaded.getVersion(), location,
+					loaded.getTermCount());
+			return info();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot load ingredient dictionary from " + location, e);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${nlp.dictionary.poll-interval-ms:30000}")
+	public void reloadIfModified() {
+		if (lastModified() == lastModified) {
+			return;
+		}
+		try {
+			reload();
+		} catch (UncheckedIOException e) {
+			log.error("Ingredient dictionary reload failed, keeping version {}", dictionary.getVersion(), e);
+		}
+	}
+
+	public DictionaryInfo info() {
+		IngredientDictionary current = dictionary;
+		return new DictionaryInfo(current.getVersion(), current.getTermCount(), current.getTermsByCategory(),
+				location, loadedAt);
+	}
+
+	private long lastModified() {
+		try {
+			return resource.lastModified();
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package com.example.nlpingredientservice.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Dictionnaire d'ingrédients compilé en automate d'Aho–Corasick : un seul parcours du texte
+ * trouve toutes les occurrences de tous les termes, quel que soit leur nombre. Immuable, il est
+ * remplacé en bloc lors d'un rechargement.
+ *
+ * <p>Format de la ressource : lignes {@code # version: x} et commentaires {@code #}, sections
+ * {@code [CATEGORIE]}, puis un terme par ligne. La comparaison se fait après repli de la casse
+ * et des accents, caractère par caractère, pour que les positions trouvées dans le texte replié
+ * soient celles du texte d'origine.
+ */
+public final class IngredientDictionary {
+
+	public static final String UNKNOWN_CATEGORY = "OTHER";
+
+	private static final String VERSION_PREFIX = "# version:";
+	private static final char[] FOLD_TABLE = buildFoldTable();
+
+	private final String version;
+	private final Map<String, Integer> termsByCategory;
+	private final int termCount;
+
+	// Automate : transitions triées par caractère, lien d'échec, et pour chaque état final la
+	// longueur et la catégorie du terme reconnu
+	private final char[][] edgeChars;
+	private final int[][] edgeTargets;
+	private final int[] fail;
+	private final int[] output;
+	private final int[] termLength;
+	private final String[] termCategory;
+
+	private IngredientDictionary(String version, Map<String, String> terms) {
+		this.version = version;
+		this.termCount = terms.size();
+
+		List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+		List<Integer> lengths = new ArrayList<>();
+		List<String> categories = new ArrayList<>();
+		trie.add(new TreeMap<>());
+		lengths.add(0);
+		categories.add(null);
+
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		for (Map.Entry<String, String> entry : terms.entrySet()) {
+			String term = entry.getKey();
+			int state = 0;
+			for (int i = 0; i < term.length(); i++) {
+				Integer next = trie.get(state).get(term.charAt(i));
+				if (next == null) {
+					next = trie.size();
+					trie.add(new TreeMap<>());
+					lengths.add(0);
+					categories.add(null);
+					trie.get(state).put(term.charAt(i), next);
+				}
+				state = next;
+			}
+			lengths.set(state, term.length());
+			categories.set(state, entry.getValue());
+			counts.merge(entry.getValue(), 1, Integer::sum);
+		}
+		this.termsByCategory = Map.copyOf(counts);
+
+		int size = trie.size();
+		this.edgeChars = new char[size][];
+		this.edgeTargets = new int[size][];
+		this.fail = new int[size];
+		this.output = new int[size];
+		this.termLength = new int[size];
+		this.termCategory = categories.toArray(String[]::new);
+		for (int state = 0; state < size; state++) {
+			TreeMap<Character, Integer> edges = trie.get(state);
+			edgeChars[state] = new char[edges.size()];
+			edgeTargets[state] = new int[edges.size()];
+			int i = 0;
+			for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+				edgeChars[state][i] = edge.getKey();
+				edgeTargets[state][i] = edge.getValue();
+				i++;
+			}
+			termLength[state] = lengths.get(state);
+		}
+
+		// Liens d'échec en largeur : un état pointe vers le plus long suffixe propre qui est aussi
+		// un préfixe de terme ; output chaîne les états finaux atteignables par ces liens
+		Arrays.fill(output, -1);
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		for (int child : edgeTargets[0]) {
+			fail[child] = 0;
+			queue.add(child);
+		}
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			for (int i = 0; i < edgeChars[state].length; i++) {
+				char c = edgeChars[state][i];
+				int child = edgeTargets[state][i];
+				int f = fail[state];
+				while (f != 0 && transition(f, c) < 0) {
+					f = fail[f];
+				}
+				int target = transition(f, c);
+				fail[child] = target >= 0 && target != child ? target : 0;
+				output[child] = termCategory[fail[child]] != null ? fail[child] : output[fail[child]];
+				queue.add(child);
+			}
+		}
+	}
+
+	public static IngredientDictionary load(InputStream input) throws IOException {
+		String version = "unversioned";
+		Map<String, String> terms = new LinkedHashMap<>();
+		String category = null;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+			String line;
+			int lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				line = line.strip();
+				if (line.startsWith(VERSION_PREFIX)) {
+					version = line.substring(VERSION_PREFIX.length()).strip();
+				} else if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				} else if (line.startsWith("[") && line.endsWith("]")) {
+					category = line.substring(1, line.length() - 1).strip().toUpperCase(Locale.ROOT);
+				} else if (category == null) {
+					throw new IOException("Term outside of a [CATEGORY] section at line " + lineNumber);
+				} else {
+					terms.put(fold(line), category);
+				}
+			}
+		}
+		if (terms.isEmpty()) {
+			throw new IOException("Ingredient dictionary is empty");
+		}
+		return new IngredientDictionary(version, terms);
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public int getTermCount() {
+		return termCount;
+	}
+
+	public Map<String, Integer> getTermsByCategory() {
+		return termsByCategory;
+	}
+
+	/**
+	 * Catégorie d'un ingrédient isolé : celle du plus long terme trouvé, {@code null} si aucun.
+	 */
+	public String classify(String ingredient) {
+		String[] categories = classifyAll(ingredient, new int[] { 0 }, new int[] { ingredient.length() });
+		return categories[0];
+	}
+
+	/**
+	 * Classe tous les ingrédients d'une liste en un seul parcours de {@code text}. Les segments
+	 * {@code [starts[i], ends[i])} doivent être triés et disjoints ; un terme n'est retenu pour un
+	 * segment que s'il y est entièrement contenu et délimité par des frontières de mot.
+	 *
+	 * @return pour chaque segment la catégorie du plus long terme reconnu, ou {@code null}
+	 */
+	public String[] classifyAll(CharSequence text, int[] starts, int[] ends) {
+		String[] categories = new String[starts.length];
+		int[] bestLength = new int[starts.length];
+		int length = text.length();
+
+		int state = 0;
+		for (int i = 0; i < length; i++) {
+			char c = fold(text.charAt(i));
+			int next;
+			while ((next = transition(state, c)) < 0 && state != 0) {
+				state = fail[state];
+			}
+			state = Math.max(next, 0);
+
+			for (int match = termCategory[state] != null ? state : output[state]; match >= 0; match = output[match]) {
+				int end = i + 1;
+				int start = end - termLength[match];
+				if (!isBoundary(text, start - 1) || !isBoundary(text, end)) {
+					continue;
+				}
+				int segment = segmentOf(starts, start);
+				if (segment >= 0 && end <= ends[segment] && termLength[match] > bestLength[segment]) {
+					bestLength[segment] = termLength[match];
+					categories[segment] = termCategory[match];
+				}
+			}
+		}
+		return categories;
+	}
+
+	/**
+	 * Repli de la casse et des accents sans changer la longueur du texte.
+	 */
+	public static String fold(String value) {
+		char[] chars = new char[value.length()];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = fold(value.charAt(i));
+		}
+		return new String(chars);
+	}
+
+	static char fold(char c) {
+		if (c < FOLD_TABLE.length) {
+			return FOLD_TABLE[c];
+		}
+		// Apostrophe typographique des étiquettes ("jaune d’œuf")
+		return c == '\u2019' ? '\'' : Character.toLowerCase(c);
+	}
+
+	private int transition(int state, char c) {
+		int index = Arrays.binarySearch(edgeChars[state], c);
+		return index >= 0 ? edgeTargets[state][index] : -1;
+	}
+
+	private static boolean isBoundary(CharSequence text, int index) {
+		return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+	}
+
+	private static int segmentOf(int[] starts, int position) {
+		int index = Arrays.binarySearch(starts, position);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	private static char[] buildFoldTable() {
+		// Latin de base, Latin-1 et Latin étendu A/B : suffisant pour les étiquettes FR/EN
+		char[] table = new char[0x250];
+		for (char c = 0; c < table.length; c++) {
+			char lower = Character.toLowerCase(c);
+			table[c] = Normalizer.normalize(String.valueOf(lower), Normalizer.Form.NFD).charAt(0);
+		}
+		return table;
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.nlpingredientservice.service;
+
+/**
+ * Parts massiques des ingrédients d'une liste, en kg par kg de produit ({@code impactHint}).
+ * <p>
+ * Une part déclarée sur l'étiquette est reprise telle quelle. Le reste (100 % moins les parts
+ * déclarées) est réparti entre les ingrédients sans part déclarée selon leur rang dans la liste :
+ * les ingrédients sont énumérés par ordre pondéral décroissant, le premier non déclaré reçoit
+ * donc la plus grosse part (poids {@code n, n-1, ..., 1}). Si les parts déclarées couvrent déjà
+ * tout le produit, les autres restent à zéro.
+ */
+final class IngredientShares {
+
+	private IngredientShares() {
+	}
+
+	/**
+	 * @param declaredPercents pourcentage déclaré de chaque ingrédient, dans l'ordre de la liste,
+	 *                         {@code NaN} s'il n'y en a pas
+	 * @return la part estimée de chaque ingrédient, entre 0 et 1
+	 */
+	static double[] estimate(double[] declaredPercents) {
+		double[] shares = new double[declaredPercents.length];
+		double declared = 0;
+		int undeclared = 0;
+		for (int i = 0; i < declaredPercents.length; i++) {
+			if (Double.isNaN(declaredPercents[i])) {
+				undeclared++;
+			} else {
+				shares[i] = declaredPercents[i] / 100;
+				declared += shares[i];
+			}
+		}
+
+		double remaining = Math.max(0, 1 - declared);
+		if (undeclared == 0 || remaining == 0) {
+			return shares;
+		}
+		// Somme des poids n + (n-1) + ... + 1
+		double totalWeight = undeclared * (undeclared + 1) / 2.0;
+		int weight = undeclared;
+		for (int i = 0; i < declaredPercents.length; i++) {
+			if (Double.isNaN(declaredPercents[i])) {
+				shares[i] = remaining * weight / totalWeight;
+				weight--;
+			}
+		}
+		return shares;
+	}
+}
@@ -0,0 +1,248 @@
+package com.example.nlpingredientservice.service;
+
+import java.util.Arrays;
+
+/**
+ * Découpage d'une liste d'ingrédients en un seul parcours, sans expression régulière.
+ * <p>
+ * Les séparateurs ({@code , ; \n}) ne comptent qu'au premier niveau : les sous-ingrédients entre
+ * parenthèses ou crochets restent dans leur ingrédient ({@code "chocolat (sucre, cacao)"} donne un
+ * seul élément). Pour chaque élément, le scanner produit le nom nettoyé (minuscules, espaces
+ * réduits, pourcentages retirés, initiale en majuscule), la position de l'élément dans le texte,
+ * le premier pourcentage de premier niveau ({@code "12%"}, {@code "12,5 %"}) et la présence du
+ * mot {@code bio} ou {@code organic}.
+ */
+final class IngredientTokenizer {
+
+	private IngredientTokenizer() {
+	}
+
+	static Tokens tokenize(String text) {
+		Tokens tokens = new Tokens();
+		if (text == null || text.isEmpty()) {
+			return tokens;
+		}
+
+		StringBuilder name = new StringBuilder(64);
+		int length = text.length();
+		int depth = 0;
+		int tokenStart = -1;
+		int tokenEnd = -1;
+		double percent = Double.NaN;
+		boolean organic = false;
+		int wordStart = -1;
+
+		// Nombre en cours de lecture : position dans le nom, fin dans le texte, valeur accumulée
+		int numberStart = -1;
+		int numberEnd = -1;
+		int numberDepth = 0;
+		double numberValue = 0;
+		double fractionScale = 0;
+
+		for (int i = 0; i <= length; i++) {
+			char c = i < length ? text.charAt(i) : '\n';
+
+			if (depth == 0 && isSeparator(c) && !isDecimalComma(text, i, numberEnd)) {
+				organic |= endWord(name, wordStart);
+				String ingredientName = finishName(name);
+				if (!ingredientName.isEmpty()) {
+					tokens.add(tokenStart, tokenEnd, ingredientName, percent, organic);
+				}
+				name.setLength(0);
+				tokenStart = -1;
+				percent = Double.NaN;
+				organic = false;
+				wordStart = -1;
+				numberStart = -1;
+				continue;
+			}
+
+			if (Character.isWhitespace(c)) {
+				organic |= endWord(name, wordStart);
+				wordStart = -1;
+				// Un espace est toléré entre le nombre et le signe % (« 12 % »)
+				if (name.length() > 0 && name.charAt(name.length() - 1) != ' ') {
+					name.append(' ');
+				}
+				continue;
+			}
+
+			if (tokenStart < 0) {
+				tokenStart = i;
+			}
+			tokenEnd = i + 1;
+
+			if (c >= '0' && c <= '9') {
+				if (numberStart < 0 || numberEnd != i) {
+					numberStart = name.length();
+					numberDepth = depth;
+					numberValue = 0;
+					fractionScale = 0;
+				}
+				if (fractionScale == 0) {
+					numberValue = numberValue * 10 + (c - '0');
+				} else {
+					fractionScale /= 10;
+					numberValue += (c - '0') * fractionScale;
+				}
+				numberEnd = i + 1;
+				if (wordStart < 0) {
+					wordStart = name.length();
+				}
+				name.append(c);
+				continue;
+			}
+
+			if ((c == ',' || c == '.') && numberStart >= 0 && numberEnd == i && fractionScale == 0
+					&& i + 1 < length && isDigit(text.charAt(i + 1))) {
+				fractionScale = 1;
+				numberEnd = i + 1;
+				name.append(c);
+				continue;
+			}
+
+			if (c == '%' && numberStart >= 0 && isPercentAfterNumber(text, numberEnd, i)) {
+				// Le pourcentage est retiré du nom ; seul celui du premier niveau qualifie l'ingrédient
+				if (numberDepth == 0 && Double.isNaN(percent)) {
+					percent = numberValue;
+				}
+				name.setLength(numberStart);
+				numberStart = -1;
+				wordStart = -1;
+				continue;
+			}
+			numberStart = -1;
+
+			if (Character.isLetter(c)) {
+				if (wordStart < 0) {
+					wordStart = name.length();
+				}
+				name.append(Character.toLowerCase(c));
+				continue;
+			}
+
+			organic |= endWord(name, wordStart);
+			wordStart = -1;
+			if (c == '(' || c == '[') {
+				depth++;
+			} else if ((c == ')' || c == ']') && depth > 0) {
+				depth--;
+				// « cacao 30%) » : l'espace laissé par le pourcentage retiré ne reste pas devant la parenthèse
+				if (name.length() > 0 && name.charAt(name.length() - 1) == ' ') {
+					name.setLength(name.length() - 1);
+				}
+			}
+			name.append(c);
+		}
+		return tokens;
+	}
+
+	private static boolean isSeparator(char c) {
+		return c == ',' || c == ';' || c == '\n';
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Une virgule collée à un nombre et suivie d'un chiffre est une décimale ({@code "12,5%"},
+	 * {@code "1,2 g"}), pas un séparateur d'ingrédients : entre deux ingrédients, la virgule est
+	 * suivie d'une espace ou d'une lettre.
+	 */
+	private static boolean isDecimalComma(String text, int index, int numberEnd) {
+		return index + 1 < text.length() && text.charAt(index) == ',' && numberEnd == index
+				&& isDigit(text.charAt(index + 1));
+	}
+
+	private static boolean isPercentAfterNumber(String text, int numberEnd, int percentIndex) {
+		return numberEnd == percentIndex || (numberEnd == percentIndex - 1 && text.charAt(numberEnd) == ' ');
+	}
+
+	/**
+	 * @return {@code true} si le mot qui se termine en fin de {@code name} est « bio » ou « organic »
+	 */
+	private static boolean endWord(StringBuilder name, int wordStart) {
+		if (wordStart < 0) {
+			return false;
+		}
+		int wordLength = name.length() - wordStart;
+		return (wordLength == 3 && matches(name, wordStart, "bio"))
+				|| (wordLength == 7 && matches(name, wordStart, "organic"));
+	}
+
+	private static boolean matches(StringBuilder name, int offset, String word) {
+		for (int i = 0; i < word.length(); i++) {
+			if (name.charAt(offset + i) != word.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String finishName(StringBuilder name) {
+		int end = name.length();
+		while (end > 0 && name.charAt(end - 1) == ' ') {
+			end--;
+		}
+		name.setLength(end);
+		if (end > 0) {
+			name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+		}
+		return name.toString();
+	}
+
+	/**
+	 * Éléments reconnus, en tableaux parallèles : {@code starts}/{@code ends} bornent l'élément dans
+	 * le texte source, {@code percents} vaut {@code NaN} faute de pourcentage déclaré.
+	 */
+	static final class Tokens {
+		private int count;
+		private int[] starts = new int[16];
+		private int[] ends = new int[16];
+		private String[] names = new String[16];
+		private double[] percents = new double[16];
+		private boolean[] organic = new boolean[16];
+
+		private void add(int start, int end, String name, double percent, boolean isOrganic) {
+			if (count == starts.length) {
+				int capacity = count * 2;
+				starts = Arrays.copyOf(starts, capacity);
+				ends = Arrays.copyOf(ends, capacity);
+				names = Arrays.copyOf(names, capacity);
+				percents = Arrays.copyOf(percents, capacity);
+				organic = Arrays.copyOf(organic, capacity);
+			}
+			starts[count] = start;
+			ends[count] = end;
+			names[count] = name;
+			percents[count] = percent;
+			organic[count] = isOrganic;
+			count++;
+		}
+
+		int count() {
+			return count;
+		}
+
+		int[] starts() {
+			return Arrays.copyOf(starts, count);
+		}
+
+		int[] ends() {
+			return Arrays.copyOf(ends, count);
+		}
+
+		String name(int index) {
+			return names[index];
+		}
+
+		double percent(int index) {
+			return percents[index];
+		}
+
+		boolean organic(int index) {
+			return organic[index];
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.nlpingredientservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.commons.cache.ContentCache;
+import com.example.nlpingredientservice.client.MlServiceClient.MlIngredientResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Mémoïsation de l'extraction ML (spaCy + BERT) d'un produit à l'autre, adressée par le SHA-256
+ * du texte d'ingrédients normalisé (casse et espacements), sur le cache de contenu partagé
+ * ({@code content-cache.*}) : les rafales de déclinaisons d'un même produit sont servies en
+ * mémoire, les réponses survivent aux redémarrages. Seules les réponses non vides sont
+ * mémorisées : un échec du service ML retombe toujours sur le fallback et sera retenté au
+ * prochain passage.
+ */
+@Component
+public class MlExtractionCache {
+
+	private static final Logger log = LoggerFactory.getLogger(MlExtractionCache.class);
+
+	private static final TypeReference<List<Map<String, Object>>> INGREDIENTS_TYPE = new TypeReference<>() {
+	};
+
+	private final ContentCache cache;
+	private final ObjectMapper objectMapper;
+
+	public MlExtractionCache(ContentCache cache, ObjectMapper objectMapper) {
+		this.cache = cache;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Retourne la réponse ML déjà connue pour ce texte, ou lance {@code extractor} (appel ML) et
+	 * mémorise son résultat s'il contient des ingrédients.
+	 */
+	public MlIngredientResponse getOrExtract(String text, Supplier<MlIngredientResponse> extractor) {
+		if (text == null || text.isBlank()) {
+			return extractor.get();
+		}
+		String textHash = hash(text);
+
+		String cached = cache.get(textHash);
+		MlIngredientResponse response = cached != null ? toResponse(textHash, cached) : null;
+		if (response != null) {
+			return response;
+		}
+
+		response = extractor.get();
+		if (response != null && response.getIngredients() != null && !response.getIngredients().isEmpty()) {
+			store(textHash, response);
+		}
+		return response;
+	}
+
+	/**
+	 * Empreinte du texte normalisé. Les réponses d'anciens modèles ML sont écartées par l'espace de
+	 * noms du cache ({@code content-cache.namespace}), pas par le hash.
+	 */
+	static String hash(String text) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+		return HexFormat.of().formatHex(digest.digest(normalize(text).getBytes(StandardCharsets.UTF_8)));
+	}
+
+	static String normalize(String text) {
+		return text.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT);
+	}
+
+	private void store(String textHash, MlIngredientResponse response) {
+		ObjectNode entry = objectMapper.createObjectNode();
+		entry.set("ingredients", objectMapper.valueToTree(response.getIngredients()));
+		entry.put("organic", response.isOrganic());
+		try {
+			cache.put(textHash, objectMapper.writeValueAsString(entry));
+		} catch (JsonProcessingException e) {
+			log.warn("Unable to serialize ML extraction for cache entry {}: {}", textHash, e.getOriginalMessage());
+		}
+	}
+
+	private MlIngredientResponse toResponse(String textHash, String cached) {
+		try {
+			JsonNode entry = objectMapper.readTree(cached);
+			return new MlIngredientResponse(objectMapper.convertValue(entry.get("ingredients"), INGREDIENTS_TYPE),
+					entry.path("organic").asBoolean());
+		} catch (JsonProcessingException | IllegalArgumentException e) {
+			log.warn("Ignoring unreadable ML extraction cache entry {}: {}", textHash, e.getMessage());
+			return null;
+		}
+	}
+}
@@ -2,15 +2,13 @@ package com.example.nlpingredientservice.service;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.nlpingredientservice.client.MlServiceClient;
 import com.example.nlpingredientservice.dto.IngredientNormalizedEvent;
@@ -19,48 +17,73 @@ import com.example.nlpingredientservice.dto.IngredientNormalizedEvent.Normalized
 import com.example.nlpingredientservice.entity.NormalizedIngredient;
 import com.example.nlpingredientservice.messaging.IngredientEventProducer;
 import com.example.nlpingredientservice.repository.NormalizedIngredientRepository;
+import com.example.nlpingredientservice.repository.ProductIngredientRollupRepository;
 
 @Service
 public class NlpExtractionService {
 
-	private static final Pattern ORGANIC_PATTERN = Pattern.compile("\\b(bio|organic)\\b", Pattern.CASE_INSENSITIVE);
-
 	private final NormalizedIngredientRepository repository;
+	private final ProductIngredientRollupRepository rollupRepository;
 	private final IngredientEventProducer eventProducer;
 	private final MlServiceClient mlServiceClient;
+	private final MlExtractionCache mlCache;
+	private final IngredientClassifier classifier;
+	private final TransactionTemplate transactionTemplate;
 
 	public NlpExtractionService(NormalizedIngredientRepository repository,
-			IngredientEventProducer eventProducer, MlServiceClient mlServiceClient) {
+			ProductIngredientRollupRepository rollupRepository, IngredientEventProducer eventProducer, MlServiceClient mlServiceClient, MlExtractionCache mlCache,
+			IngredientClassifier classifier, TransactionTemplate transactionTemplate) {
 		this.repository = repository;
+		this.rollupRepository = rollupRepository;
 		this.eventProducer = eventProducer;
 		this.mlServiceClient = mlServiceClient;
+		this.mlCache = mlCache;
+		this.classifier = classifier;
+		this.transactionTemplate = transactionTemplate;
 	}
 
-	@Transactional
 	public List<NormalizedIngredient> processText(NlpExtractRequest request) {
-		return process(request.getProductId(), request.getText());
+		MlServiceClient.MlIngredientResponse mlResponse = analyze(request.getText());
+		return transactionTemplate.execute(status -> process(request.getProductId(), request.getText(), mlResponse));
+	}
+
+	/**
+	 * Extraction ML (spaCy + BERT), partagée entre produits au même texte. Appel distant : à faire
+	 * hors transaction pour ne pas garder une connexion du pool pendant l'attente du service ML.
+	 */
+	public MlServiceClient.MlIngredientResponse analyze(String text) {
+		return mlCache.getOrExtract(text, () -> mlServiceClient.extractIngredients(text));
 	}
 
-	@Transactional
-	public List<NormalizedIngredient> processProductEvent(UUID productId, String normalizedText) {
-		return process(productId, normalizedText);
+	/**
+	 * Enregistre les ingrédients d'un produit à partir du résultat de {@link #analyze(String)}, dans
+	 * la transaction de l'appelant. Sans ingrédient ML, le texte passe par le fallback regex.
+	 */
+	public List<NormalizedIngredient> processProductEvent(UUID productId, String normalizedText,
+			MlServiceClient.MlIngredientResponse mlResponse) {
+		return process(productId, normalizedText, mlResponse);
 	}
 
-	private List<NormalizedIngredient> process(UUID productId, String text) {
-		repository.findByProductId(productId).forEach(existing -> repository.deleteById(existing.getId()));
+	private List<NormalizedIngredient> process(UUID productId, String text,
+			MlServiceClient.MlIngredientResponse mlResponse) {
+		repository.deleteByProductId(productId);
 
-		// Essayer d'abord l'extraction ML (spaCy + BERT)
-		MlServiceClient.MlIngredientResponse mlResponse = mlServiceClient.extractIngredients(text);
 		List<NormalizedIngredient> saved;
 
 		if (mlResponse != null && mlResponse.getIngredients() != null && !mlResponse.getIngredients().isEmpty()) {
 			// Utiliser les résultats du ML
-			saved = processMlResults(productId, mlResponse);
+			saved = processMlResults(productId, text, mlResponse);
 		} else {
 			// Fallback: parsing basique avec regex
 			saved = processFallback(productId, text);
 		}
 
+		if (saved.isEmpty()) {
+			rollupRepository.deleteById(productId);
+		} else {
+			rollupRepository.upsert(productId, saved.size(), saved.get(0).getExtractedAt());
+		}
+
 		List<NormalizedIngredientPayload> payload = saved.stream()
 				.map(i -> new NormalizedIngredientPayload(i.getName(), i.getCategory(), i.getEcoReference(),
 						i.isOrganic(), i.getImpactHint()))
@@ -72,10 +95,30 @@ public class NlpExtractionService {
 	/**
 	 * Traite les résultats du service ML (spaCy + BERT)
 	 */
-	private List<NormalizedIngredient> processMlResults(UUID productId,
+	private List<NormalizedIngredient> processMlResults(UUID productId, String text,
 			MlServiceClient.MlIngredientResponse mlResponse) {
-		List<NormalizedIngredient> saved = new ArrayList<>();
+		// Identifiants UUID générés côté application : les INSERT partent en lots JDBC
+		return repository.saveAll(extractMl(productId, text, mlResponse));
+	}
+
+	/**
+	 * Partie pure du traitement ML. Le service ML ne renvoie pas les pourcentages : ceux déclarés
+	 * sur l'étiquette sont retrouvés en découpant le texte, par nom d'ingrédient.
+	 */
+	List<NormalizedIngredient> extractMl(UUID productId, String text,
+			MlServiceClient.MlIngredientResponse mlResponse) {
+		IngredientTokenizer.Tokens tokens = IngredientTokenizer.tokenize(text);
+		Map<String, Double> declaredByName = new HashMap<>();
+		for (int i = 0; i < tokens.count(); i++) {
+			if (!Double.isNaN(tokens.percent(i))) {
+				declaredByName.putIfAbsent(IngredientDictionary.fold(tokens.name(i)), tokens.percent(i));
+			}
+		}
+
+		List<NormalizedIngredient> extracted = new ArrayList<>();
+		List<Double> declaredPercents = new ArrayList<>();
 		boolean isOrganic = mlResponse.isOrganic();
+		Instant extractedAt = Instant.now();
 
 		for (Map<String, Object> ingMap : mlResponse.getIngredients()) {
 			String name = (String) ingMap.get("name");
@@ -94,59 +137,60 @@ public class NlpExtractionService {
 			ingredient.setCategory(category);
 			ingredient.setEcoReference("EcoInvent-v1");
 			ingredient.setOrganic(isOrganic || confidence > 0.7); // Considérer bio si haute confiance
-			// Note: impactHint n'est PAS défini ici - c'est le rôle du service AVC
-			ingredient.setExtractedAt(Instant.now());
-			saved.add(repository.save(ingredient));
+			ingredient.setExtractedAt(extractedAt);
+			extracted.add(ingredient);
+			declaredPercents.add(
+					declaredByName.getOrDefault(IngredientDictionary.fold(ingredient.getName()), Double.NaN));
 		}
 
-		return saved;
+		double[] shares = IngredientShares.estimate(
+				declaredPercents.stream().mapToDouble(Double::doubleValue).toArray());
+		for (int i = 0; i < extracted.size(); i++) {
+			extracted.get(i).setImpactHint(shares[i]);
+		}
+		return extracted;
 	}
 
 	/**
 	 * Fallback: parsing basique avec regex (méthode originale)
 	 */
 	private List<NormalizedIngredient> processFallback(UUID productId, String text) {
-		String sanitized = text == null ? "" : text.toLowerCase(Locale.ROOT);
-		String[] tokens = sanitized.split("[,;\\n]");
+		return repository.saveAll(extractFallback(productId, text));
+	}
 
-		List<NormalizedIngredient> saved = new ArrayList<>();
-		for (String token : tokens) {
-			String ingredientName = token.trim();
-			if (ingredientName.isEmpty()) {
-				continue;
-			}
+	/**
+	 * Partie pure du fallback, sans accès base : découpage du texte en un seul parcours puis
+	 * classification de tous les ingrédients en un seul passage dans le dictionnaire.
+	 */
+	List<NormalizedIngredient> extractFallback(UUID productId, String text) {
+		IngredientTokenizer.Tokens tokens = IngredientTokenizer.tokenize(text);
+		String[] categories = classifier.classifyAll(text == null ? "" : text, tokens.starts(), tokens.ends());
+
+		double[] declaredPercents = new double[tokens.count()];
+		for (int i = 0; i < tokens.count(); i++) {
+			declaredPercents[i] = tokens.percent(i);
+		}
+		double[] shares = IngredientShares.estimate(declaredPercents);
+
+		List<NormalizedIngredient> extracted = new ArrayList<>(tokens.count());
+		Instant extractedAt = Instant.now();
+		for (int i = 0; i < tokens.count(); i++) {
 			NormalizedIngredient ingredient = new NormalizedIngredient();
 			ingredient.setProductId(productId);
-			ingredient.setName(capitalize(ingredientName.replaceAll("\\d+%", "").trim()));
-			ingredient.setCategory(classifyIngredient(ingredientName));
+			ingredient.setName(tokens.name(i));
+			ingredient.setCategory(categories[i]);
 			ingredient.setEcoReference("EcoInvent-v1");
-			ingredient.setOrganic(isOrganic(token));
-			// Note: impactHint n'est PAS défini ici - c'est le rôle du service AVC
-			ingredient.setExtractedAt(Instant.now());
-			saved.add(repository.save(ingredient));
+			ingredient.setOrganic(tokens.organic(i));
+			// Part massique déclarée sur l'étiquette (« sucre 12% ») ou estimée d'après le rang
+			ingredient.setImpactHint(shares[i]);
+			ingredient.setExtractedAt(extractedAt);
+			extracted.add(ingredient);
 		}
-		return saved;
-	}
-
-	private boolean isOrganic(String token) {
-		Matcher matcher = ORGANIC_PATTERN.matcher(token);
-		return matcher.find();
+		return extracted;
 	}
 
-	private String classifyIngredient(String name) {
-		if (name.contains("milk") || name.contains("lait")) {
-			return "DAIRY";
-		}
-		if (name.contains("sugar") || name.contains("sucre")) {
-			return "SWEETENER";
-		}
-		if (name.contains("plastic") || name.contains("pet")) {
-			return "PACKAGING";
-		}
-		if (name.contains("glass")) {
-			return "GLASS";
-		}
-		return "OTHER";
+	String classifyIngredient(String name) {
+		return classifier.classify(name);
 	}
 
 	private double estimateImpact(String category) {
@@ -0,0 +1,27 @@
+-- Schéma initial du service NLP. Les ordres sont idempotents : la base est partagée entre services
+-- et reprise par baseline-on-migrate (version 0). Le cache des réponses ML (nlp_ml_cache) et la
+-- table des événements traités sont créés au démarrage par ecolabel-commons.
+
+create table if not exists normalized_ingredient (
+    id uuid not null primary key,
+    product_id uuid not null,
+    name varchar(255) not null,
+    category varchar(255),
+    eco_reference varchar(255),
+    organic boolean not null,
+    impact_hint float(53) not null,
+    extracted_at timestamp(6) with time zone not null
+);
+
+-- Lecture, suppression et listing par produit ; le nom suit pour servir l'ordre du listing
+create index if not exists idx_normalized_ingredient_product_id_name
+    on normalized_ingredient (product_id, name);
+
+create table if not exists nlp_product_ingredient_rollup (
+    product_id uuid not null primary key,
+    ingredient_count integer not null,
+    latest_extracted_at timestamp(6) with time zone not null
+);
+
+create index if not exists idx_nlp_rollup_latest_extracted_at
+    on nlp_product_ingredient_rollup (latest_extracted_at, product_id);
@@ -0,0 +1,70 @@
+package com.example.nlpingredientservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class IngredientClassifierTest {
+
+	@TempDir
+	Path directory;
+
+	private Path file;
+	private IngredientClassifier classifier;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		file = directory.resolve("ingredients.txt");
+		write("# version: 1\n[DAIRY]\nlait\n", Instant.parse("2026-01-01T00:00:00Z"));
+		classifier = new IngredientClassifier(new DefaultResourceLoader(), "file:" + file);
+	}
+
+	@Test
+	void unknownIngredientFallsBackToOther() {
+		assertThat(classifier.classify("lait")).isEqualTo("DAIRY");
+		assertThat(classifier.classify("quinoa")).isEqualTo(IngredientDictionary.UNKNOWN_CATEGORY);
+	}
+
+	@Test
+	void reloadsWhenTheFileChanges() throws IOException {
+		write("# version: 2\n[DAIRY]\nlait\n[GRAIN]\nquinoa\n", Instant.parse("2026-01-02T00:00:00Z"));
+
+		classifier.reloadIfModified();
+
+		assertThat(classifier.info().getVersion()).isEqualTo("2");
+		assertThat(classifier.classify("quinoa")).isEqualTo("GRAIN");
+	}
+
+	@Test
+	void unchangedFileIsNotReloaded() throws IOException {
+		Instant loadedAt = classifier.info().getLoadedAt();
+
+		classifier.reloadIfModified();
+
+		assertThat(classifier.info().getLoadedAt()).isEqualTo(loadedAt);
+	}
+
+	@Test
+	void invalidFileKeepsTheCurrentDictionary() throws IOException {
+		write("# version: 3\nquinoa\n", Instant.parse("2026-01-03T00:00:00Z"));
+
+		classifier.reloadIfModified();
+
+		assertThat(classifier.info().getVersion()).isEqualTo("1");
+		assertThat(classifier.classify("lait")).isEqualTo("DAIRY");
+	}
+
+	private void write(String content, Instant modified) throws IOException {
+		Files.writeString(file, content);
+		Files.setLastModifiedTime(file, FileTime.from(modified));
+	}
+}
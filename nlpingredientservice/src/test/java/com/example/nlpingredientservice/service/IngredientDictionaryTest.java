@@ -0,0 +1,104 @@
+package com.example.nlpingredientservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class IngredientDictionaryTest {
+
+	private static final String DICTIONARY = """
+			# version: test.1
+			[DAIRY]
+			lait
+			crème fraîche
+			[FRUIT]
+			noix de coco
+			[OIL]
+			huile
+			huile de coco
+			lait de coco
+			[OTHER]
+			sel
+			""";
+
+	private static IngredientDictionary load(String content) throws IOException {
+		return IngredientDictionary.load(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void foldsCaseAndAccentsWithoutChangingLength() {
+		assertThat(IngredientDictionary.fold("Crème Fraîche")).isEqualTo("creme fraiche");
+		assertThat(IngredientDictionary.fold("ŒUF d’Été")).hasSize("ŒUF d’Été".length()).isEqualTo("œuf d'ete");
+		assertThat(IngredientDictionary.fold("Ça")).isEqualTo("ca");
+	}
+
+	@Test
+	void loadsVersionAndTermsPerCategory() throws IOException {
+		IngredientDictionary dictionary = load(DICTIONARY);
+
+		assertThat(dictionary.getVersion()).isEqualTo("test.1");
+		assertThat(dictionary.getTermCount()).isEqualTo(7);
+		assertThat(dictionary.getTermsByCategory()).containsEntry("DAIRY", 2).containsEntry("OIL", 3);
+	}
+
+	@Test
+	void matchesAccentedAndCapitalizedLabels() throws IOException {
+		IngredientDictionary dictionary = load(DICTIONARY);
+
+		assertThat(dictionary.classify("CREME FRAICHE")).isEqualTo("DAIRY");
+		assertThat(dictionary.classify("Crème fraîche épaisse")).isEqualTo("DAIRY");
+	}
+
+	@Test
+	void longestTermWins() throws IOException {
+		IngredientDictionary dictionary = load(DICTIONARY);
+
+		assertThat(dictionary.classify("lait de coco")).isEqualTo("OIL");
+		assertThat(dictionary.classify("lait entier")).isEqualTo("DAIRY");
+		assertThat(dictionary.classify("huile de coco vierge")).isEqualTo("OIL");
+	}
+
+	@Test
+	void termsMustStartAndEndOnWordBoundaries() throws IOException {
+		IngredientDictionary dictionary = load(DICTIONARY);
+
+		assertThat(dictionary.classify("laitue")).isNull();
+		assertThat(dictionary.classify("gros sel")).isEqualTo("OTHER");
+		assertThat(dictionary.classify("sels minéraux")).isNull();
+		assertThat(dictionary.classify("(lait)")).isEqualTo("DAIRY");
+	}
+
+	@Test
+	void classifiesEachSegmentInOnePass() throws IOException {
+		IngredientDictionary dictionary = load(DICTIONARY);
+		String text = "lait, noix de coco râpée, laitue, huile";
+		int[] starts = { 0, 6, 26, 34 };
+		int[] ends = { 4, 24, 32, 39 };
+
+		assertThat(dictionary.classifyAll(text, starts, ends)).containsExactly("DAIRY", "FRUIT", null, "OIL");
+	}
+
+	@Test
+	void termSpanningTwoSegmentsIsIgnored() throws IOException {
+		IngredientDictionary dictionary = load(DICTIONARY);
+		// "lait de coco" chevauche les deux segments : seul "lait" est retenu
+		String text = "lait de coco";
+		int[] starts = { 0, 8 };
+		int[] ends = { 7, 12 };
+
+		assertThat(dictionary.classifyAll(text, starts, ends)).containsExactly("DAIRY", null);
+	}
+
+	@Test
+	void rejectsTermsOutsideASection() {
+		assertThatThrownBy(() -> load("# version: 1\nlait\n"))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("line 2");
+		assertThatThrownBy(() -> load("# rien\n[DAIRY]\n")).isInstanceOf(IOException.class);
+	}
+}
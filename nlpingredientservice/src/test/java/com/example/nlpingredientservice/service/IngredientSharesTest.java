@@ -0,0 +1,42 @@
+package com.example.nlpingredientservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class IngredientSharesTest {
+
+	private static final double NONE = Double.NaN;
+
+	@Test
+	void withoutDeclarationSharesFollowIngredientOrder() {
+		double[] shares = IngredientShares.estimate(new double[] { NONE, NONE, NONE });
+
+		// Poids 3, 2, 1
+		assertThat(shares[0]).isCloseTo(0.5, within(1e-9));
+		assertThat(shares[1]).isCloseTo(1.0 / 3, within(1e-9));
+		assertThat(shares[2]).isCloseTo(1.0 / 6, within(1e-9));
+	}
+
+	@Test
+	void declaredSharesAreKeptAndTheRestIsSplit() {
+		double[] shares = IngredientShares.estimate(new double[] { NONE, 40, NONE });
+
+		assertThat(shares[1]).isEqualTo(0.4);
+		assertThat(shares[0]).isCloseTo(0.4, within(1e-9));
+		assertThat(shares[2]).isCloseTo(0.2, within(1e-9));
+	}
+
+	@Test
+	void nothingLeftWhenDeclarationsCoverTheProduct() {
+		double[] shares = IngredientShares.estimate(new double[] { 70, 35, NONE });
+
+		assertThat(shares).containsExactly(0.7, 0.35, 0);
+	}
+
+	@Test
+	void emptyList() {
+		assertThat(IngredientShares.estimate(new double[0])).isEmpty();
+	}
+}
@@ -0,0 +1,84 @@
+package com.example.nlpingredientservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class IngredientTokenizerTest {
+
+	private static String[] names(IngredientTokenizer.Tokens tokens) {
+		String[] names = new String[tokens.count()];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = tokens.name(i);
+		}
+		return names;
+	}
+
+	@Test
+	void splitsOnTopLevelSeparatorsWithPositions() {
+		IngredientTokenizer.Tokens tokens = IngredientTokenizer.tokenize("lait,  SUCRE ;\ncacao");
+
+		assertThat(names(tokens)).containsExactly("Lait", "Sucre", "Cacao");
+		assertThat(tokens.starts()).containsExactly(0, 7, 15);
+		assertThat(tokens.ends()).containsExactly(4, 12, 20);
+	}
+
+	@Test
+	void keepsNestedSubIngredientsInTheirIngredient() {
+		IngredientTokenizer.Tokens tokens = IngredientTokenizer
+				.tokenize("chocolat (sucre, cacao [pâte; beurre]), lait");
+
+		assertThat(names(tokens)).containsExactly("Chocolat (sucre, cacao [pâte; beurre])", "Lait");
+	}
+
+	@Test
+	void readsTopLevelPercentOnly() {
+		IngredientTokenizer.Tokens tokens = IngredientTokenizer.tokenize("chocolat 40% (cacao 60%), noisettes");
+
+		assertThat(names(tokens)).containsExactly("Chocolat (cacao)", "Noisettes");
+		assertThat(tokens.percent(0)).isEqualTo(40);
+		assertThat(tokens.percent(1)).isNaN();
+	}
+
+	@Test
+	void decimalCommaAndSpaceBeforePercent() {
+		IngredientTokenizer.Tokens tokens = IngredientTokenizer.tokenize("sucre 12,5 %, lait 3.5%");
+
+		assertThat(names(tokens)).containsExactly("Sucre", "Lait");
+		assertThat(tokens.percent(0)).isEqualTo(12.5);
+		assertThat(tokens.percent(1)).isEqualTo(3.5);
+	}
+
+	@Test
+	void percentRightBeforeClosingParenthesis() {
+		IngredientTokenizer.Tokens tokens = IngredientTokenizer.tokenize("pâte à tartiner (noisettes 13%), sel");
+
+		assertThat(names(tokens)).containsExactly("Pâte à tartiner (noisettes)", "Sel");
+		assertThat(tokens.percent(0)).isNaN();
+	}
+
+	@Test
+	void decimalCommaWithoutPercentStaysInTheName() {
+		IngredientTokenizer.Tokens tokens = IngredientTokenizer.tokenize("sel 1,2 g, E330,E331");
+
+		assertThat(names(tokens)).containsExactly("Sel 1,2 g", "E330", "E331");
+		assertThat(tokens.percent(0)).isNaN();
+	}
+
+	@Test
+	void detectsBioAndOrganicAsWholeWords() {
+		IngredientTokenizer.Tokens tokens = IngredientTokenizer
+				.tokenize("lait BIO, sucre (organic), farine biologique, bioéthanol");
+
+		assertThat(tokens.organic(0)).isTrue();
+		assertThat(tokens.organic(1)).isTrue();
+		assertThat(tokens.organic(2)).isFalse();
+		assertThat(tokens.organic(3)).isFalse();
+	}
+
+	@Test
+	void emptyTextHasNoToken() {
+		assertThat(IngredientTokenizer.tokenize(null).count()).isZero();
+		assertThat(IngredientTokenizer.tokenize(" , ;").count()).isZero();
+	}
+}
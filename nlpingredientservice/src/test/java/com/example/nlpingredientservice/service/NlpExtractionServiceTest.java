@@ -0,0 +1,46 @@
+package com.example.nlpingredientservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.nlpingredientservice.client.MlServiceClient;
+import com.example.nlpingredientservice.entity.NormalizedIngredient;
+
+class NlpExtractionServiceTest {
+
+	// extractMl n'utilise ni la base, ni Kafka, ni le classifieur
+	private final NlpExtractionService service = new NlpExtractionService(null, null, null, null, null, null, null);
+
+	@Test
+	void mlPathKeepsDeclaredPercentAndEstimatesTheRest() {
+		MlServiceClient.MlIngredientResponse response = new MlServiceClient.MlIngredientResponse(List.of(
+				Map.of("name", "farine", "category", "GRAIN"),
+				Map.of("name", "Sucre", "category", "SWEETENER"),
+				Map.of("name", "sel", "category", "OTHER")), false);
+
+		List<NormalizedIngredient> ingredients = service.extractMl(UUID.randomUUID(),
+				"Farine de blé, sucre 40 %, sel", response);
+
+		// « Sucre » déclaré à 40 % ; 60 % restants répartis 2/3 - 1/3 selon le rang
+		assertThat(ingredients.get(0).getImpactHint()).isCloseTo(0.4, within(1e-9));
+		assertThat(ingredients.get(1).getImpactHint()).isEqualTo(0.4);
+		assertThat(ingredients.get(2).getImpactHint()).isCloseTo(0.2, within(1e-9));
+	}
+
+	@Test
+	void mlPathWithoutTextEstimatesFromOrder() {
+		MlServiceClient.MlIngredientResponse response = new MlServiceClient.MlIngredientResponse(List.of(
+				Map.of("name", "lait"), Map.of("name", "sucre")), false);
+
+		List<NormalizedIngredient> ingredients = service.extractMl(UUID.randomUUID(), null, response);
+
+		assertThat(ingredients.get(0).getImpactHint()).isCloseTo(2.0 / 3, within(1e-9));
+		assertThat(ingredients.get(1).getImpactHint()).isCloseTo(1.0 / 3, within(1e-9));
+	}
+}
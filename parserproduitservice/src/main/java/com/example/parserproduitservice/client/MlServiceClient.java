@@ -2,26 +2,42 @@ package com.example.parserproduitservice.client;
 
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.commons.ml.MlCallGuard;
+
 /**
  * Client REST pour appeler le microservice ML (Python) pour OCR et extraction de métadonnées
  */
 @Component
 public class MlServiceClient {
 
-	private final RestTemplate restTemplate;
+	private static final Logger log = LoggerFactory.getLogger(MlServiceClient.class);
+
+	private final RestTemplate ocrRestTemplate;
+	private final RestTemplate nlpRestTemplate;
+	private final MlCallGuard callGuard;
 	private final String mlServiceUrl;
 
-	public MlServiceClient(RestTemplate restTemplate,
+	public MlServiceClient(@Qualifier("ocrRestTemplate") RestTemplate ocrRestTemplate,
+			@Qualifier("nlpRestTemplate") RestTemplate nlpRestTemplate,
+			MlCallGuard callGuard,
 			@Value("${ml.service.url:http://ml-service:8086}") String mlServiceUrl) {
-		this.restTemplate = restTemplate;
+		this.ocrRestTemplate = ocrRestTemplate;
+		this.nlpRestTemplate = nlpRestTemplate;
+		this.callGuard = callGuard;
 		this.mlServiceUrl = mlServiceUrl;
 	}
 
@@ -36,8 +52,8 @@ public class MlServiceClient {
 			HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
 
 			@SuppressWarnings("unchecked")
-			ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-					mlServiceUrl + "/ocr/image", request, (Class<Map<String, Object>>) (Class<?>) Map.class);
+			ResponseEntity<Map<String, Object>> response = callGuard.call(MlCallGuard.OCR, () -> ocrRestTemplate.postForEntity(
+					mlServiceUrl + "/ocr/image", request, (Class<Map<String, Object>>) (Class<?>) Map.class));
 
 			if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
 				return (String) response.getBody().get("text");
@@ -59,8 +75,8 @@ public class MlServiceClient {
 			HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
 
 			@SuppressWarnings("unchecked")
-			ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-					mlServiceUrl + "/ocr/pdf", request, (Class<Map<String, Object>>) (Class<?>) Map.class);
+			ResponseEntity<Map<String, Object>> response = callGuard.call(MlCallGuard.OCR, () -> ocrRestTemplate.postForEntity(
+					mlServiceUrl + "/ocr/pdf", request, (Class<Map<String, Object>>) (Class<?>) Map.class));
 
 			if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
 				return (String) response.getBody().get("text");
@@ -71,6 +87,54 @@ public class MlServiceClient {
 		return null;
 	}
 
+	/**
+	 * Extrait le texte d'une image transmise en binaire (multipart), sans passer par base64
+	 */
+	public String extractTextFromImage(Resource image, MediaType contentType) {
+		try {
+			return postDocument("/ocr/image", image, contentType);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to extract text from image via ML service: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Extrait le texte d'un PDF transmis en binaire (multipart), sans passer par base64
+	 */
+	public String extractTextFromPdf(Resource pdf) {
+		try {
+			return postDocument("/ocr/pdf", pdf, MediaType.APPLICATION_PDF);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to extract text from PDF via ML service: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Le {@link Resource} est recopié par blocs depuis sa source (fichier temporaire de l'upload)
+	 * vers la requête sortante : le document n'est jamais chargé en entier sur le tas.
+	 */
+	private String postDocument(String path, Resource document, MediaType contentType) {
+		HttpHeaders partHeaders = new HttpHeaders();
+		partHeaders.setContentType(contentType);
+		partHeaders.setContentDispositionFormData("file", document.getFilename());
+
+		MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+		body.add("file", new HttpEntity<>(document, partHeaders));
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+		HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
+
+		@SuppressWarnings("unchecked")
+		ResponseEntity<Map<String, Object>> response = callGuard.call(MlCallGuard.OCR, () -> ocrRestTemplate.postForEntity(
+				mlServiceUrl + path, request, (Class<Map<String, Object>>) (Class<?>) Map.class));
+
+		if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+			return (String) response.getBody().get("text");
+		}
+		return null;
+	}
+
 	/**
 	 * Extrait les métadonnées (marque, origine, etc.) d'un texte via NLP
 	 */
@@ -83,8 +147,8 @@ public class MlServiceClient {
 			HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
 
 			@SuppressWarnings("unchecked")
-			ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-					mlServiceUrl + "/nlp/extract-metadata", request, (Class<Map<String, Object>>) (Class<?>) Map.class);
+			ResponseEntity<Map<String, Object>> response = callGuard.call(MlCallGuard.NLP, () -> nlpRestTemplate.postForEntity(
+					mlServiceUrl + "/nlp/extract-metadata", request, (Class<Map<String, Object>>) (Class<?>) Map.class));
 
 			if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
 				Object metadataObj = response.getBody().get("metadata");
@@ -96,7 +160,7 @@ public class MlServiceClient {
 			}
 		} catch (Exception e) {
 			// Log mais ne pas faire échouer le parsing si ML échoue
-			System.err.println("Failed to extract metadata via ML service: " + e.getMessage());
+			log.warn("Failed to extract metadata via ML service", e);
 		}
 		return Map.of();
 	}
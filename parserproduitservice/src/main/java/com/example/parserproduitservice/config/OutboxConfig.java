@@ -0,0 +1,12 @@
+package com.example.parserproduitservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active la planification du relais de l'outbox ({@code OutboxRelay}).
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+}
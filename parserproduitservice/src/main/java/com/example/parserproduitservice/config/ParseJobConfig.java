@@ -0,0 +1,27 @@
+package com.example.parserproduitservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ParseJobConfig {
+
+	/**
+	 * Pool borné dédié aux parsings asynchrones : au-delà de la file d'attente, les soumissions
+	 * sont refusées plutôt que d'accumuler des requêtes en mémoire.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor parseJobExecutor(@Value("${parser.jobs.workers:4}") int workers,
+			@Value("${parser.jobs.queue-capacity:200}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(workers);
+		executor.setMaxPoolSize(workers);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("parse-job-");
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		return executor;
+	}
+}
@@ -1,16 +1,95 @@
 package com.example.parserproduitservice.config;
 
+import java.time.Duration;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Clients HTTP vers ml-service. Les deux familles d'endpoints partagent un même pool de
+ * connexions keep-alive mais ont chacune leur délai de réponse : l'OCR (Tesseract sur image ou
+ * PDF) est nettement plus lent que l'extraction NLP. Les métriques du pool sont publiées sous
+ * {@code httpcomponents.httpclient.pool.*}.
+ */
 @Configuration
 public class RestClientConfig {
 
+	@Value("${ml.client.pool.acquire-timeout:1s}")
+	private Duration acquireTimeout;
+
+	@Value("${ml.client.keep-alive:30s}")
+	private Duration keepAlive;
+
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager mlConnectionManager(MeterRegistry meterRegistry,
+			@Value("${ml.client.pool.max-total:50}") int maxTotal,
+			@Value("${ml.client.pool.max-per-route:20}") int maxPerRoute,
+			@Value("${ml.client.connect-timeout:2s}") Duration connectTimeout,
+			@Value("${ml.client.pool.time-to-live:5m}") Duration timeToLive) {
+		PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(maxTotal)
+				.setMaxConnPerRoute(maxPerRoute)
+				.setDefaultConnectionConfig(ConnectionConfig.custom()
+						.setConnectTimeout(Timeout.of(connectTimeout))
+						.setTimeToLive(TimeValue.of(timeToLive))
+						.setValidateAfterInactivity(TimeValue.ofSeconds(10))
+						.build())
+				.build();
+		new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "ml-service").bindTo(meterRegistry);
+		return connectionManager;
+	}
+
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient mlOcrHttpClient(PoolingHttpClientConnectionManager mlConnectionManager,
+			@Value("${ml.client.timeouts.ocr:30s}") Duration responseTimeout) {
+		return httpClient(mlConnectionManager, responseTimeout);
+	}
+
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient mlNlpHttpClient(PoolingHttpClientConnectionManager mlConnectionManager,
+			@Value("${ml.client.timeouts.nlp:5s}") Duration responseTimeout) {
+		return httpClient(mlConnectionManager, responseTimeout);
+	}
+
 	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public RestTemplate ocrRestTemplate(@Qualifier("mlOcrHttpClient") CloseableHttpClient httpClient) {
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
 	}
-}
 
+	@Bean
+	public RestTemplate nlpRestTemplate(@Qualifier("mlNlpHttpClient") CloseableHttpClient httpClient) {
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+	}
 
+	private CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+			Duration responseTimeout) {
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				// le pool appartient au bean mlConnectionManager, pas à chaque client
+				.setConnectionManagerShared(true)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+						.setResponseTimeout(Timeout.of(responseTimeout))
+						.build())
+				.setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+				.evictExpiredConnections()
+				.evictIdleConnections(TimeValue.of(keepAlive))
+				.disableAutomaticRetries()
+				.build();
+	}
+}
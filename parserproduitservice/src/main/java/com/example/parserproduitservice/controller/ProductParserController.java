@@ -1,7 +1,17 @@
 package com.example.parserproduitservice.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,30 +19,129 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.example.parserproduitservice.dto.BatchParseResponse;
+import com.example.parserproduitservice.dto.ParseJobResponse;
+import com.example.parserproduitservice.dto.ProductPageResponse;
 import com.example.parserproduitservice.dto.ProductParseRequest;
 import com.example.parserproduitservice.dto.ProductParseResponse;
+import com.example.parserproduitservice.entity.ParseJob;
 import com.example.parserproduitservice.entity.ProductMetadata;
 import com.example.parserproduitservice.repository.ProductMetadataRepository;
+import com.example.parserproduitservice.service.ParseJobService;
+import com.example.parserproduitservice.service.ProductCatalogService;
+import com.example.parserproduitservice.service.ProductBatchIngestionService;
 import com.example.parserproduitservice.service.ProductParserService;
+import com.example.parserproduitservice.service.ProductTextStore;
 
 @RestController
 @RequestMapping("/product")
 public class ProductParserController {
 
 	private final ProductParserService parserService;
+	private final ProductBatchIngestionService batchIngestionService;
+	private final ParseJobService parseJobService;
+	private final ProductTextStore textStore;
+	private final ProductCatalogService catalogService;
 	private final ProductMetadataRepository repository;
 
-	public ProductParserController(ProductParserService parserService, ProductMetadataRepository repository) {
+	public ProductParserController(ProductParserService parserService,
+			ProductBatchIngestionService batchIngestionService, ParseJobService parseJobService,
+			ProductTextStore textStore, ProductCatalogService catalogService,
+			ProductMetadataRepository repository) {
 		this.parserService = parserService;
+		this.batchIngestionService = batchIngestionService;
+		this.parseJobService = parseJobService;
+		this.textStore = textStore;
+		this.catalogService = catalogService;
 		this.repository = repository;
 	}
 
 	@PostMapping("/parse")
 	public ResponseEntity<ProductParseResponse> parseProduct(@Validated @RequestBody ProductParseRequest request) {
-		ProductMetadata saved = parserService.parse(request);
-		return ResponseEntity.ok(new ProductParseResponse(saved.getId(), "PARSED"));
+		return ResponseEntity.ok(toResponse(parserService.parse(request)));
+	}
+
+	/**
+	 * Mode asynchrone : répond 202 immédiatement avec l'identifiant du job à suivre sur
+	 * {@code GET /product/jobs/{id}}.
+	 */
+	@PostMapping(value = "/parse", params = "async=true")
+	public ResponseEntity<ParseJobResponse> parseProductAsync(@Validated @RequestBody ProductParseRequest request) {
+		try {
+			ParseJob job = parseJobService.submit(request);
+			return ResponseEntity.accepted()
+					.location(URI.create("/product/jobs/" + job.getId()))
+					.body(new ParseJobResponse(job.getId(), job.getStatus().name(), job.getGtin(), null, null,
+							job.getCreatedAt(), job.getUpdatedAt()));
+		} catch (TaskRejectedException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "5")
+					.build();
+		}
+	}
+
+	@GetMapping("/jobs/{jobId}")
+	public ResponseEntity<ParseJobResponse> getParseJob(@PathVariable UUID jobId) {
+		return parseJobService.find(jobId)
+				.map(ResponseEntity::ok)
+				.orElse(ResponseEntity.notFound().build());
+	}
+
+	/**
+	 * Fiche produit accompagnée de son étiquette (image) ou de sa fiche technique (PDF) en binaire :
+	 * partie JSON {@code product} et partie fichier {@code file}.
+	 */
+	@PostMapping(value = "/parse/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity<ProductParseResponse> parseUpload(
+			@Validated @RequestPart("product") ProductParseRequest request,
+			@RequestPart("file") MultipartFile file) {
+		return ResponseEntity.ok(toResponse(parserService.parseUpload(request, file)));
+	}
+
+	/**
+	 * Ingestion en masse d'un catalogue fournisseur : une {@link ProductParseRequest} JSON par ligne.
+	 */
+	@PostMapping(value = "/parse/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<BatchParseResponse> parseBatch(InputStream body) throws IOException {
+		return ResponseEntity.ok(batchIngestionService.ingest(body));
+	}
+
+	/**
+	 * Listing paginé par curseur, du plus récent au plus ancien parsing. Le curseur renvoyé dans
+	 * {@code nextCursor} se passe tel quel pour obtenir la page suivante.
+	 */
+	@GetMapping
+	public ResponseEntity<ProductPageResponse> listProducts(
+			@RequestParam(required = false) String brand,
+			@RequestParam(required = false) String originCountry,
+			@RequestParam(required = false) String packaging,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "50") int limit) {
+		try {
+			return ResponseEntity.ok(catalogService.list(brand, originCountry, packaging, cursor, limit));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	/**
+	 * Texte référencé par un événement {@code product.parsed} en mode claim check. Le contenu
+	 * est adressé par son hash, il peut donc être mis en cache sans limite.
+	 */
+	@GetMapping(value = "/text/{sha256}", produces = MediaType.TEXT_PLAIN_VALUE)
+	public ResponseEntity<String> getProductText(@PathVariable String sha256) {
+		return textStore.find(sha256)
+				.map(text -> ResponseEntity.ok()
+						.eTag(sha256)
+						.cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+						.contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+						.body(text))
+				.orElse(ResponseEntity.notFound().build());
 	}
 
 	@GetMapping("/{id}")
@@ -41,5 +150,8 @@ public class ProductParserController {
 				.map(ResponseEntity::ok)
 				.orElse(ResponseEntity.notFound().build());
 	}
-}
 
+	private ProductParseResponse toResponse(ProductParserService.ParseOutcome outcome) {
+		return new ProductParseResponse(outcome.getProduct().getId(), outcome.isChanged() ? "PARSED" : "UNCHANGED");
+	}
+}
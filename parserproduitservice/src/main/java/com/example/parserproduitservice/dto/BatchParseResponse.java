@@ -0,0 +1,48 @@
+package com.example.parserproduitservice.dto;
+
+/**
+ * Summary returned by the NDJSON bulk ingestion endpoint.
+ */
+public class BatchParseResponse {
+
+	private final int received;
+	private final int created;
+	private final int updated;
+	private final int unchanged;
+	private final int rejected;
+	private final int chunks;
+
+	public BatchParseResponse(int received, int created, int updated, int unchanged, int rejected,
+			int chunks) {
+		this.received = received;
+		this.created = created;
+		this.updated = updated;
+		this.unchanged = unchanged;
+		this.rejected = rejected;
+		this.chunks = chunks;
+	}
+
+	public int getReceived() {
+		return received;
+	}
+
+	public int getCreated() {
+		return created;
+	}
+
+	public int getUpdated() {
+		return updated;
+	}
+
+	public int getUnchanged() {
+		return unchanged;
+	}
+
+	public int getRejected() {
+		return rejected;
+	}
+
+	public int getChunks() {
+		return chunks;
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.parserproduitservice.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class ParseJobResponse {
+
+	private final UUID jobId;
+	private final String status;
+	private final String gtin;
+	private final UUID productId;
+	private final String error;
+	private final Instant createdAt;
+	private final Instant updatedAt;
+
+	public ParseJobResponse(UUID jobId, String status, String gtin, UUID productId, String error,
+			Instant createdAt, Instant updatedAt) {
+		this.jobId = jobId;
+		this.status = status;
+		this.gtin = gtin;
+		this.productId = productId;
+		this.error = error;
+		this.createdAt = createdAt;
+		this.updatedAt = updatedAt;
+	}
+
+	public UUID getJobId() {
+		return jobId;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public String getGtin() {
+		return gtin;
+	}
+
+	public UUID getProductId() {
+		return productId;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+}
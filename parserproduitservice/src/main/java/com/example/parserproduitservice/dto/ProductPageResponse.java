@@ -0,0 +1,25 @@
+package com.example.parserproduitservice.dto;
+
+import java.util.List;
+
+/**
+ * Page du listing produits. {@code nextCursor} est absent sur la dernière page.
+ */
+public class ProductPageResponse {
+
+	private final List<ProductSummary> items;
+	private final String nextCursor;
+
+	public ProductPageResponse(List<ProductSummary> items, String nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<ProductSummary> getItems() {
+		return items;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+}
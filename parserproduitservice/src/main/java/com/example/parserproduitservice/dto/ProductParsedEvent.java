@@ -5,6 +5,7 @@ import java.util.UUID;
 
 public class ProductParsedEvent {
 
+	private UUID eventId;
 	private UUID productId;
 	private String gtin;
 	private String name;
@@ -12,6 +13,10 @@ public class ProductParsedEvent {
 	private String originCountry;
 	private String packaging;
 	private String normalizedText;
+	/** Référence du texte quand il n'est pas transporté en ligne (claim check). */
+	private String textRef;
+	/** SHA-256 hexadécimal du texte référencé par {@link #textRef}. */
+	private String textSha256;
 	private Instant parsedAt;
 
 	public ProductParsedEvent() {
@@ -29,6 +34,14 @@ public class ProductParsedEvent {
 		this.parsedAt = parsedAt;
 	}
 
+	public UUID getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(UUID eventId) {
+		this.eventId = eventId;
+	}
+
 	public UUID getProductId() {
 		return productId;
 	}
@@ -85,6 +98,22 @@ public class ProductParsedEvent {
 		this.normalizedText = normalizedText;
 	}
 
+	public String getTextRef() {
+		return textRef;
+	}
+
+	public void setTextRef(String textRef) {
+		this.textRef = textRef;
+	}
+
+	public String getTextSha256() {
+		return textSha256;
+	}
+
+	public void setTextSha256(String textSha256) {
+		this.textSha256 = textSha256;
+	}
+
 	public Instant getParsedAt() {
 		return parsedAt;
 	}
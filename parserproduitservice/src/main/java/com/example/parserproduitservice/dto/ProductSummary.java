@@ -0,0 +1,57 @@
+package com.example.parserproduitservice.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Ligne du listing produits : la fiche sans son texte brut.
+ */
+public class ProductSummary {
+
+	private final UUID id;
+	private final String gtin;
+	private final String name;
+	private final String brand;
+	private final String originCountry;
+	private final String packaging;
+	private final Instant parsedAt;
+
+	public ProductSummary(UUID id, String gtin, String name, String brand, String originCountry,
+			String packaging, Instant parsedAt) {
+		this.id = id;
+		this.gtin = gtin;
+		this.name = name;
+		this.brand = brand;
+		this.originCountry = originCountry;
+		this.packaging = packaging;
+		this.parsedAt = parsedAt;
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public String getGtin() {
+		return gtin;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getBrand() {
+		return brand;
+	}
+
+	public String getOriginCountry() {
+		return originCountry;
+	}
+
+	public String getPackaging() {
+		return packaging;
+	}
+
+	public Instant getParsedAt() {
+		return parsedAt;
+	}
+}
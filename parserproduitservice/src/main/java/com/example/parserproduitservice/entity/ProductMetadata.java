@@ -8,10 +8,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "product_metadata")
+@Table(name = "product_metadata", indexes = {
+		// Listing keyset : ordre (parsedAt, id) décroissant, sans filtre ou avec un filtre d'égalité
+		@Index(name = "idx_product_metadata_parsed_at_id", columnList = "parsedAt, id"),
+		@Index(name = "idx_product_metadata_brand_parsed_at", columnList = "brand, parsedAt, id"),
+		@Index(name = "idx_product_metadata_origin_parsed_at", columnList = "originCountry, parsedAt, id"),
+		@Index(name = "idx_product_metadata_packaging_parsed_at", columnList = "packaging, parsedAt, id"),
+		@Index(name = "idx_product_metadata_text_sha256", columnList = "textSha256") })
 public class ProductMetadata {
 
 	@Id
@@ -36,6 +43,19 @@ public class ProductMetadata {
 	@Column(nullable = false)
 	private Instant parsedAt;
 
+	/**
+	 * SHA-256 du contenu qui compte pour la suite du pipeline (texte normalisé, emballage,
+	 * origine) : une resoumission identique ne republie pas {@code product.parsed}.
+	 */
+	@Column(length = 64)
+	private String contentFingerprint;
+
+	/**
+	 * SHA-256 de {@code rawText}, référence du texte dans les événements en mode claim check.
+	 */
+	@Column(length = 64)
+	private String textSha256;
+
 	public UUID getId() {
 		return id;
 	}
@@ -99,5 +119,20 @@ public class ProductMetadata {
 	public void setParsedAt(Instant parsedAt) {
 		this.parsedAt = parsedAt;
 	}
-}
 
+	public String getContentFingerprint() {
+		return contentFingerprint;
+	}
+
+	public void setContentFingerprint(String contentFingerprint) {
+		this.contentFingerprint = contentFingerprint;
+	}
+
+	public String getTextSha256() {
+		return textSha256;
+	}
+
+	public void setTextSha256(String textSha256) {
+		this.textSha256 = textSha256;
+	}
+}
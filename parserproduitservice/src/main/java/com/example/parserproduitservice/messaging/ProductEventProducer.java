@@ -1,12 +1,19 @@
 package com.example.parserproduitservice.messaging;
 
+import java.util.List;
+import java.util.UUID;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import com.example.commons.outbox.EventOutbox;
 import com.example.parserproduitservice.dto.ProductParsedEvent;
 
+/**
+ * Les événements sont écrits dans l'outbox de la transaction appelante et relayés vers Kafka par
+ * {@code OutboxRelay} : un consommateur ne reçoit jamais une fiche qui n'a pas été commitée.
+ */
 @Component
 public class ProductEventProducer {
 
@@ -14,15 +21,23 @@ public class ProductEventProducer {
 
 	private static final Logger log = LoggerFactory.getLogger(ProductEventProducer.class);
 
-	private final KafkaTemplate<String, ProductParsedEvent> kafkaTemplate;
+	private final EventOutbox outbox;
 
-	public ProductEventProducer(KafkaTemplate<String, ProductParsedEvent> kafkaTemplate) {
-		this.kafkaTemplate = kafkaTemplate;
+	public ProductEventProducer(EventOutbox outbox) {
+		this.outbox = outbox;
 	}
 
 	public void publish(ProductParsedEvent event) {
 		log.info("Publishing parsed product {} to topic {}", event.getProductId(), PRODUCT_PARSED_TOPIC);
-		kafkaTemplate.send(PRODUCT_PARSED_TOPIC, event.getProductId().toString(), event);
+		event.setEventId(UUID.randomUUID());
+		outbox.enqueue(event.getEventId(), PRODUCT_PARSED_TOPIC, event.getProductId().toString(), event);
 	}
-}
 
+	public void publishAll(List<ProductParsedEvent> events) {
+		log.info("Publishing {} parsed products to topic {}", events.size(), PRODUCT_PARSED_TOPIC);
+		for (ProductParsedEvent event : events) {
+			event.setEventId(UUID.randomUUID());
+			outbox.enqueue(event.getEventId(), PRODUCT_PARSED_TOPIC, event.getProductId().toString(), event);
+		}
+	}
+}
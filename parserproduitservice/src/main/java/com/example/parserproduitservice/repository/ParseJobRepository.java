@@ -0,0 +1,27 @@
+package com.example.parserproduitservice.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.parserproduitservice.entity.ParseJob;
+
+public interface ParseJobRepository extends JpaRepository<ParseJob, UUID> {
+
+	@Transactional
+	@Modifying
+	@Query("update ParseJob j set j.status = :status, j.updatedAt = :now where j.id = :id")
+	int updateStatus(@Param("id") UUID id, @Param("status") ParseJob.Status status, @Param("now") Instant now);
+
+	@Transactional
+	@Modifying
+	@Query("update ParseJob j set j.status = :status, j.productId = :productId, j.error = :error, "
+			+ "j.updatedAt = :now where j.id = :id")
+	int finish(@Param("id") UUID id, @Param("status") ParseJob.Status status, @Param("productId") UUID productId,
+			@Param("error") String error, @Param("now") Instant now);
+}
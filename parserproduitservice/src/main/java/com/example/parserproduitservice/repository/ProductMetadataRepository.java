@@ -1,5 +1,7 @@
 package com.example.parserproduitservice.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -7,8 +9,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.example.parserproduitservice.entity.ProductMetadata;
 
-public interface ProductMetadataRepository extends JpaRepository<ProductMetadata, UUID> {
+public interface ProductMetadataRepository
+		extends JpaRepository<ProductMetadata, UUID>, ProductMetadataSearchRepository {
 
 	Optional<ProductMetadata> findByGtin(String gtin);
-}
 
+	List<ProductMetadata> findByGtinIn(Collection<String> gtins);
+
+	Optional<ProductMetadata> findFirstByTextSha256(String textSha256);
+}
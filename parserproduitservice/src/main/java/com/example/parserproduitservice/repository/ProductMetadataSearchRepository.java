@@ -0,0 +1,21 @@
+package com.example.parserproduitservice.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.example.parserproduitservice.dto.ProductSummary;
+
+/**
+ * Listing paginé par clé (keyset) sur {@code (parsedAt, id)} décroissants.
+ */
+public interface ProductMetadataSearchRepository {
+
+	/**
+	 * @param afterParsedAt {@code parsedAt} de la dernière ligne de la page précédente, ou
+	 *                      {@code null} pour la première page
+	 * @param afterId       {@code id} de la dernière ligne de la page précédente
+	 */
+	List<ProductSummary> findPage(String brand, String originCountry, String packaging, Instant afterParsedAt,
+			UUID afterId, int limit);
+}
@@ -0,0 +1,60 @@
+package com.example.parserproduitservice.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.example.parserproduitservice.dto.ProductSummary;
+import com.example.parserproduitservice.entity.ProductMetadata;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class ProductMetadataSearchRepositoryImpl implements ProductMetadataSearchRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<ProductSummary> findPage(String brand, String originCountry, String packaging,
+			Instant afterParsedAt, UUID afterId, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+		Root<ProductMetadata> product = query.from(ProductMetadata.class);
+		Path<Instant> parsedAt = product.get("parsedAt");
+		Path<UUID> id = product.get("id");
+
+		// Seuls les filtres renseignés entrent dans la requête, pour que le planificateur
+		// choisisse l'index correspondant au lieu d'un plan générique
+		List<Predicate> predicates = new ArrayList<>();
+		if (brand != null) {
+			predicates.add(cb.equal(product.get("brand"), brand));
+		}
+		if (originCountry != null) {
+			predicates.add(cb.equal(product.get("originCountry"), originCountry));
+		}
+		if (packaging != null) {
+			predicates.add(cb.equal(product.get("packaging"), packaging));
+		}
+		if (afterParsedAt != null) {
+			// parsedAt <= borne sert de condition d'index ; le second terme départage les ex aequo
+			predicates.add(cb.lessThanOrEqualTo(parsedAt, afterParsedAt));
+			predicates.add(cb.or(cb.lessThan(parsedAt, afterParsedAt), cb.lessThan(id, afterId)));
+		}
+
+		query.select(cb.construct(ProductSummary.class, id, product.get("gtin"), product.get("name"),
+				product.get("brand"), product.get("originCountry"), product.get("packaging"), parsedAt))
+				.where(predicates.toArray(Predicate[]::new))
+				.orderBy(cb.desc(parsedAt), cb.desc(id));
+
+		return entityManager.createQuery(query)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+}
@@ -0,0 +1,126 @@
+package com.example.parserproduitservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.commons.cache.ContentCache;
+
+/**
+ * Cache du texte extrait par OCR, adressé par le contenu (SHA-256 des octets du document), sur
+ * le cache de contenu partagé ({@code content-cache.*}). Changer {@code content-cache.namespace}
+ * après une mise à jour de l'OCR invalide les textes mémorisés.
+ */
+@Component
+public class OcrTextCache {
+
+	private static final Logger log = LoggerFactory.getLogger(OcrTextCache.class);
+
+	private final ContentCache cache;
+
+	public OcrTextCache(ContentCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Retourne le texte associé à {@code contentHash}, ou lance {@code extractor} (appel OCR) et
+	 * mémorise son résultat. Sans empreinte (document illisible), l'extraction est faite sans cache.
+	 */
+	public String getOrExtract(String contentHash, Supplier<String> extractor) {
+		if (contentHash == null) {
+			return extractor.get();
+		}
+		String cached = cache.get(contentHash);
+		if (cached != null) {
+			return cached;
+		}
+		String text = extractor.get();
+		if (text != null && !text.isBlank()) {
+			cache.put(contentHash, text);
+		}
+		return text;
+	}
+
+	/**
+	 * Empreinte des octets décodés d'un contenu base64, calculée en flux sans matérialiser le
+	 * tableau d'octets décodé.
+	 */
+	public String hashBase64(String base64) {
+		try {
+			return sha256(Base64.getMimeDecoder().wrap(new CharSequenceInputStream(base64)));
+		} catch (IOException | IllegalArgumentException e) {
+			log.warn("Unable to fingerprint base64 document, OCR cache bypassed: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	public String hash(InputStream content) {
+		try (InputStream in = content) {
+			return sha256(in);
+		} catch (IOException e) {
+			log.warn("Unable to fingerprint uploaded document, OCR cache bypassed: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private static String sha256(InputStream content) throws IOException {
+		MessageDigest digest = newDigest();
+		try (DigestInputStream in = new DigestInputStream(content, digest)) {
+			byte[] buffer = new byte[8192];
+			while (in.read(buffer) != -1) {
+				// la lecture alimente le digest
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * Vue octet par octet d'une chaîne base64 (ASCII), pour ne pas en faire une copie en byte[].
+	 */
+	private static final class CharSequenceInputStream extends InputStream {
+		private final CharSequence source;
+		private int position;
+
+		private CharSequenceInputStream(CharSequence source) {
+			this.source = source;
+		}
+
+		@Override
+		public int read() {
+			return position < source.length() ? source.charAt(position++) & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			int remaining = source.length() - position;
+			if (remaining <= 0) {
+				return -1;
+			}
+			int count = Math.min(length, remaining);
+			for (int i = 0; i < count; i++) {
+				buffer[offset + i] = (byte) source.charAt(position++);
+			}
+			return count;
+		}
+	}
+}
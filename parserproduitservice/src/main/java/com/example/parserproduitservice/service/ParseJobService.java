@@ -0,0 +1,82 @@
+package com.example.parserproduitservice.service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.example.parserproduitservice.dto.ParseJobResponse;
+import com.example.parserproduitservice.dto.ProductParseRequest;
+import com.example.parserproduitservice.entity.ParseJob;
+import com.example.parserproduitservice.entity.ProductMetadata;
+import com.example.parserproduitservice.repository.ParseJobRepository;
+
+/**
+ * Parsing asynchrone : la requête HTTP ne fait qu'enregistrer le job, l'OCR et le NLP tournent
+ * sur le pool {@code parseJobExecutor}, hors de toute transaction.
+ */
+@Service
+public class ParseJobService {
+
+	private static final Logger log = LoggerFactory.getLogger(ParseJobService.class);
+
+	private final ParseJobRepository jobRepository;
+	private final ProductParserService parserService;
+	private final ThreadPoolTaskExecutor parseJobExecutor;
+
+	public ParseJobService(ParseJobRepository jobRepository, ProductParserService parserService,
+			ThreadPoolTaskExecutor parseJobExecutor) {
+		this.jobRepository = jobRepository;
+		this.parserService = parserService;
+		this.parseJobExecutor = parseJobExecutor;
+	}
+
+	/**
+	 * @throws TaskRejectedException si le pool et sa file d'attente sont saturés ; le job est
+	 *         alors enregistré en échec
+	 */
+	public ParseJob submit(ProductParseRequest request) {
+		Instant now = Instant.now();
+		ParseJob job = new ParseJob();
+		job.setGtin(request.getGtin());
+		job.setStatus(ParseJob.Status.QUEUED);
+		job.setCreatedAt(now);
+		job.setUpdatedAt(now);
+		ParseJob saved = jobRepository.save(job);
+
+		try {
+			parseJobExecutor.execute(() -> run(saved.getId(), request));
+		} catch (TaskRejectedException e) {
+			jobRepository.finish(saved.getId(), ParseJob.Status.FAILED, null, "Parse queue is full",
+					Instant.now());
+			throw e;
+		}
+		return saved;
+	}
+
+	public Optional<ParseJobResponse> find(UUID jobId) {
+		return jobRepository.findById(jobId)
+				.map(job -> new ParseJobResponse(job.getId(), job.getStatus().name(), job.getGtin(),
+						job.getProductId(), job.getError(), job.getCreatedAt(), job.getUpdatedAt()));
+	}
+
+	private void run(UUID jobId, ProductParseRequest request) {
+		try {
+			jobRepository.updateStatus(jobId, ParseJob.Status.EXTRACTING, Instant.now());
+			ProductParserService.ExtractedContent content = parserService.extract(request);
+
+			jobRepository.updateStatus(jobId, ParseJob.Status.PERSISTING, Instant.now());
+			ProductMetadata saved = parserService.persist(request, content).getProduct();
+
+			jobRepository.finish(jobId, ParseJob.Status.COMPLETED, saved.getId(), null, Instant.now());
+		} catch (Exception e) {
+			log.error("Parse job {} failed for GTIN {}", jobId, request.getGtin(), e);
+			jobRepository.finish(jobId, ParseJob.Status.FAILED, null, e.getMessage(), Instant.now());
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.example.parserproduitservice.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.parserproduitservice.dto.BatchParseResponse;
+import com.example.parserproduitservice.dto.ProductParseRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.validation.Validator;
+
+/**
+ * Lit un flux NDJSON de {@link ProductParseRequest} ligne par ligne et l'ingère par lots,
+ * sans jamais matérialiser le catalogue complet en mémoire.
+ */
+@Service
+public class ProductBatchIngestionService {
+
+	private static final Logger log = LoggerFactory.getLogger(ProductBatchIngestionService.class);
+
+	private final ProductParserService parserService;
+	private final ObjectReader requestReader;
+	private final Validator validator;
+	private final int chunkSize;
+
+	public ProductBatchIngestionService(ProductParserService parserService, ObjectMapper objectMapper,
+			Validator validator, @Value("${parser.batch.chunk-size:500}") int chunkSize) {
+		this.parserService = parserService;
+		this.requestReader = objectMapper.readerFor(ProductParseRequest.class);
+		this.validator = validator;
+		this.chunkSize = chunkSize;
+	}
+
+	public BatchParseResponse ingest(InputStream ndjson) throws IOException {
+		int received = 0;
+		int created = 0;
+		int updated = 0;
+		int unchanged = 0;
+		int rejected = 0;
+		int chunks = 0;
+
+		List<ProductParseRequest> chunk = new ArrayList<>(chunkSize);
+		BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.isBlank()) {
+				continue;
+			}
+			received++;
+			ProductParseRequest request = readLine(line, received);
+			if (request == null || !validator.validate(request).isEmpty()) {
+				rejected++;
+				continue;
+			}
+			chunk.add(request);
+			if (chunk.size() == chunkSize) {
+				ProductParserService.ChunkResult result = parserService.parseChunk(chunk);
+				created += result.getCreated();
+				updated += result.getUpdated();
+				unchanged += result.getUnchanged();
+				chunks++;
+				chunk = new ArrayList<>(chunkSize);
+			}
+		}
+		if (!chunk.isEmpty()) {
+			ProductParserService.ChunkResult result = parserService.parseChunk(chunk);
+			created += result.getCreated();
+			updated += result.getUpdated();
+			unchanged += result.getUnchanged();
+			chunks++;
+		}
+
+		log.info("Batch ingestion done: {} received, {} created, {} updated, {} unchanged, {} rejected in {} chunks",
+				received, created, updated, unchanged, rejected, chunks);
+		return new BatchParseResponse(received, created, updated, unchanged, rejected, chunks);
+	}
+
+	private ProductParseRequest readLine(String line, int lineNumber) {
+		try {
+			return requestReader.readValue(line);
+		} catch (JsonProcessingException e) {
+			log.warn("Skipping malformed NDJSON line {}: {}", lineNumber, e.getOriginalMessage());
+			return null;
+		}
+	}
+}
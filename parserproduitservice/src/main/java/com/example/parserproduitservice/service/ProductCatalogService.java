@@ -0,0 +1,78 @@
+package com.example.parserproduitservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.parserproduitservice.dto.ProductPageResponse;
+import com.example.parserproduitservice.dto.ProductSummary;
+import com.example.parserproduitservice.repository.ProductMetadataRepository;
+
+/**
+ * Listing des fiches produit par curseur : chaque page repart de la clé {@code (parsedAt, id)}
+ * de la dernière ligne renvoyée, le coût d'une page ne dépend donc pas de sa profondeur.
+ */
+@Service
+public class ProductCatalogService {
+
+	private final ProductMetadataRepository repository;
+	private final int maxPageSize;
+
+	public ProductCatalogService(ProductMetadataRepository repository,
+			@Value("${parser.listing.max-page-size:500}") int maxPageSize) {
+		this.repository = repository;
+		this.maxPageSize = maxPageSize;
+	}
+
+	/**
+	 * @throws IllegalArgumentException si le curseur n'a pas été produit par ce service
+	 */
+	@Transactional(readOnly = true)
+	public ProductPageResponse list(String brand, String originCountry, String packaging, String cursor,
+			int limit) {
+		int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+		Instant afterParsedAt = null;
+		UUID afterId = null;
+		if (cursor != null && !cursor.isBlank()) {
+			String[] key = decode(cursor);
+			afterParsedAt = Instant.parse(key[0]);
+			afterId = UUID.fromString(key[1]);
+		}
+
+		// Une ligne de plus que demandé pour savoir s'il existe une page suivante
+		List<ProductSummary> rows = repository.findPage(brand, originCountry, packaging, afterParsedAt, afterId,
+				pageSize + 1);
+		if (rows.size() <= pageSize) {
+			return new ProductPageResponse(rows, null);
+		}
+		List<ProductSummary> page = rows.subList(0, pageSize);
+		ProductSummary last = page.get(pageSize - 1);
+		return new ProductPageResponse(List.copyOf(page), encode(last.getParsedAt(), last.getId()));
+	}
+
+	private static String encode(Instant parsedAt, UUID id) {
+		String key = parsedAt + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String[] decode(String cursor) {
+		try {
+			String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+			if (key.length != 2) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			Instant.parse(key[0]);
+			UUID.fromString(key[1]);
+			return key;
+		} catch (DateTimeParseException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+}
@@ -1,14 +1,30 @@
 package com.example.parserproduitservice.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.example.parserproduitservice.client.MlServiceClient;
 import com.example.parserproduitservice.dto.ProductParseRequest;
-import com.example.parserproduitservice.dto.ProductParsedEvent;
 import com.example.parserproduitservice.entity.ProductMetadata;
 import com.example.parserproduitservice.messaging.ProductEventProducer;
 import com.example.parserproduitservice.repository.ProductMetadataRepository;
@@ -16,64 +32,194 @@ import com.example.parserproduitservice.repository.ProductMetadataRepository;
 @Service
 public class ProductParserService {
 
+	private static final Logger log = LoggerFactory.getLogger(ProductParserService.class);
+
 	private final ProductMetadataRepository repository;
 	private final ProductEventProducer eventProducer;
 	private final MlServiceClient mlServiceClient;
+	private final OcrTextCache ocrTextCache;
+	private final ProductTextStore textStore;
+	private final TransactionTemplate transactionTemplate;
 
 	public ProductParserService(ProductMetadataRepository repository, ProductEventProducer eventProducer,
-			MlServiceClient mlServiceClient) {
+			MlServiceClient mlServiceClient, OcrTextCache ocrTextCache, ProductTextStore textStore,
+			PlatformTransactionManager transactionManager) {
 		this.repository = repository;
 		this.eventProducer = eventProducer;
 		this.mlServiceClient = mlServiceClient;
+		this.ocrTextCache = ocrTextCache;
+		this.textStore = textStore;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 	}
 
-	@Transactional
-	public ProductMetadata parse(ProductParseRequest request) {
-		ProductMetadata metadata = repository.findByGtin(request.getGtin())
-				.orElseGet(ProductMetadata::new);
+	/**
+	 * Parsing synchrone : les appels ML se font hors transaction, seule l'écriture finale en
+	 * ouvre une, pour ne pas garder une connexion base pendant l'OCR.
+	 */
+	public ParseOutcome parse(ProductParseRequest request) {
+		return persist(request, extract(request));
+	}
 
-		metadata.setGtin(request.getGtin());
-		metadata.setName(request.getName());
-		metadata.setBrand(request.getBrand());
-		metadata.setOriginCountry(request.getOriginCountry());
-		metadata.setPackaging(request.getPackaging());
+	/**
+	 * Variante de {@link #parse(ProductParseRequest)} pour une étiquette ou une fiche PDF reçue en
+	 * multipart : le fichier reste dans le stockage temporaire de l'upload et il est relayé en flux
+	 * au service ML.
+	 */
+	public ParseOutcome parseUpload(ProductParseRequest request, MultipartFile document) {
+		return persist(request, enrich(request, extractTextFromUpload(document)));
+	}
 
+	/**
+	 * Première phase du parsing, sans accès base : OCR/PDF éventuel puis enrichissement NLP.
+	 */
+	public ExtractedContent extract(ProductParseRequest request) {
 		// Extraction de texte via OCR/PDF si fourni (ML/IA)
-		String extractedText = extractTextWithML(request);
-		String finalText = extractedText != null && !extractedText.isEmpty() 
-				? extractedText 
+		return enrich(request, extractTextWithML(request));
+	}
+
+	/**
+	 * Seconde phase du parsing : upsert de la fiche et publication de {@code product.parsed}
+	 * dans une transaction courte. Si le texte, l'emballage et l'origine n'ont pas changé depuis
+	 * le dernier parsing, rien n'est republié : NLP, ACV et scoring ne sont pas relancés.
+	 */
+	public ParseOutcome persist(ProductParseRequest request, ExtractedContent content) {
+		return transactionTemplate.execute(status -> {
+			ProductMetadata metadata = repository.findByGtin(request.getGtin()).orElseGet(() -> {
+				ProductMetadata created = new ProductMetadata();
+				created.setGtin(request.getGtin());
+				return created;
+			});
+			boolean changed = apply(metadata, request.getName(),
+					request.getBrand() != null ? request.getBrand() : content.getBrand(),
+					request.getOriginCountry() != null ? request.getOriginCountry() : content.getOriginCountry(),
+					request.getPackaging(), content.getText(), Instant.now());
+
+			ProductMetadata saved = repository.save(metadata);
+			if (changed) {
+				eventProducer.publish(textStore.toEvent(saved));
+			}
+			return new ParseOutcome(saved, changed);
+		});
+	}
+
+	/**
+	 * Recopie les champs sur la fiche. Le nom et la marque sont toujours mis à jour, mais
+	 * {@code parsedAt} et l'empreinte ne bougent que si le contenu matériel a changé.
+	 *
+	 * @return {@code true} si la fiche est nouvelle ou si son contenu matériel a changé
+	 */
+	private boolean apply(ProductMetadata metadata, String name, String brand, String originCountry,
+			String packaging, String text, Instant parsedAt) {
+		String fingerprint = fingerprint(text, packaging, originCountry);
+		boolean changed = metadata.getId() == null || !fingerprint.equals(metadata.getContentFingerprint());
+
+		metadata.setName(name);
+		metadata.setBrand(brand);
+		if (changed) {
+			metadata.setOriginCountry(originCountry);
+			metadata.setPackaging(packaging);
+			metadata.setRawText(text);
+			metadata.setTextSha256(ProductTextStore.sha256(text));
+			metadata.setContentFingerprint(fingerprint);
+			metadata.setParsedAt(parsedAt);
+		}
+		return changed;
+	}
+
+	/**
+	 * Empreinte insensible à la casse et aux variations d'espacement du texte, pour qu'un même
+	 * produit ré-exporté par un autre outil fournisseur ne soit pas vu comme modifié.
+	 */
+	static String fingerprint(String text, String packaging, String originCountry) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+		for (String part : new String[] { cleanText(text), packaging, originCountry }) {
+			String normalized = Objects.toString(part, "").trim().toLowerCase(Locale.ROOT);
+			digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private ExtractedContent enrich(ProductParseRequest request, String extractedText) {
+		String finalText = extractedText != null && !extractedText.isEmpty()
+				? extractedText
 				: cleanText(request.getRawText());
 
 		// Enrichir les métadonnées via NLP si le texte est disponible
-		if (finalText != null && !finalText.isEmpty()) {
+		String brand = null;
+		String originCountry = null;
+		if (finalText != null && !finalText.isEmpty()
+				&& (request.getBrand() == null || request.getOriginCountry() == null)) {
 			Map<String, String> metadataFromML = mlServiceClient.extractMetadata(finalText);
-			if (metadata.getBrand() == null && metadataFromML.containsKey("brand")) {
-				metadata.setBrand(metadataFromML.get("brand"));
+			brand = metadataFromML.get("brand");
+			originCountry = metadataFromML.get("origin");
+		}
+		return new ExtractedContent(finalText, brand, originCountry);
+	}
+
+	/**
+	 * Ingestion ensembliste d'un lot de fiches produit : une seule requête {@code IN (...)} pour
+	 * retrouver les GTIN existants, des écritures regroupées par le batching JDBC d'Hibernate et
+	 * la publication de tous les événements du lot d'un coup. L'enrichissement NLP des métadonnées
+	 * n'est pas appliqué ici : un appel ML par produit annulerait le gain du traitement par lot.
+	 * Une ligne qui porte une image ou un PDF passe en revanche par l'OCR (via le cache), pour tout
+	 * le lot avant d'ouvrir la transaction : un appel ML lent ne retient ni connexion ni verrou.
+	 */
+	public ChunkResult parseChunk(List<ProductParseRequest> requests) {
+		// Un GTIN présent plusieurs fois dans le lot : la dernière occurrence l'emporte
+		Map<String, ProductParseRequest> byGtin = new LinkedHashMap<>();
+		for (ProductParseRequest request : requests) {
+			byGtin.put(request.getGtin(), request);
+		}
+		Map<String, String> texts = new HashMap<>(byGtin.size());
+		for (ProductParseRequest request : byGtin.values()) {
+			texts.put(request.getGtin(), resolveText(request));
+		}
+		return transactionTemplate.execute(status -> persistChunk(byGtin, texts));
+	}
+
+	private ChunkResult persistChunk(Map<String, ProductParseRequest> byGtin, Map<String, String> texts) {
+		Map<String, ProductMetadata> existing = repository.findByGtinIn(byGtin.keySet()).stream()
+				.collect(Collectors.toMap(ProductMetadata::getGtin, Function.identity()));
+
+		Instant parsedAt = Instant.now();
+		List<ProductMetadata> toSave = new ArrayList<>(byGtin.size());
+		List<ProductMetadata> changed = new ArrayList<>(byGtin.size());
+		int created = 0;
+		for (ProductParseRequest request : byGtin.values()) {
+			ProductMetadata metadata = existing.get(request.getGtin());
+			if (metadata == null) {
+				metadata = new ProductMetadata();
+				metadata.setGtin(request.getGtin());
+				created++;
 			}
-			if (metadata.getOriginCountry() == null && metadataFromML.containsKey("origin")) {
-				metadata.setOriginCountry(metadataFromML.get("origin"));
+			if (apply(metadata, request.getName(), request.getBrand(), request.getOriginCountry(),
+					request.getPackaging(), texts.get(request.getGtin()), parsedAt)) {
+				changed.add(metadata);
 			}
+			toSave.add(metadata);
 		}
 
-		metadata.setRawText(finalText);
-		metadata.setParsedAt(Instant.now());
-
-		ProductMetadata saved = repository.save(metadata);
+		// Les fiches inchangées restent gérées par le contexte de persistance : seules celles dont
+		// le nom ou la marque a bougé génèrent un UPDATE au flush.
+		repository.saveAll(toSave);
+		eventProducer.publishAll(changed.stream().map(textStore::toEvent).toList());
+		return new ChunkResult(created, changed.size() - created, toSave.size() - changed.size());
+	}
 
-		ProductParsedEvent event = new ProductParsedEvent(
-				saved.getId(),
-				saved.getGtin(),
-				saved.getName(),
-				saved.getBrand(),
-				saved.getOriginCountry(),
-				saved.getPackaging(),
-				saved.getRawText(),
-				saved.getParsedAt());
-		eventProducer.publish(event);
-		return saved;
+	private String resolveText(ProductParseRequest request) {
+		String extractedText = extractTextWithML(request);
+		return extractedText != null && !extractedText.isEmpty()
+				? extractedText
+				: cleanText(request.getRawText());
 	}
 
-	private String cleanText(String rawText) {
+	static String cleanText(String rawText) {
 		return rawText == null ? "" : rawText.replaceAll("\\s+", " ").trim();
 	}
 
@@ -82,17 +228,124 @@ public class ProductParserService {
 	 */
 	private String extractTextWithML(ProductParseRequest request) {
 		try {
-			if (request.getImageBase64() != null && !request.getImageBase64().isEmpty()) {
-				return mlServiceClient.extractTextFromImage(request.getImageBase64());
+			String imageBase64 = request.getImageBase64();
+			if (imageBase64 != null && !imageBase64.isEmpty()) {
+				return ocrTextCache.getOrExtract(ocrTextCache.hashBase64(imageBase64),
+						() -> mlServiceClient.extractTextFromImage(imageBase64));
 			}
-			if (request.getPdfBase64() != null && !request.getPdfBase64().isEmpty()) {
-				return mlServiceClient.extractTextFromPdf(request.getPdfBase64());
+			String pdfBase64 = request.getPdfBase64();
+			if (pdfBase64 != null && !pdfBase64.isEmpty()) {
+				return ocrTextCache.getOrExtract(ocrTextCache.hashBase64(pdfBase64),
+						() -> mlServiceClient.extractTextFromPdf(pdfBase64));
 			}
 		} catch (Exception e) {
 			// Log l'erreur mais continue avec le texte brut si fourni
-			System.err.println("ML extraction failed, using fallback: " + e.getMessage());
+			log.warn("ML extraction failed for product {}, using fallback", request.getGtin(), e);
 		}
 		return null;
 	}
-}
 
+	private String extractTextFromUpload(MultipartFile document) {
+		if (document == null || document.isEmpty()) {
+			return null;
+		}
+		try {
+			String contentHash = ocrTextCache.hash(document.getInputStream());
+			if (isPdf(document)) {
+				return ocrTextCache.getOrExtract(contentHash,
+						() -> mlServiceClient.extractTextFromPdf(document.getResource()));
+			}
+			MediaType contentType = document.getContentType() != null
+					? MediaType.parseMediaType(document.getContentType())
+					: MediaType.APPLICATION_OCTET_STREAM;
+			return ocrTextCache.getOrExtract(contentHash,
+					() -> mlServiceClient.extractTextFromImage(document.getResource(), contentType));
+		} catch (Exception e) {
+			log.warn("ML extraction failed for uploaded document {}, using fallback", document.getOriginalFilename(), e);
+		}
+		return null;
+	}
+
+	private boolean isPdf(MultipartFile document) {
+		if (MediaType.APPLICATION_PDF_VALUE.equalsIgnoreCase(document.getContentType())) {
+			return true;
+		}
+		String filename = document.getOriginalFilename();
+		return filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".pdf");
+	}
+
+	/**
+	 * Résultat de la phase d'extraction : texte final et métadonnées proposées par le NLP.
+	 */
+	public static class ExtractedContent {
+		private final String text;
+		private final String brand;
+		private final String originCountry;
+
+		public ExtractedContent(String text, String brand, String originCountry) {
+			this.text = text;
+			this.brand = brand;
+			this.originCountry = originCountry;
+		}
+
+		public String getText() {
+			return text;
+		}
+
+		public String getBrand() {
+			return brand;
+		}
+
+		public String getOriginCountry() {
+			return originCountry;
+		}
+	}
+
+	/**
+	 * Fiche enregistrée et indicateur de changement de son contenu matériel.
+	 */
+	public static class ParseOutcome {
+		private final ProductMetadata product;
+		private final boolean changed;
+
+		public ParseOutcome(ProductMetadata product, boolean changed) {
+			this.product = product;
+			this.changed = changed;
+		}
+
+		public ProductMetadata getProduct() {
+			return product;
+		}
+
+		public boolean isChanged() {
+			return changed;
+		}
+	}
+
+	/**
+	 * Compteurs d'un lot ingéré par {@link #parseChunk(List)}.
+	 */
+	public static class ChunkResult {
+		private final int created;
+		private final int updated;
+		private final int unchanged;
+
+		public ChunkResult(int created, int updated, int unchanged) {
+			this.created = created;
+			this.updated = updated;
+			this.unchanged = unchanged;
+		}
+
+		public int getCreated() {
+			return created;
+		}
+
+		public int getUpdated() {
+			return updated;
+		}
+
+		public int getUnchanged() {
+			return unchanged;
+		}
+	}
+}
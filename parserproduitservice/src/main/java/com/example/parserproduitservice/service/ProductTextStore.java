@@ -0,0 +1,95 @@
+package com.example.parserproduitservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.parserproduitservice.dto.ProductParsedEvent;
+import com.example.parserproduitservice.entity.ProductMetadata;
+import com.example.parserproduitservice.repository.ProductMetadataRepository;
+
+/**
+ * Claim check pour {@code product.parsed} : au-delà de {@code parser.events.claim-check.threshold-bytes}
+ * l'événement ne porte que la référence du texte ({@code GET /product/text/{sha256}}) et son hash.
+ * Le texte n'est pas recopié : la référence est résolue sur {@code product_metadata.raw_text}, par
+ * son hash indexé. Elle reste donc valable tant qu'une fiche porte ce texte ; un texte remplacé par
+ * un parsing ultérieur disparaît avec lui, son événement étant de toute façon périmé. Un seuil
+ * négatif désactive le mécanisme.
+ */
+@Service
+public class ProductTextStore {
+
+	public static final String TEXT_PATH = "/product/text/";
+
+	private final ProductMetadataRepository repository;
+	private final int thresholdBytes;
+
+	public ProductTextStore(ProductMetadataRepository repository,
+			@Value("${parser.events.claim-check.threshold-bytes:8192}") int thresholdBytes) {
+		this.repository = repository;
+		this.thresholdBytes = thresholdBytes;
+	}
+
+	/**
+	 * Construit l'événement d'une fiche enregistrée, avec le texte en ligne ou par référence.
+	 */
+	public ProductParsedEvent toEvent(ProductMetadata saved) {
+		ProductParsedEvent event = new ProductParsedEvent(
+				saved.getId(),
+				saved.getGtin(),
+				saved.getName(),
+				saved.getBrand(),
+				saved.getOriginCountry(),
+				saved.getPackaging(),
+				saved.getRawText(),
+				saved.getParsedAt());
+
+		String text = saved.getRawText();
+		if (thresholdBytes >= 0 && text != null && utf8Length(text) > thresholdBytes) {
+			String sha256 = saved.getTextSha256() != null ? saved.getTextSha256() : sha256(text);
+			event.setNormalizedText(null);
+			event.setTextRef(TEXT_PATH + sha256);
+			event.setTextSha256(sha256);
+		}
+		return event;
+	}
+
+	public Optional<String> find(String sha256) {
+		return repository.findFirstByTextSha256(sha256).map(ProductMetadata::getRawText);
+	}
+
+	static String sha256(String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * Taille UTF-8 sans allouer le tableau d'octets.
+	 */
+	private static int utf8Length(String text) {
+		int length = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				length++;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c)) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+}
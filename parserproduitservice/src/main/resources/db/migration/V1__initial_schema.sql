@@ -0,0 +1,40 @@
+-- Schéma initial du parser. Les ordres sont idempotents : la base est partagée entre services et
+-- reprise par baseline-on-migrate (version 0). Le cache des textes OCR (parser_ocr_cache) est créé
+-- au démarrage par ecolabel-commons.
+
+create table if not exists product_metadata (
+    id uuid not null primary key,
+    gtin varchar(255) not null unique,
+    name varchar(255) not null,
+    brand varchar(255),
+    origin_country varchar(255),
+    packaging varchar(255),
+    raw_text text not null,
+    parsed_at timestamp(6) with time zone not null,
+    content_fingerprint varchar(64),
+    text_sha256 varchar(64)
+);
+
+-- Listing keyset : ordre (parsed_at, id) décroissant, sans filtre ou avec un filtre d'égalité
+create index if not exists idx_product_metadata_parsed_at_id
+    on product_metadata (parsed_at, id);
+create index if not exists idx_product_metadata_brand_parsed_at
+    on product_metadata (brand, parsed_at, id);
+create index if not exists idx_product_metadata_origin_parsed_at
+    on product_metadata (origin_country, parsed_at, id);
+create index if not exists idx_product_metadata_packaging_parsed_at
+    on product_metadata (packaging, parsed_at, id);
+
+-- Claim check : le texte référencé par product.parsed est relu sur la fiche par son hash
+create index if not exists idx_product_metadata_text_sha256 on product_metadata (text_sha256);
+
+create table if not exists parse_job (
+    id uuid not null primary key,
+    gtin varchar(255) not null,
+    status varchar(255) not null
+        check (status in ('QUEUED', 'EXTRACTING', 'PERSISTING', 'COMPLETED', 'FAILED')),
+    product_id uuid,
+    error text,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null
+);
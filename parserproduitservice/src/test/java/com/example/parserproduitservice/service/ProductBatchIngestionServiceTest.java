@@ -0,0 +1,81 @@
+package com.example.parserproduitservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.parserproduitservice.dto.BatchParseResponse;
+import com.example.parserproduitservice.dto.ProductParseRequest;
+
+import jakarta.validation.Validation;
+
+class ProductBatchIngestionServiceTest {
+
+	private final List<List<String>> chunks = new ArrayList<>();
+	private ProductBatchIngestionService ingestionService;
+
+	@BeforeEach
+	void setUp() {
+		ProductParserService parserService = mock(ProductParserService.class);
+		when(parserService.parseChunk(anyList())).thenAnswer(invocation -> {
+			List<ProductParseRequest> chunk = invocation.getArgument(0);
+			chunks.add(chunk.stream().map(ProductParseRequest::getGtin).toList());
+			// Le premier de chaque lot est nouveau, les autres inchangés
+			return new ProductParserService.ChunkResult(1, 0, chunk.size() - 1);
+		});
+		// Même configuration que l'ObjectMapper de Spring Boot : propriétés inconnues ignorées
+		ingestionService = new ProductBatchIngestionService(parserService, Jackson2ObjectMapperBuilder.json().build(),
+				Validation.buildDefaultValidatorFactory().getValidator(), 2);
+	}
+
+	@Test
+	void ingestsValidLinesInChunksAndCountsRejects() throws IOException {
+		String ndjson = """
+				{"gtin": "1", "name": "Yaourt", "rawText": "lait"}
+				{"gtin": "2", "name": "Biscuit"}
+
+				{"gtin": "3", "name": "Confiture"
+				{"name": "Sans GTIN"}
+				{"gtin": "4", "name": "Jus", "unknown": true}
+				{"gtin": "5", "name": "Pain"}
+				""";
+
+		BatchParseResponse response = ingestionService.ingest(
+				new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(chunks).containsExactly(List.of("1", "2"), List.of("4", "5"));
+		assertThat(response.getReceived()).isEqualTo(6);
+		assertThat(response.getRejected()).isEqualTo(2);
+		assertThat(response.getCreated()).isEqualTo(2);
+		assertThat(response.getUnchanged()).isEqualTo(2);
+		assertThat(response.getChunks()).isEqualTo(2);
+	}
+
+	@Test
+	void lastPartialChunkIsIngested() throws IOException {
+		BatchParseResponse response = ingestionService.ingest(new ByteArrayInputStream(
+				"{\"gtin\": \"1\", \"name\": \"Yaourt\"}".getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(chunks).containsExactly(List.of("1"));
+		assertThat(response.getChunks()).isEqualTo(1);
+	}
+
+	@Test
+	void emptyStreamIngestsNothing() throws IOException {
+		BatchParseResponse response = ingestionService.ingest(new ByteArrayInputStream(new byte[0]));
+
+		assertThat(chunks).isEmpty();
+		assertThat(response.getReceived()).isZero();
+	}
+}
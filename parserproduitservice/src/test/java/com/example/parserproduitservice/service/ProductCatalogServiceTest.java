@@ -0,0 +1,106 @@
+package com.example.parserproduitservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.example.parserproduitservice.dto.ProductPageResponse;
+import com.example.parserproduitservice.dto.ProductSummary;
+import com.example.parserproduitservice.entity.ProductMetadata;
+import com.example.parserproduitservice.repository.ProductMetadataRepository;
+
+/**
+ * Pagination par curseur sur la base PostgreSQL du service. Les fiches du test portent une marque
+ * propre au test, qui sert de filtre : les fiches réelles de la base partagée n'apparaissent pas.
+ * Chaque test est annulé à la fin.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductCatalogServiceTest {
+
+	@Autowired
+	private ProductMetadataRepository repository;
+
+	private ProductCatalogService catalogService;
+	private String brand;
+
+	@BeforeEach
+	void setUp() {
+		catalogService = new ProductCatalogService(repository, 500);
+		brand = "test-" + UUID.randomUUID();
+	}
+
+	@Test
+	void pagesCoverEveryProductOnceNewestFirst() {
+		Instant now = Instant.parse("2026-10-01T12:00:00Z");
+		List<ProductMetadata> saved = new ArrayList<>();
+		// Deux paires ex aequo sur parsedAt, départagées par l'id
+		for (Instant parsedAt : List.of(now, now, now.minusSeconds(60), now.minusSeconds(60), now.minusSeconds(120))) {
+			saved.add(repository.save(product(parsedAt, "road")));
+		}
+		repository.flush();
+
+		List<ProductSummary> listed = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		String cursor = null;
+		do {
+			ProductPageResponse page = catalogService.list(brand, null, null, cursor, 2);
+			listed.addAll(page.getItems());
+			pageSizes.add(page.getItems().size());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(pageSizes).containsExactly(2, 2, 1);
+		// PostgreSQL compare les uuid octet par octet, comme leur forme hexadécimale
+		assertThat(listed).extracting(ProductSummary::getId).containsExactlyElementsOf(saved.stream()
+				.sorted(Comparator.comparing(ProductMetadata::getParsedAt)
+						.thenComparing(product -> product.getId().toString())
+						.reversed())
+				.map(ProductMetadata::getId)
+				.toList());
+	}
+
+	@Test
+	void filtersCombineWithCursor() {
+		Instant now = Instant.parse("2026-10-01T12:00:00Z");
+		repository.save(product(now, "glass"));
+		repository.save(product(now.minusSeconds(1), "plastic"));
+		repository.save(product(now.minusSeconds(2), "glass"));
+		repository.flush();
+
+		ProductPageResponse first = catalogService.list(brand, null, "glass", null, 1);
+		ProductPageResponse second = catalogService.list(brand, null, "glass", first.getNextCursor(), 1);
+
+		assertThat(first.getItems()).extracting(ProductSummary::getParsedAt).containsExactly(now);
+		assertThat(second.getItems()).extracting(ProductSummary::getParsedAt).containsExactly(now.minusSeconds(2));
+		assertThat(second.getNextCursor()).isNull();
+	}
+
+	@Test
+	void rejectsForeignCursor() {
+		assertThatThrownBy(() -> catalogService.list(null, null, null, "not-a-cursor", 10))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private ProductMetadata product(Instant parsedAt, String packaging) {
+		ProductMetadata product = new ProductMetadata();
+		product.setGtin(UUID.randomUUID().toString());
+		product.setName("Produit");
+		product.setBrand(brand);
+		product.setPackaging(packaging);
+		product.setRawText("lait, sucre");
+		product.setParsedAt(parsedAt);
+		return product;
+	}
+}
@@ -0,0 +1,97 @@
+package com.example.parserproduitservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.parserproduitservice.client.MlServiceClient;
+import com.example.parserproduitservice.dto.ProductParseRequest;
+import com.example.parserproduitservice.dto.ProductParsedEvent;
+import com.example.parserproduitservice.entity.ProductMetadata;
+import com.example.parserproduitservice.messaging.ProductEventProducer;
+import com.example.parserproduitservice.repository.ProductMetadataRepository;
+
+/**
+ * Parsing d'une fiche seule ({@code POST /product/parse}, upload et jobs asynchrones) sur la base
+ * PostgreSQL du service. Chaque test est annulé à la fin.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductParserServiceTest {
+
+	@Autowired
+	private ProductMetadataRepository repository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private ProductEventProducer eventProducer;
+	private ProductParserService parserService;
+	private String gtin;
+
+	@BeforeEach
+	void setUp() {
+		eventProducer = mock(ProductEventProducer.class);
+		parserService = new ProductParserService(repository, eventProducer, mock(MlServiceClient.class),
+				mock(OcrTextCache.class), new ProductTextStore(repository, 8192), transactionManager);
+		gtin = "test-" + UUID.randomUUID();
+	}
+
+	@Test
+	void firstParseInsertsProductAndPublishes() {
+		ProductParserService.ParseOutcome outcome = parse("lait, sucre");
+
+		assertThat(outcome.isChanged()).isTrue();
+		ProductMetadata saved = repository.findByGtin(gtin).orElseThrow();
+		assertThat(saved.getId()).isEqualTo(outcome.getProduct().getId());
+		assertThat(saved.getRawText()).isEqualTo("lait, sucre");
+		verify(eventProducer).publish(any(ProductParsedEvent.class));
+	}
+
+	@Test
+	void unchangedReparseDoesNotPublish() {
+		parse("lait, sucre");
+
+		// Casse et espacement ne comptent pas dans l'empreinte
+		ProductParserService.ParseOutcome outcome = parse("Lait,  SUCRE ");
+
+		assertThat(outcome.isChanged()).isFalse();
+		verify(eventProducer, times(1)).publish(any(ProductParsedEvent.class));
+	}
+
+	@Test
+	void changedTextRepublishes() {
+		ProductMetadata first = parse("lait, sucre").getProduct();
+
+		ProductParserService.ParseOutcome outcome = parse("lait, sucre, cacao");
+
+		assertThat(outcome.isChanged()).isTrue();
+		assertThat(outcome.getProduct().getId()).isEqualTo(first.getId());
+		assertThat(repository.findByGtin(gtin).orElseThrow().getRawText()).isEqualTo("lait, sucre, cacao");
+		verify(eventProducer, times(2)).publish(any(ProductParsedEvent.class));
+	}
+
+	private ProductParserService.ParseOutcome parse(String text) {
+		ProductParseRequest request = new ProductParseRequest();
+		request.setGtin(gtin);
+		request.setName("Chocolat au lait");
+		request.setBrand("Marque");
+		request.setOriginCountry("FR");
+		request.setPackaging("carton");
+		ProductParserService.ParseOutcome outcome = parserService.persist(request,
+				new ProductParserService.ExtractedContent(text, null, null));
+		repository.flush();
+		return outcome;
+	}
+}
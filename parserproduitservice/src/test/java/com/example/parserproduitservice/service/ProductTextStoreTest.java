@@ -0,0 +1,82 @@
+package com.example.parserproduitservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.parserproduitservice.dto.ProductParsedEvent;
+import com.example.parserproduitservice.entity.ProductMetadata;
+import com.example.parserproduitservice.repository.ProductMetadataRepository;
+
+class ProductTextStoreTest {
+
+	private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+	private final ProductMetadataRepository repository = mock(ProductMetadataRepository.class);
+
+	@Test
+	void shortTextTravelsInline() {
+		ProductParsedEvent event = new ProductTextStore(repository, 3).toEvent(product("abc", null));
+
+		assertThat(event.getNormalizedText()).isEqualTo("abc");
+		assertThat(event.getTextRef()).isNull();
+		assertThat(event.getTextSha256()).isNull();
+	}
+
+	@Test
+	void longTextTravelsByReferenceToItsSha256() {
+		ProductParsedEvent event = new ProductTextStore(repository, 2).toEvent(product("abc", null));
+
+		assertThat(event.getNormalizedText()).isNull();
+		assertThat(event.getTextSha256()).isEqualTo(ABC_SHA256);
+		assertThat(event.getTextRef()).isEqualTo(ProductTextStore.TEXT_PATH + ABC_SHA256);
+	}
+
+	@Test
+	void thresholdCountsUtf8Bytes() {
+		// Deux caractères, quatre octets
+		ProductParsedEvent event = new ProductTextStore(repository, 3).toEvent(product("éé", null));
+
+		assertThat(event.getTextSha256()).isEqualTo(ProductTextStore.sha256("éé"));
+	}
+
+	@Test
+	void storedHashIsReused() {
+		ProductParsedEvent event = new ProductTextStore(repository, 2).toEvent(product("abc", "stored"));
+
+		assertThat(event.getTextSha256()).isEqualTo("stored");
+	}
+
+	@Test
+	void negativeThresholdDisablesClaimCheck() {
+		ProductParsedEvent event = new ProductTextStore(repository, -1).toEvent(product("a".repeat(100_000), null));
+
+		assertThat(event.getTextRef()).isNull();
+	}
+
+	@Test
+	void referenceResolvesToProductText() {
+		when(repository.findFirstByTextSha256(ABC_SHA256)).thenReturn(Optional.of(product("abc", ABC_SHA256)));
+		ProductTextStore store = new ProductTextStore(repository, 2);
+
+		assertThat(store.find(ABC_SHA256)).contains("abc");
+		assertThat(store.find("unknown")).isEmpty();
+	}
+
+	private static ProductMetadata product(String rawText, String textSha256) {
+		ProductMetadata product = new ProductMetadata();
+		product.setId(UUID.randomUUID());
+		product.setGtin("3017620422003");
+		product.setName("Produit");
+		product.setRawText(rawText);
+		product.setTextSha256(textSha256);
+		product.setParsedAt(Instant.now());
+		return product;
+	}
+}
@@ -0,0 +1,13 @@
+package com.example.scoringservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active la planification du relais de l'outbox ({@code OutboxRelay}) et de la purge des ids
+ * d'événements traités ({@code EventDeduplicator}).
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+}
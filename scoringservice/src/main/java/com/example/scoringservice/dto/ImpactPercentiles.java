@@ -0,0 +1,38 @@
+package com.example.scoringservice.dto;
+
+/**
+ * Percentiles 5, 50 et 95 d'un impact, tels que publiés par le service ACV.
+ */
+public class ImpactPercentiles {
+
+	private double p5;
+	private double p50;
+	private double p95;
+
+	public ImpactPercentiles() {
+	}
+
+	public double getP5() {
+		return p5;
+	}
+
+	public void setP5(double p5) {
+		this.p5 = p5;
+	}
+
+	public double getP50() {
+		return p50;
+	}
+
+	public void setP50(double p50) {
+		this.p50 = p50;
+	}
+
+	public double getP95() {
+		return p95;
+	}
+
+	public void setP95(double p95) {
+		this.p95 = p95;
+	}
+}
@@ -4,12 +4,21 @@ import java.util.List;
 import java.util.UUID;
 
 public class IngredientNormalizedEvent {
+    private UUID eventId;
     private UUID productId;
     private List<Object> ingredients;
 
     public IngredientNormalizedEvent() {
     }
 
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
     public UUID getProductId() {
         return productId;
     }
@@ -5,16 +5,29 @@ import java.util.UUID;
 
 public class LcaComputedEvent {
 
+	private UUID eventId;
 	private UUID productId;
 	private UUID resultId;
 	private double co2Kg;
 	private double waterLiters;
 	private double energyMj;
 	private Instant calculatedAt;
+	/** Absents des événements publiés avant l'estimation de l'incertitude. */
+	private ImpactPercentiles co2Percentiles;
+	private ImpactPercentiles waterPercentiles;
+	private ImpactPercentiles energyPercentiles;
 
 	public LcaComputedEvent() {
 	}
 
+	public UUID getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(UUID eventId) {
+		this.eventId = eventId;
+	}
+
 	public UUID getProductId() {
 		return productId;
 	}
@@ -62,4 +75,28 @@ public class LcaComputedEvent {
 	public void setCalculatedAt(Instant calculatedAt) {
 		this.calculatedAt = calculatedAt;
 	}
+
+	public ImpactPercentiles getCo2Percentiles() {
+		return co2Percentiles;
+	}
+
+	public void setCo2Percentiles(ImpactPercentiles co2Percentiles) {
+		this.co2Percentiles = co2Percentiles;
+	}
+
+	public ImpactPercentiles getWaterPercentiles() {
+		return waterPercentiles;
+	}
+
+	public void setWaterPercentiles(ImpactPercentiles waterPercentiles) {
+		this.waterPercentiles = waterPercentiles;
+	}
+
+	public ImpactPercentiles getEnergyPercentiles() {
+		return energyPercentiles;
+	}
+
+	public void setEnergyPercentiles(ImpactPercentiles energyPercentiles) {
+		this.energyPercentiles = energyPercentiles;
+	}
 }
@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 public class ProductParsedEvent {
+    private UUID eventId;
     private UUID productId;
     private String gtin;
     private String name;
@@ -12,6 +13,14 @@ public class ProductParsedEvent {
     public ProductParsedEvent() {
     }
 
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
     public UUID getProductId() {
         return productId;
     }
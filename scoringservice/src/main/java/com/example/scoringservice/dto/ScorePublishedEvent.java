@@ -6,6 +6,7 @@ import java.util.UUID;
 
 public class ScorePublishedEvent {
 
+	private UUID eventId;
 	private UUID productId;
 	private UUID scoreId;
 	private double scoreValue;
@@ -35,6 +36,14 @@ public class ScorePublishedEvent {
 		this.calculatedAt = calculatedAt;
 	}
 
+	public UUID getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(UUID eventId) {
+		this.eventId = eventId;
+	}
+
 	public UUID getProductId() {
 		return productId;
 	}
@@ -8,10 +8,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "provenance_entries")
+@Table(name = "provenance_entries",
+        indexes = @Index(name = "idx_provenance_entries_product_id_timestamp", columnList = "productId, timestamp"))
 public class ProvenanceEntry {
 
     @Id
@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import com.example.commons.dedup.EventDeduplicator;
 import com.example.scoringservice.dto.LcaComputedEvent;
 import com.example.scoringservice.service.ScoringEngineService;
 
@@ -14,15 +15,18 @@ public class LcaEventListener {
 	private static final Logger log = LoggerFactory.getLogger(LcaEventListener.class);
 
 	private final ScoringEngineService scoringEngineService;
+	private final EventDeduplicator deduplicator;
 
-	public LcaEventListener(ScoringEngineService scoringEngineService) {
+	public LcaEventListener(ScoringEngineService scoringEngineService, EventDeduplicator deduplicator) {
 		this.scoringEngineService = scoringEngineService;
+		this.deduplicator = deduplicator;
 	}
 
 	@KafkaListener(topics = "lca.completed", groupId = "scoring-service")
 	public void handleLcaEvent(LcaComputedEvent event) {
 		log.info("Scoring product {} from LCA result {}", event.getProductId(), event.getResultId());
-		scoringEngineService.processLcaEvent(event);
+		deduplicator.processOnce("scoring-service", event.getEventId(),
+				() -> scoringEngineService.processLcaEvent(event));
 	}
 }
 
@@ -1,10 +1,12 @@
 package com.example.scoringservice.messaging;
 
+import java.util.UUID;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import com.example.commons.outbox.EventOutbox;
 import com.example.scoringservice.dto.ScorePublishedEvent;
 
 @Component
@@ -14,15 +16,16 @@ public class ScoreEventProducer {
 
 	private static final Logger log = LoggerFactory.getLogger(ScoreEventProducer.class);
 
-	private final KafkaTemplate<String, ScorePublishedEvent> kafkaTemplate;
+	private final EventOutbox outbox;
 
-	public ScoreEventProducer(KafkaTemplate<String, ScorePublishedEvent> kafkaTemplate) {
-		this.kafkaTemplate = kafkaTemplate;
+	public ScoreEventProducer(EventOutbox outbox) {
+		this.outbox = outbox;
 	}
 
 	public void publish(ScorePublishedEvent event) {
 		log.info("Publishing eco-score {} for product {}", event.getScoreId(), event.getProductId());
-		kafkaTemplate.send(SCORE_PUBLISHED_TOPIC, event.getProductId().toString(), event);
+		event.setEventId(UUID.randomUUID());
+		outbox.enqueue(event.getEventId(), SCORE_PUBLISHED_TOPIC, event.getProductId().toString(), event);
 	}
 }
 
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import com.example.commons.dedup.EventDeduplicator;
 import com.example.scoringservice.dto.IngredientNormalizedEvent;
 import com.example.scoringservice.dto.LcaComputedEvent;
 import com.example.scoringservice.dto.ProductParsedEvent;
@@ -19,42 +20,49 @@ import com.example.scoringservice.repository.ProvenanceEntryRepository;
 public class ScoreProvenanceService {
 
     private static final Logger log = LoggerFactory.getLogger(ScoreProvenanceService.class);
+    private static final String CONSUMER = "scoring-provenance-group";
+
     private final ProvenanceEntryRepository repository;
+    private final EventDeduplicator deduplicator;
 
-    public ScoreProvenanceService(ProvenanceEntryRepository repository) {
+    public ScoreProvenanceService(ProvenanceEntryRepository repository, EventDeduplicator deduplicator) {
         this.repository = repository;
+        this.deduplicator = deduplicator;
     }
 
-    @KafkaListener(topics = "product.parsed", groupId = "scoring-provenance-group")
+    @KafkaListener(topics = "product.parsed", groupId = CONSUMER)
     public void handleProductParsed(ProductParsedEvent event) {
         log.info("Provenance: Product parsed {}", event.getProductId());
-        saveEntry(event.getProductId(), "PARSING", "SUCCESS",
+        saveEntry(event.getEventId(), event.getProductId(), "PARSING", "SUCCESS",
                 "Source: OpenFoodFacts / OCR. Model: Tesseract v5.0. Storage: MinIO bucket 'raw-data'.");
     }
 
-    @KafkaListener(topics = "ingredients.normalized", groupId = "scoring-provenance-group")
+    @KafkaListener(topics = "ingredients.normalized", groupId = CONSUMER)
     public void handleIngredientsNormalized(IngredientNormalizedEvent event) {
         log.info("Provenance: Ingredients normalized for {}", event.getProductId());
-        saveEntry(event.getProductId(), "NLP", "SUCCESS",
+        saveEntry(event.getEventId(), event.getProductId(), "NLP", "SUCCESS",
                 "Model: BERT-base-French. Dataset: custom-ingredients-v1. Version: DVC-hash-88a2.");
     }
 
-    @KafkaListener(topics = "lca.completed", groupId = "scoring-provenance-group")
+    @KafkaListener(topics = "lca.completed", groupId = CONSUMER)
     public void handleLcaCompleted(LcaComputedEvent event) {
         log.info("Provenance: LCA completed for {}", event.getProductId());
-        saveEntry(event.getProductId(), "LCA", "SUCCESS",
+        saveEntry(event.getEventId(), event.getProductId(), "LCA", "SUCCESS",
                 "Engine: LcaLite v1.0. Database: EcoInvent v3.8 (via MLflow). CO2 Ref: ISO 14067.");
     }
 
-    @KafkaListener(topics = "score.published", groupId = "scoring-provenance-group")
+    @KafkaListener(topics = "score.published", groupId = CONSUMER)
     public void handleScorePublished(ScorePublishedEvent event) {
         log.info("Provenance: Score published for {}", event.getProductId());
-        saveEntry(event.getProductId(), "SCORING", "SUCCESS",
+        saveEntry(event.getEventId(), event.getProductId(), "SCORING", "SUCCESS",
                 "Engine: ScoringEngine v2.0. Weighting: 50/25/25. Result: " + event.getScoreLetter());
     }
 
-    private void saveEntry(UUID productId, String step, String status, String metadata) {
-        ProvenanceEntry entry = new ProvenanceEntry(productId, step, status, metadata, Instant.now());
-        repository.save(entry);
+    /**
+     * Une redélivrance ne doit pas ajouter une seconde étape identique à la timeline.
+     */
+    private void saveEntry(UUID eventId, UUID productId, String step, String status, String metadata) {
+        deduplicator.processOnce(CONSUMER, eventId,
+                () -> repository.save(new ProvenanceEntry(productId, step, status, metadata, Instant.now())));
     }
 }
@@ -6,6 +6,8 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.commons.score.EcoScoreScale;
+import com.example.scoringservice.dto.ImpactPercentiles;
 import com.example.scoringservice.dto.LcaComputedEvent;
 import com.example.scoringservice.dto.ScoreComputeRequest;
 import com.example.scoringservice.dto.ScorePublishedEvent;
@@ -28,18 +30,24 @@ public class ScoringEngineService {
 	@Transactional
 	public ScoreResponse compute(ScoreComputeRequest request) {
 		return persistScore(request.getProductId(), request.getCo2Kg(), request.getWaterLiters(),
-				request.getEnergyMj());
+				request.getEnergyMj(),
+				calculateConfidence(request.getCo2Kg(), request.getWaterLiters(), request.getEnergyMj()));
 	}
 
 	@Transactional
 	public void processLcaEvent(LcaComputedEvent event) {
-		persistScore(event.getProductId(), event.getCo2Kg(), event.getWaterLiters(), event.getEnergyMj());
+		double confidence = event.getCo2Percentiles() != null && event.getWaterPercentiles() != null
+				&& event.getEnergyPercentiles() != null
+						? calculateConfidence(event.getCo2Percentiles(), event.getWaterPercentiles(),
+								event.getEnergyPercentiles())
+						: calculateConfidence(event.getCo2Kg(), event.getWaterLiters(), event.getEnergyMj());
+		persistScore(event.getProductId(), event.getCo2Kg(), event.getWaterLiters(), event.getEnergyMj(), confidence);
 	}
 
-	private ScoreResponse persistScore(java.util.UUID productId, double co2, double water, double energy) {
-		double normalizedValue = normalizeScore(co2, water, energy);
-		String letter = toLetter(normalizedValue);
-		double confidence = calculateConfidence(co2, water, energy);
+	private ScoreResponse persistScore(java.util.UUID productId, double co2, double water, double energy,
+			double confidence) {
+		double normalizedValue = EcoScoreScale.normalizeScore(co2, water, energy);
+		String letter = EcoScoreScale.toLetter(normalizedValue);
 		List<String> explanations = buildExplanations(co2, water, energy);
 
 		EcoScore score = repository.findByProductId(productId).orElseGet(EcoScore::new);
@@ -68,44 +76,35 @@ public class ScoringEngineService {
 				saved.getExplanations(), saved.getCalculatedAt());
 	}
 
-	private double normalizeScore(double co2, double water, double energy) {
-		// Benchmarks basés sur les données observées
-		// CO2: 0-10 kg -> 100-0
-		// Eau: 0-1000 L -> 100-0
-		// Energie: 0-50 MJ -> 100-0
-
-		double co2Score = Math.max(0, 100 * (1 - (co2 / 10.0)));
-		double waterScore = Math.max(0, 100 * (1 - (water / 1000.0)));
-		double energyScore = Math.max(0, 100 * (1 - (energy / 50.0)));
-
-		// Pondération: 50% CO2, 25% Eau, 25% Energie
-		double total = (co2Score * 0.5) + (waterScore * 0.25) + (energyScore * 0.25);
-		return Math.round(total * 100.0) / 100.0;
+	/**
+	 * Confiance tirée de l'incertitude Monte Carlo de l'ACV : demi-largeur relative de
+	 * l'intervalle 5–95 % de chaque impact, pondérée comme le score (50 % CO2, 25 % eau, 25 %
+	 * énergie). Un intervalle de ±60 % ou plus donne la confiance plancher de 0,4.
+	 */
+	double calculateConfidence(ImpactPercentiles co2, ImpactPercentiles water, ImpactPercentiles energy) {
+		double spread = relativeSpread(co2) * 0.5 + relativeSpread(water) * 0.25 + relativeSpread(energy) * 0.25;
+		double confidence = 1 - Math.min(spread, 0.6);
+		return Math.round(confidence * 100.0) / 100.0;
 	}
 
-	private String toLetter(double score) {
-		if (score >= 80) {
-			return "A";
-		}
-		if (score >= 65) {
-			return "B";
-		}
-		if (score >= 50) {
-			return "C";
-		}
-		if (score >= 35) {
-			return "D";
+	private static double relativeSpread(ImpactPercentiles percentiles) {
+		if (percentiles.getP50() <= 0) {
+			return 0;
 		}
-		return "E";
+		return (percentiles.getP95() - percentiles.getP5()) / (2 * percentiles.getP50());
 	}
 
+	/**
+	 * Repli pour un calcul direct ({@code POST /score/compute}) ou un événement ACV sans
+	 * percentiles.
+	 */
 	private double calculateConfidence(double co2, double water, double energy) {
 		double variance = (co2 + water + energy) / 300;
 		double confidence = 1 - Math.min(variance, 0.6);
 		return Math.round(confidence * 100.0) / 100.0;
 	}
 
-	private List<String> buildExplanations(double co2, double water, double energy) {
+	List<String> buildExplanations(double co2, double water, double energy) {
 		return new java.util.ArrayList<>(List.of(
 				String.format("Empreinte carbone: %.2f kg CO2e", co2),
 				String.format("Consommation d'eau: %.2f L", water),
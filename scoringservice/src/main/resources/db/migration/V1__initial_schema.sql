@@ -0,0 +1,36 @@
+-- Schéma du service de scoring tel qu'il était créé par ddl-auto=update. Les ordres sont
+-- idempotents pour qu'une base existante soit reprise telle quelle (baseline-on-migrate, version 0).
+
+create table if not exists eco_score (
+    id uuid not null primary key,
+    product_id uuid not null unique,
+    score_value float(53) not null,
+    score_letter varchar(1) not null,
+    confidence float(53) not null,
+    co2 float(53) not null,
+    water float(53) not null,
+    energy float(53) not null,
+    calculated_at timestamp(6) with time zone not null
+);
+
+create table if not exists eco_score_explanations (
+    eco_score_id uuid not null references eco_score (id),
+    explanations varchar(255)
+);
+
+-- Les explications sont chargées avec chaque score : la clé étrangère n'est pas indexée d'office
+create index if not exists idx_eco_score_explanations_eco_score_id
+    on eco_score_explanations (eco_score_id);
+
+create table if not exists provenance_entries (
+    id uuid not null primary key,
+    product_id uuid not null,
+    step_name varchar(255) not null,
+    status varchar(255) not null,
+    metadata text,
+    timestamp timestamp(6) with time zone not null
+);
+
+-- Historique d'un produit lu dans l'ordre chronologique
+create index if not exists idx_provenance_entries_product_id_timestamp
+    on provenance_entries (product_id, timestamp);
@@ -0,0 +1,98 @@
+package com.example.scoringservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.example.scoringservice.dto.ImpactPercentiles;
+import com.example.scoringservice.dto.LcaComputedEvent;
+import com.example.scoringservice.entity.EcoScore;
+import com.example.scoringservice.messaging.ScoreEventProducer;
+import com.example.scoringservice.repository.EcoScoreRepository;
+
+class ScoringEngineServiceTest {
+
+	private final EcoScoreRepository repository = mock(EcoScoreRepository.class);
+	private final ScoringEngineService service = new ScoringEngineService(repository, mock(ScoreEventProducer.class));
+
+	@Test
+	void narrowIntervalGivesConfidenceNearOne() {
+		ImpactPercentiles narrow = percentiles(0.99, 1, 1.01);
+
+		assertThat(service.calculateConfidence(narrow, narrow, narrow)).isEqualTo(0.99);
+	}
+
+	@Test
+	void intervalOfSixtyPercentOrMoreGivesFloor() {
+		ImpactPercentiles sixty = percentiles(0.4, 1, 1.6);
+		ImpactPercentiles wider = percentiles(0, 1, 3);
+
+		assertThat(service.calculateConfidence(sixty, sixty, sixty)).isEqualTo(0.4);
+		assertThat(service.calculateConfidence(wider, wider, wider)).isEqualTo(0.4);
+	}
+
+	@Test
+	void impactWithoutPositiveMedianAddsNoSpread() {
+		// CO2 ignoré ; eau et énergie à ±10 %, pondérées à 25 % chacune
+		ImpactPercentiles zeroMedian = percentiles(-1, 0, 5);
+		ImpactPercentiles tenPercent = percentiles(0.9, 1, 1.1);
+
+		assertThat(service.calculateConfidence(zeroMedian, tenPercent, tenPercent)).isEqualTo(0.95);
+	}
+
+	@Test
+	void eventWithPercentilesUsesMonteCarloSpread() {
+		LcaComputedEvent event = event(6, 30, 24);
+		ImpactPercentiles narrow = percentiles(0.99, 1, 1.01);
+		event.setCo2Percentiles(narrow);
+		event.setWaterPercentiles(narrow);
+		event.setEnergyPercentiles(narrow);
+
+		assertThat(processedConfidence(event)).isEqualTo(0.99);
+	}
+
+	@Test
+	void eventWithoutPercentilesFallsBackToLegacyFormula() {
+		// Événement publié avant l'incertitude : 1 - (6 + 30 + 24) / 300
+		LcaComputedEvent event = event(6, 30, 24);
+		event.setCo2Percentiles(percentiles(0.99, 1, 1.01));
+
+		assertThat(processedConfidence(event)).isEqualTo(0.8);
+	}
+
+	private double processedConfidence(LcaComputedEvent event) {
+		when(repository.findByProductId(event.getProductId())).thenReturn(Optional.empty());
+		when(repository.save(any(EcoScore.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		service.processLcaEvent(event);
+
+		ArgumentCaptor<EcoScore> saved = ArgumentCaptor.forClass(EcoScore.class);
+		verify(repository).save(saved.capture());
+		return saved.getValue().getConfidence();
+	}
+
+	private static LcaComputedEvent event(double co2, double water, double energy) {
+		LcaComputedEvent event = new LcaComputedEvent();
+		event.setProductId(UUID.randomUUID());
+		event.setCo2Kg(co2);
+		event.setWaterLiters(water);
+		event.setEnergyMj(energy);
+		return event;
+	}
+
+	private static ImpactPercentiles percentiles(double p5, double p50, double p95) {
+		ImpactPercentiles percentiles = new ImpactPercentiles();
+		percentiles.setP5(p5);
+		percentiles.setP50(p50);
+		percentiles.setP95(p95);
+		return percentiles;
+	}
+}
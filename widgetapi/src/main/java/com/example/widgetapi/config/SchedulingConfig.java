@@ -0,0 +1,12 @@
+package com.example.widgetapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active la purge planifiée des ids d'événements traités ({@code EventDeduplicator}).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
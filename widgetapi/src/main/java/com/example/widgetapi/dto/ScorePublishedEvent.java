@@ -6,6 +6,7 @@ import java.util.UUID;
 
 public class ScorePublishedEvent {
 
+	private UUID eventId;
 	private UUID productId;
 	private UUID scoreId;
 	private double scoreValue;
@@ -20,6 +21,14 @@ public class ScorePublishedEvent {
 	public ScorePublishedEvent() {
 	}
 
+	public UUID getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(UUID eventId) {
+		this.eventId = eventId;
+	}
+
 	public UUID getProductId() {
 		return productId;
 	}
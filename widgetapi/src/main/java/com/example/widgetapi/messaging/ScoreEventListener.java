@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import com.example.commons.dedup.EventDeduplicator;
 import com.example.widgetapi.dto.ScorePublishedEvent;
 import com.example.widgetapi.entity.PublicProductScore;
 import com.example.widgetapi.service.PublicScoreService;
@@ -15,9 +16,11 @@ public class ScoreEventListener {
 	private static final Logger log = LoggerFactory.getLogger(ScoreEventListener.class);
 
 	private final PublicScoreService scoreService;
+	private final EventDeduplicator deduplicator;
 
-	public ScoreEventListener(PublicScoreService scoreService) {
+	public ScoreEventListener(PublicScoreService scoreService, EventDeduplicator deduplicator) {
 		this.scoreService = scoreService;
+		this.deduplicator = deduplicator;
 	}
 
 	@KafkaListener(topics = "score.published", groupId = "widget-api")
@@ -34,6 +37,6 @@ public class ScoreEventListener {
 		score.setEnergy(event.getEnergy());
 		score.setExplanations(event.getExplanations());
 		score.setCalculatedAt(event.getCalculatedAt());
-		scoreService.saveOrUpdate(score);
+		deduplicator.processOnce("widget-api", event.getEventId(), () -> scoreService.saveOrUpdate(score));
 	}
 }
@@ -0,0 +1,23 @@
+-- Schéma de l'API widget tel qu'il était créé par ddl-auto=update. Les ordres sont idempotents
+-- pour qu'une base existante soit reprise telle quelle (baseline-on-migrate, version 0).
+
+create table if not exists public_product_score (
+    id uuid not null primary key,
+    product_id uuid not null unique,
+    score_value float(53) not null,
+    score_letter varchar(255) not null,
+    confidence float(53) not null,
+    co2 float(53),
+    water float(53),
+    energy float(53),
+    calculated_at timestamp(6) with time zone not null
+);
+
+create table if not exists public_product_score_explanations (
+    public_product_score_id uuid not null references public_product_score (id),
+    explanations varchar(255)
+);
+
+-- Les explications sont chargées avec chaque score : la clé étrangère n'est pas indexée d'office
+create index if not exists idx_public_product_score_explanations_score_id
+    on public_product_score_explanations (public_product_score_id);